@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.examples.with.different.packagename.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixture class under test for the benchmarks. It has a mix of numeric and
+ * string predicates, loops and object inputs, so that generated tests call
+ * methods with different kinds of parameters. Do not change it: results of
+ * benchmarks are only comparable if run on the same fixture.
+ */
+public class Inventory {
+
+    public static class Item {
+
+        private final String name;
+
+        private int quantity;
+
+        public Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+
+    private final Map<String, Item> items = new LinkedHashMap<>();
+
+    private int capacity;
+
+    public Inventory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public boolean add(Item item) {
+        if (item == null || item.getName() == null || item.getName().isEmpty()) {
+            return false;
+        }
+        if (items.size() >= capacity && !items.containsKey(item.getName())) {
+            return false;
+        }
+        Item existing = items.get(item.getName());
+        if (existing != null) {
+            existing.quantity += item.getQuantity();
+        } else {
+            items.put(item.getName(), item);
+        }
+        return true;
+    }
+
+    public int remove(String name, int quantity) {
+        Item item = items.get(name);
+        if (item == null) {
+            return -1;
+        }
+        if (quantity <= 0) {
+            return 0;
+        }
+        if (quantity >= item.quantity) {
+            items.remove(name);
+            return item.quantity;
+        }
+        item.quantity -= quantity;
+        return quantity;
+    }
+
+    public void resize(int newCapacity) {
+        if (newCapacity < items.size()) {
+            throw new IllegalStateException("Too many items");
+        }
+        capacity = newCapacity;
+    }
+
+    public List<String> lowStock(int threshold) {
+        List<String> names = new ArrayList<>();
+        for (Item item : items.values()) {
+            if (item.quantity < threshold) {
+                names.add(item.getName());
+            } else if (item.quantity == threshold && threshold > 10) {
+                names.add(item.getName().toUpperCase());
+            }
+        }
+        return names;
+    }
+
+    public static String classify(int x, int y, int z) {
+        if (x <= 0 || y <= 0 || z <= 0) {
+            return "invalid";
+        }
+        if (x + y <= z || x + z <= y || y + z <= x) {
+            return "impossible";
+        }
+        if (x == y && y == z) {
+            return "equilateral";
+        }
+        if (x == y || y == z || x == z) {
+            return "isosceles";
+        }
+        return "scalene";
+    }
+
+    public static int parseCode(String code) {
+        if (code == null || code.length() != 6) {
+            return -1;
+        }
+        if (!code.startsWith("INV")) {
+            return -2;
+        }
+        int value = 0;
+        for (int i = 3; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9') {
+                return -3;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import com.examples.with.different.packagename.benchmarks.Inventory;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.factories.RandomLengthTestFactory;
+import org.evosuite.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set up of EvoSuite shared by the benchmarks: the fixture class under test
+ * is instrumented and analyzed as at the beginning of a search, and random
+ * tests are generated for it. Everything is seeded, so that each run of a
+ * benchmark works on the same data.
+ */
+public final class BenchmarkContext {
+
+    public static final long SEED = 42L;
+
+    public static final Class<?> TARGET_CLASS = Inventory.class;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Load the instrumented fixture class and build the test cluster for it
+     *
+     * @return the instrumented class under test
+     */
+    public static Class<?> initTargetClass() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = TARGET_CLASS.getName();
+        Randomness.setSeed(SEED);
+        TestGenerationContext.getInstance().resetContext();
+
+        ExecutionTracer.enable();
+        ExecutionTracer.setCheckCallerThread(false);
+
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        DependencyAnalysis.analyzeClass(Properties.TARGET_CLASS,
+                Arrays.asList(ClassPathHandler.getInstance().getClassPathElementsForTargetProject()));
+        TestCaseExecutor.initExecutor();
+        return sut;
+    }
+
+    /**
+     * Generate random tests for the fixture class, and execute them so that
+     * they have an up-to-date execution result. Requires
+     * {@link #initTargetClass()}.
+     *
+     * @param number of tests to generate
+     * @return the tests
+     */
+    public static List<TestChromosome> executedRandomTests(int number) {
+        Randomness.setSeed(SEED);
+        RandomLengthTestFactory factory = new RandomLengthTestFactory();
+        List<TestChromosome> tests = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            TestChromosome test = factory.getChromosome();
+            test.setLastExecutionResult(TestCaseExecutor.runTest(test.getTestCase()));
+            test.setChanged(false);
+            tests.add(test);
+        }
+        return tests;
+    }
+
+    public static void tearDown() {
+        TestCaseExecutor.pullDown();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the callbacks executed by the instrumented code at each branch.
+ * They run once per executed predicate, so they dominate the execution time
+ * of tests. Each invocation runs on a fresh trace, inside a method call,
+ * as it happens when a test calls the code under test.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionTracerBenchmark {
+
+    private static final int CALLS = 1024;
+
+    private static final String CLASS_NAME = ExecutionTracerBenchmark.class.getName();
+
+    private static final String METHOD_NAME = "run()V";
+
+    /**
+     * Number of distinct branches the calls are spread over
+     */
+    @Param({"16", "1024"})
+    public int branches;
+
+    /**
+     * Data structure used by the trace to record the branches
+     */
+    @Param({"MAP", "ARRAY"})
+    public Properties.ExecutionTraceType traceType;
+
+    private Properties.ExecutionTraceType previousTraceType;
+
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        previousTraceType = Properties.EXECUTION_TRACE_TYPE;
+        Properties.EXECUTION_TRACE_TYPE = traceType;
+        ExecutionTracer.enable();
+        ExecutionTracer.setCheckCallerThread(false);
+
+        Random random = new Random(BenchmarkContext.SEED);
+        values = new int[CALLS + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(200) - 100;
+        }
+    }
+
+    /**
+     * The trace keeps growing with the executed branches, so it is reset
+     * before each invocation, and the calls are made from within a method
+     * as in instrumented code. Setup time is not measured by JMH.
+     */
+    @Setup(Level.Invocation)
+    public void enterMethod() {
+        ExecutionTracer.getExecutionTracer().clear();
+        ExecutionTracer.enteredMethod(CLASS_NAME, METHOD_NAME, this);
+    }
+
+    @TearDown(Level.Invocation)
+    public void leaveMethod() {
+        ExecutionTracer.leftMethod(CLASS_NAME, METHOD_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutionTracer.getExecutionTracer().clear();
+        ExecutionTracer.disable();
+        Properties.EXECUTION_TRACE_TYPE = previousTraceType;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void passedBranchUnary() {
+        for (int i = 0; i < CALLS; i++) {
+            int branch = i % branches;
+            ExecutionTracer.passedBranch(values[i], Opcodes.IFLT, branch + 1, branch);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void passedBranchBinary() {
+        for (int i = 0; i < CALLS; i++) {
+            int branch = i % branches;
+            ExecutionTracer.passedBranch(values[i], values[i + 1], Opcodes.IF_ICMPLT, branch + 1, branch);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void passedBranchReference() {
+        for (int i = 0; i < CALLS; i++) {
+            int branch = i % branches;
+            Object value = values[i] < 0 ? null : this;
+            ExecutionTracer.passedBranch(value, Opcodes.IFNULL, branch + 1, branch);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.branch.BranchCoverageTestFitness;
+import org.evosuite.ga.operators.ranking.FastNonDominatedSorting;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ranking a MOSA population into non-dominated fronts, which is
+ * quadratic in the size of the population and linear in the number of goals.
+ * The individuals only carry fitness values: no test is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"50", "200"})
+    public int populationSize;
+
+    private List<TestChromosome> population;
+
+    private Set<BranchCoverageTestFitness> goals;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        BenchmarkContext.initTargetClass();
+        goals = new LinkedHashSet<>(new BranchCoverageFactory().getCoverageGoals());
+
+        /*
+         * Values are a per-individual quality plus noise, so that the
+         * population is split in several fronts, as it happens in a search
+         */
+        Random random = new Random(BenchmarkContext.SEED);
+        population = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            TestChromosome individual = new TestChromosome();
+            double quality = random.nextDouble();
+            for (BranchCoverageTestFitness goal : goals) {
+                double noise = random.nextDouble() * 0.3;
+                individual.setFitness(goal, Math.max(0.0, quality + noise - 0.2));
+            }
+            population.add(individual);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.tearDown();
+    }
+
+    @Benchmark
+    public int computeRankingAssignment() {
+        FastNonDominatedSorting<TestChromosome> ranking = new FastNonDominatedSorting<>();
+        ranking.computeRankingAssignment(population, goals);
+        return ranking.getNumberOfSubfronts();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.classpath.ResourceList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding classes on the classpath of the project under test, both
+ * the first time (the classpath has to be scanned) and when cached
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceListBenchmark {
+
+    /**
+     * Classes in different entries of the classpath, plus one that does not
+     * exist, which requires to look into all the entries
+     */
+    private static final String[] CLASSES = {
+            BenchmarkContext.TARGET_CLASS.getName(),
+            "org.evosuite.Properties",
+            "org.evosuite.runtime.Runtime",
+            "org.objectweb.asm.ClassReader",
+            "org.openjdk.jmh.annotations.Benchmark",
+            "com.examples.with.different.packagename.benchmarks.DoesNotExist"
+    };
+
+    private ResourceList resourceList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        resourceList = ResourceList.getInstance(getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ResourceList.resetAllCaches();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void hasClassCached(Blackhole blackhole) {
+        for (String name : CLASSES) {
+            blackhole.consume(resourceList.hasClass(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void hasClassCold(Blackhole blackhole) {
+        resourceList.resetCache();
+        for (String name : CLASSES) {
+            blackhole.consume(resourceList.hasClass(name));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void getClassAsStream(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < CLASSES.length - 1; i++) {
+            try (InputStream in = resourceList.getClassAsStream(CLASSES[i])) {
+                blackhole.consume(in.read());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of computing the branch coverage fitness of a whole suite from the
+ * execution results of its tests. The tests are executed once in the set up,
+ * so only the fitness computation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuiteFitnessBenchmark {
+
+    @Param({"10", "100"})
+    public int suiteSize;
+
+    private TestSuiteChromosome suite;
+
+    private BranchCoverageSuiteFitness fitness;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        BenchmarkContext.initTargetClass();
+        // the archive would remove the covered goals after the first evaluation
+        Properties.TEST_ARCHIVE = false;
+
+        suite = new TestSuiteChromosome();
+        for (TestChromosome test : BenchmarkContext.executedRandomTests(suiteSize)) {
+            suite.addTestChromosome(test);
+        }
+        fitness = new BranchCoverageSuiteFitness();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.tearDown();
+    }
+
+    @Benchmark
+    public double getFitness() {
+        return fitness.getFitness(suite);
+    }
+}
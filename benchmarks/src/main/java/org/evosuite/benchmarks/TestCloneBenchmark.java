@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of copying tests, which happens for each offspring of the search
+ * before it is mutated
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestCloneBenchmark {
+
+    private static final int TESTS = 50;
+
+    private List<TestChromosome> tests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        BenchmarkContext.initTargetClass();
+        tests = BenchmarkContext.executedRandomTests(TESTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TESTS)
+    public void cloneTestChromosome(Blackhole blackhole) {
+        for (TestChromosome test : tests) {
+            blackhole.consume(test.clone());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TESTS)
+    public void cloneTestCase(Blackhole blackhole) {
+        for (TestChromosome test : tests) {
+            DefaultTestCase testCase = (DefaultTestCase) test.getTestCase();
+            blackhole.consume(testCase.clone());
+        }
+    }
+}
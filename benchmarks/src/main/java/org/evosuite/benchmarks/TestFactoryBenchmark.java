@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmarks;
+
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFactory;
+import org.evosuite.utils.Randomness;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the search operators working on a single test: insertion of random
+ * statements (which includes resolving the dependencies of the inserted call)
+ * and the whole mutation of a test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestFactoryBenchmark {
+
+    private static final int TESTS = 50;
+
+    private List<TestChromosome> tests;
+
+    private TestChromosome[] copies;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ClassNotFoundException {
+        BenchmarkContext.initTargetClass();
+        tests = BenchmarkContext.executedRandomTests(TESTS);
+        copies = new TestChromosome[TESTS];
+    }
+
+    /**
+     * Operators modify the tests, so each invocation works on fresh copies,
+     * and with the same random choices
+     */
+    @Setup(Level.Invocation)
+    public void copyTests() {
+        Randomness.setSeed(BenchmarkContext.SEED);
+        for (int i = 0; i < TESTS; i++) {
+            copies[i] = tests.get(i).clone();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkContext.tearDown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TESTS)
+    public int insertRandomStatement() {
+        int positions = 0;
+        for (TestChromosome copy : copies) {
+            TestCase test = copy.getTestCase();
+            positions += TestFactory.getInstance().insertRandomStatement(test, test.size() - 1);
+        }
+        return positions;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TESTS)
+    public int mutate() {
+        int size = 0;
+        for (TestChromosome copy : copies) {
+            copy.mutate();
+            size += copy.size();
+        }
+        return size;
+    }
+}
@@ -122,6 +122,20 @@ public class Properties {
     @Parameter(key = "reset_static_field_gets", group = "Test Creation", description = "Call static constructors also after each static field was read")
     public static boolean RESET_STATIC_FIELD_GETS = false;
 
+    public enum StaticResetMode {
+        /**
+         * execute the duplicated class initializer __STATIC_RESET()
+         */
+        REINITIALIZE,
+        /**
+         * restore the values the static fields had after the first re-initialization, if supported by the class
+         */
+        SNAPSHOT
+    }
+
+    @Parameter(key = "static_reset_mode", group = "Test Creation", description = "How the static state of classes is reset between test executions")
+    public static StaticResetMode STATIC_RESET_MODE = StaticResetMode.REINITIALIZE;
+
     @Parameter(key = "reset_all_classes_during_test_generation", group = "Test Creation", description = "Test Generation does not apply the selective method of selection of class re-initalization")
     public static boolean RESET_ALL_CLASSES_DURING_TEST_GENERATION = false;
 
@@ -332,6 +346,12 @@ public class Properties {
     @Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
     public static RankingType RANKING_TYPE = RankingType.PREFERENCE_SORTING;
 
+    @Parameter(key = "parallel_ranking", group = "Runtime", description = "In MOSA/DynaMOSA, compute the dominance relation between the individuals on several threads, each handling a share of the objectives")
+    public static boolean PARALLEL_RANKING = false;
+
+    @Parameter(key = "pipelined_evaluation", group = "Search Algorithm", description = "In MOSA/DynaMOSA, execute the tests of a generation on a background thread so that test execution overlaps with fitness computation")
+    public static boolean PIPELINED_EVALUATION = false;
+
     public enum MapElitesChoice {
         ALL,
         SINGLE,
@@ -388,6 +408,9 @@ public class Properties {
     @Parameter(key = "chop_max_length", group = "Search Algorithm", description = "Chop statements after exception if length has reached maximum")
     public static boolean CHOP_MAX_LENGTH = true;
 
+    @Parameter(key = "reuse_execution_prefix", group = "Search Algorithm", description = "Reuse the execution result of a parent test if crossover only changes statements that were not executed because of an exception")
+    public static boolean REUSE_EXECUTION_PREFIX = true;
+
     //----------- DSE, which is a special case of LS ---------------
 
     /**
@@ -502,6 +525,18 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_solver_cache_canonical", group = "DSE", description = "Look up constraint systems in the solver cache modulo renaming of variables, order of constraints and independent sub-systems")
+    public static boolean DSE_SOLVER_CACHE_CANONICAL = true;
+
+    @Parameter(key = "dse_solver_cache_file", group = "DSE", description = "File in which solver results are stored and reused across runs (e.g., by all the classes of a CTG run). If null, results are only cached in memory")
+    public static String DSE_SOLVER_CACHE_FILE = null;
+
+    @Parameter(key = "dse_solver_incremental", group = "DSE", description = "Keep the external SMT solver (Z3 or CVC4) running between queries, and only send the assertions that are not shared with the previous query, instead of starting a new solver process for each query")
+    public static boolean DSE_SOLVER_INCREMENTAL = false;
+
+    @Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads solving the queries of the children of a path condition in advance. Only used with external solvers (Z3, CVC4), as each query runs in its own process; tests are still executed concolically one at a time")
+    public static int DSE_SOLVER_THREADS = 1;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -884,6 +919,9 @@ public class Properties {
     @Parameter(key = "ctg_min_time_per_job", group = "Continuous Test Generation", description = "How many minutes each class under test should have at least")
     public static int CTG_MIN_TIME_PER_JOB = 1;
 
+    @Parameter(key = "ctg_adaptive_budget", group = "Continuous Test Generation", description = "If true, the time jobs do not use (eg, as they reached full coverage) is given to the jobs not started yet, and the last jobs can use the time and memory of idle cores")
+    public static boolean CTG_ADAPTIVE_BUDGET = true;
+
     @Parameter(key = "ctg_dir", group = "Continuous Test Generation", description = "Where generated files will be stored")
     public static String CTG_DIR = ".evosuite";
 
@@ -1163,6 +1201,12 @@ public class Properties {
     @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
     public static int MAX_MUTANTS_PER_TEST = 100;
 
+    @Parameter(key = "skip_uninfected_mutants", group = "Output", description = "When generating assertions, do not execute a test on mutants it reaches but never infects. Off by default, as infections inside inspector calls are not traced and could be missed")
+    public static boolean SKIP_UNINFECTED_MUTANTS = false;
+
+    @Parameter(key = "split_stream_observation", group = "Output", description = "When executing a test on a mutant, skip the observations that do not call the SUT on the statements before the mutant is first reached, as they are the same as on the original code")
+    public static boolean SPLIT_STREAM_OBSERVATION = true;
+
     @Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
     public static int MAX_MUTANTS_PER_METHOD = 700;
 
@@ -1221,6 +1265,9 @@ public class Properties {
     @Parameter(key = "timeline_interval", group = "Output", description = "Time interval in milliseconds for timeline statistics")
     public static long TIMELINE_INTERVAL = 60 * 1000;
 
+    @Parameter(key = "statistics_flush_interval", group = "Output", description = "Time in milliseconds the client waits to coalesce output variables and progress updates before sending them to master")
+    public static long STATISTICS_FLUSH_INTERVAL = 200;
+
     @Parameter(key = "timeline_interpolation", group = "Output", description = "Interpolate timeline values")
     public static boolean TIMELINE_INTERPOLATION = true;
 
@@ -1480,6 +1527,16 @@ public class Properties {
     @Parameter(key = "max_loop_iterations", group = "Test Execution", description = "Max number of iterations allowed per loop. A negative value means no check is done.")
     public static long MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
 
+    public enum ExecutionTraceType {
+        // boxed, synchronized maps keyed by branch id
+        MAP,
+        // dense primitive arrays indexed by branch id
+        ARRAY
+    }
+
+    @Parameter(key = "execution_trace_type", group = "Test Execution", description = "Data structure used to record branch coverage and branch distances during test execution")
+    public static ExecutionTraceType EXECUTION_TRACE_TYPE = ExecutionTraceType.MAP;
+
     // ---------------------------------------------------------------
     // Debugging
 
@@ -1556,6 +1613,12 @@ public class Properties {
     @Parameter(key = "CP_file_path", group = "Runtime", description = "Location of file where classpath is specified (in its first line). This is needed for operating systems like Windows where cannot have too long input parameters")
     public static String CP_FILE_PATH = null;
 
+    @Parameter(key = "classpath_index_dir", group = "Runtime", description = "Directory in which the classes of each jar on the classpath (with their super types, interfaces, access flags and methods) are stored, and reused by later processes as long as the jar is unchanged. If null, each process scans the jars")
+    public static String CLASSPATH_INDEX_DIR = null;
+
+    @Parameter(key = "instrumentation_cache_dir", group = "Runtime", description = "Directory in which the instrumented bytecode of classes that are not analyzed (eg library dependencies) is stored, and reused by later class loaders and processes with the same configuration and classpath. If null, all classes are instrumented each time they are loaded")
+    public static String INSTRUMENTATION_CACHE_DIR = null;
+
 
     @Parameter(key = "PROJECT_PREFIX", group = "Runtime", description = "Package name of target package")
     public static String PROJECT_PREFIX = "";
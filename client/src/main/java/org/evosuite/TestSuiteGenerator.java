@@ -49,6 +49,8 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SmtSolver;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.testcase.*;
 import org.evosuite.testcase.execution.*;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -469,6 +471,8 @@ public class TestSuiteGenerator {
 
         if (Properties.isDSEEnabledInLocalSearch() || Properties.isDSEStrategySelected()) {
             DSEStatistics.getInstance().logStatistics();
+            SolverCache.getInstance().persist();
+            SmtSolver.closeSessions();
         }
 
         if (Properties.FILTER_SANDBOX_TESTS) {
@@ -554,46 +558,50 @@ public class TestSuiteGenerator {
 
         List<TestCase> testCases = chromosome.getTests(); // make copy of
         // current tests
-
-        // first, let's just get rid of all the tests that do not compile
-        JUnitAnalyzer.removeTestsThatDoNotCompile(testCases);
-
-        // compile and run each test one at a time. and keep track of total time
-        long start = java.lang.System.currentTimeMillis();
-        Iterator<TestCase> iter = testCases.iterator();
-        while (iter.hasNext()) {
-            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
-                break;
-            }
-            TestCase tc = iter.next();
-            List<TestCase> list = new ArrayList<>();
-            list.add(tc);
-            numUnstable += JUnitAnalyzer.handleTestsThatAreUnstable(list);
-            if (list.isEmpty()) {
-                // if the test was unstable and deleted, need to remove it from
-                // final testSuite
-                iter.remove();
+        try {
+            // first, let's just get rid of all the tests that do not compile
+            JUnitAnalyzer.removeTestsThatDoNotCompile(testCases);
+
+            // compile and run each test one at a time. and keep track of total time
+            long start = java.lang.System.currentTimeMillis();
+            Iterator<TestCase> iter = testCases.iterator();
+            while (iter.hasNext()) {
+                if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                    break;
+                }
+                TestCase tc = iter.next();
+                List<TestCase> list = new ArrayList<>();
+                list.add(tc);
+                numUnstable += JUnitAnalyzer.handleTestsThatAreUnstable(list);
+                if (list.isEmpty()) {
+                    // if the test was unstable and deleted, need to remove it from
+                    // final testSuite
+                    iter.remove();
+                }
             }
-        }
-        /*
-         * compiling and running each single test individually will take more
-         * than compiling/running everything in on single suite. so it can be
-         * used as an upper bound
-         */
-        long delta = java.lang.System.currentTimeMillis() - start;
+            /*
+             * compiling and running each single test individually will take more
+             * than compiling/running everything in on single suite. so it can be
+             * used as an upper bound
+             */
+            long delta = java.lang.System.currentTimeMillis() - start;
 
-        numUnstable += checkAllTestsIfTime(testCases, delta);
-
-        // second passage on reverse order, this is to spot dependencies among
-        // tests
-        if (testCases.size() > 1) {
-            Collections.reverse(testCases);
             numUnstable += checkAllTestsIfTime(testCases, delta);
-        }
 
-        chromosome.clearTests(); // remove all tests
-        for (TestCase testCase : testCases) {
-            chromosome.addTest(testCase); // add back the filtered tests
+            // second passage on reverse order, this is to spot dependencies among
+            // tests
+            if (testCases.size() > 1) {
+                Collections.reverse(testCases);
+                numUnstable += checkAllTestsIfTime(testCases, delta);
+            }
+
+            chromosome.clearTests(); // remove all tests
+            for (TestCase testCase : testCases) {
+                chromosome.addTest(testCase); // add back the filtered tests
+            }
+        } finally {
+            // release the jar files opened by the compiler, they are not needed anymore
+            JUnitAnalyzer.closeCompiler();
         }
 
         boolean unstable = (numUnstable > 0);
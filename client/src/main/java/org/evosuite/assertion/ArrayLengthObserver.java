@@ -34,6 +34,9 @@ public class ArrayLengthObserver extends AssertionTraceObserver<ArrayLengthTrace
     @Override
     public synchronized void afterStatement(Statement statement, Scope scope,
                                             Throwable exception) {
+        if (!isObserved(statement))
+            return;
+
         // By default, no assertions are created for statements that threw exceptions
         if (exception != null)
             return;
@@ -100,4 +103,12 @@ public class ArrayLengthObserver extends AssertionTraceObserver<ArrayLengthTrace
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
 }
@@ -40,6 +40,9 @@ public class ArrayTraceObserver extends AssertionTraceObserver<ArrayTraceEntry>
     @Override
     public synchronized void afterStatement(Statement statement, Scope scope,
                                             Throwable exception) {
+        if (!isObserved(statement))
+            return;
+
         // By default, no assertions are created for statements that threw exceptions
         if (exception != null)
             return;
@@ -123,4 +126,12 @@ public class ArrayTraceObserver extends AssertionTraceObserver<ArrayTraceEntry>
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
 }
@@ -51,6 +51,11 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
 
     protected OutputTrace<T> trace = new OutputTrace<>();
 
+    /**
+     * Statements before this position are not observed
+     */
+    private int firstObservedPosition = 0;
+
     protected boolean checkThread() {
         return ExecutionTracer.isThreadNeqCurrentThread();
     }
@@ -68,6 +73,39 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
 
     }
 
+    /**
+     * Whether observing a statement can execute code of the SUT (eg, by calling
+     * inspectors). If not, the observations on a mutant before the statement that
+     * first reaches it are the same as on the original code, and can be skipped
+     *
+     * @return a boolean.
+     */
+    public boolean executesCodeUnderTest() {
+        return true;
+    }
+
+    /**
+     * Only observe statements from the given position on. This is not reset by
+     * {@link #clear()}, as the executor clears all observers before each execution
+     *
+     * @param position a int.
+     */
+    public synchronized void setFirstObservedPosition(int position) {
+        firstObservedPosition = position;
+    }
+
+    /**
+     * <p>
+     * isObserved
+     * </p>
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @return a boolean.
+     */
+    protected boolean isObserved(Statement statement) {
+        return statement.getPosition() >= firstObservedPosition;
+    }
+
     /**
      * <p>
      * visitDependencies
@@ -145,6 +183,9 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
         //if(checkThread())
         //	return;
 
+        if (!isObserved(statement))
+            return;
+
         // No assertions are created for mock statements
         if (statement instanceof FunctionalMockStatement)
             return;
@@ -69,6 +69,21 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
     protected final static ArrayTraceObserver arrayObserver = new ArrayTraceObserver();
     protected final static ArrayLengthObserver arrayLengthObserver = new ArrayLengthObserver();
     protected final static ContainsTraceObserver containsTraceObserver = new ContainsTraceObserver();
+    protected final static MutationReachObserver reachObserver = new MutationReachObserver();
+
+    /**
+     * Observers whose observations on a mutant can only differ from the original
+     * ones once the mutant has been reached
+     */
+    protected final static AssertionTraceObserver<?>[] splitStreamObservers = {primitiveObserver, sameObserver,
+            fieldObserver, nullObserver, arrayObserver, arrayLengthObserver};
+
+    /**
+     * Test last executed on the original code, and for each mutant it reached the
+     * position of the first statement reaching it
+     */
+    private TestCase lastOriginalTest = null;
+    private Map<Integer, Integer> lastReachPositions = Collections.emptyMap();
 
     protected final static Map<Mutation, Integer> timedOutMutations = new HashMap<>();
 
@@ -98,6 +113,7 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         TestCaseExecutor.getInstance().addObserver(arrayObserver);
         TestCaseExecutor.getInstance().addObserver(arrayLengthObserver);
         TestCaseExecutor.getInstance().addObserver(containsTraceObserver);
+        TestCaseExecutor.getInstance().addObserver(reachObserver);
     }
 
     /**
@@ -134,10 +150,20 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
                 MutationObserver.deactivateMutation();
             } else {
                 MutationObserver.activateMutation(mutant);
+                setFirstObservedPosition(getFirstReachPosition(test, mutant));
+            }
+            try {
+                result = TestCaseExecutor.getInstance().execute(test);
+            } finally {
+                setFirstObservedPosition(0);
             }
-            result = TestCaseExecutor.getInstance().execute(test);
             MutationObserver.deactivateMutation(mutant);
 
+            if (mutant == null) {
+                lastOriginalTest = test;
+                lastReachPositions = reachObserver.getFirstPositions();
+            }
+
             int num = test.size();
             MaxStatementsStoppingCondition.statementsExecuted(num);
 
@@ -158,6 +184,32 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * Split-stream execution: the execution on a mutant is the same as on the
+     * original code up to the statement that first reaches the mutant. The
+     * statements are still executed, but there is no need to observe them again
+     * with the observers that do not call the SUT. Their traces then have no
+     * entries for those statements, which is the same as having no difference
+     *
+     * @param test   the test case about to be executed on the mutant
+     * @param mutant the mutant
+     * @return the position of the first statement to observe
+     */
+    private int getFirstReachPosition(TestCase test, Mutation mutant) {
+        if (!Properties.SPLIT_STREAM_OBSERVATION || test != lastOriginalTest) {
+            return 0;
+        }
+        Integer position = lastReachPositions.get(mutant.getId());
+        return position == null ? 0 : position;
+    }
+
+    private void setFirstObservedPosition(int position) {
+        for (AssertionTraceObserver<?> observer : splitStreamObservers) {
+            assert !observer.executesCodeUnderTest();
+            observer.setFirstObservedPosition(position);
+        }
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
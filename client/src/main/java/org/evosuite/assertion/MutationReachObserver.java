@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.testcase.execution.ExecutionObserver;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.Scope;
+import org.evosuite.testcase.statements.Statement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the position of the statement during which each mutant
+ * is reached for the first time.
+ *
+ * <p>
+ * When the test is executed on a mutant, everything before that statement
+ * behaves as on the original code
+ */
+public class MutationReachObserver extends ExecutionObserver {
+
+    private final Map<Integer, Integer> firstPositions = new HashMap<>();
+
+    private int numTouched = 0;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void output(int position, String output) {
+        // do nothing
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeStatement(Statement statement, Scope scope) {
+        // do nothing
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void afterStatement(Statement statement, Scope scope,
+                                            Throwable exception) {
+        Set<Integer> touched = ExecutionTracer.getExecutionTracer().getTouchedMutants();
+        if (touched.size() == numTouched)
+            return;
+
+        for (Integer mutationId : touched) {
+            firstPositions.putIfAbsent(mutationId, statement.getPosition());
+        }
+        numTouched = touched.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void testExecutionFinished(ExecutionResult r, Scope s) {
+        // do nothing
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        firstPositions.clear();
+        numTouched = 0;
+    }
+
+    /**
+     * <p>
+     * getFirstPositions
+     * </p>
+     *
+     * @return a copy of the positions, by mutation id
+     */
+    public synchronized Map<Integer, Integer> getFirstPositions() {
+        return new HashMap<>(firstPositions);
+    }
+}
@@ -36,6 +36,9 @@ public class NullTraceObserver extends AssertionTraceObserver<NullTraceEntry> {
     @Override
     public synchronized void afterStatement(Statement statement, Scope scope,
                                             Throwable exception) {
+        if (!isObserved(statement))
+            return;
+
         // By default, no assertions are created for statements that threw exceptions
         if (exception != null)
             return;
@@ -91,4 +94,12 @@ public class NullTraceObserver extends AssertionTraceObserver<NullTraceEntry> {
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
+}
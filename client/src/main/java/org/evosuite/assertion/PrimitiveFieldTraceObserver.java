@@ -91,4 +91,12 @@ public class PrimitiveFieldTraceObserver extends
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
+}
@@ -42,6 +42,9 @@ public class PrimitiveTraceObserver extends AssertionTraceObserver<PrimitiveTrac
     @Override
     public synchronized void afterStatement(Statement statement, Scope scope,
                                             Throwable exception) {
+        if (!isObserved(statement))
+            return;
+
         // By default, no assertions are created for statements that threw exceptions
         if (exception != null)
             return;
@@ -132,4 +135,12 @@ public class PrimitiveTraceObserver extends AssertionTraceObserver<PrimitiveTrac
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
+}
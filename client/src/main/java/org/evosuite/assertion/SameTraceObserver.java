@@ -102,4 +102,12 @@ public class SameTraceObserver extends AssertionTraceObserver<SameTraceEntry> {
     public void testExecutionFinished(ExecutionResult r, Scope s) {
         // do nothing
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean executesCodeUnderTest() {
+        return false;
+    }
+}
@@ -101,11 +101,24 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
      * @param test   a {@link org.evosuite.testcase.TestCase} object.
      * @param killed a {@link java.util.Set} object.
      */
-    private void addAssertions(TestCase test, Set<Integer> killed) {
+    void addAssertions(TestCase test, Set<Integer> killed) {
         addAssertions(test, killed, mutants);
         filterRedundantNonnullAssertions(test);
     }
 
+    /**
+     * A mutant that was reached without ever changing the state has the same
+     * behaviour as the original code, so there is no point in executing it
+     *
+     * @param infectionDistances infection distances of the original execution
+     * @param mutationId         id of a mutant touched by the original execution
+     * @return
+     */
+    private static boolean isInfected(Map<Integer, Double> infectionDistances, int mutationId) {
+        Double distance = infectionDistances.get(mutationId);
+        return distance == null || distance <= 0.0;
+    }
+
     /**
      * Add assertions to current test set for given set of mutants
      *
@@ -145,10 +158,10 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         Randomness.shuffle(executedMutants);
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
 
+        Map<Integer, Double> infectionDistances = origResult.getTrace().getMutationDistances();
         int numExecutedMutants = 0;
         for (Mutation m : executedMutants) {
 
-            numExecutedMutants++;
             if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
                 logger.info("Reached maximum time to generate assertions!");
                 break;
@@ -173,8 +186,12 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
                     continue;
                 }
             }
+            if (Properties.SKIP_UNINFECTED_MUTANTS && !isInfected(infectionDistances, m.getId())) {
+                logger.debug("Skipping mutant {} as it is not infected", m.getId());
+                continue;
+            }
             if (Properties.MAX_MUTANTS_PER_TEST > 0
-                    && numExecutedMutants > Properties.MAX_MUTANTS_PER_TEST)
+                    && numExecutedMutants >= Properties.MAX_MUTANTS_PER_TEST)
                 break;
 
 			/*
@@ -185,6 +202,7 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 			*/
 
             logger.debug("Running test on mutation {}", m.getMutationName());
+            numExecutedMutants++;
             ExecutionResult mutantResult = runTest(test, m);
 
             int numKilled = 0;
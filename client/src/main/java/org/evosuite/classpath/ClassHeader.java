@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parts of a class file needed to build the inheritance tree: name,
+ * access flags, super type, interfaces and declared methods. Class and type
+ * names are internal names (eg org/some/Foo).
+ */
+public final class ClassHeader {
+
+    private final String name;
+    private final int access;
+    private final String superName;
+    private final List<String> interfaces;
+    private final List<String> methodNames;
+    private final List<String> methodDescriptors;
+
+    public ClassHeader(String name, int access, String superName, List<String> interfaces,
+                       List<String> methodNames, List<String> methodDescriptors) {
+        if (methodNames.size() != methodDescriptors.size()) {
+            throw new IllegalArgumentException("Each method needs a name and a descriptor");
+        }
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = Collections.unmodifiableList(interfaces);
+        this.methodNames = Collections.unmodifiableList(methodNames);
+        this.methodDescriptors = Collections.unmodifiableList(methodDescriptors);
+    }
+
+    /**
+     * Reads the header of a class file, without its code. The stream is closed.
+     */
+    public static ClassHeader read(InputStream input) throws IOException {
+        try {
+            ClassReader reader = new ClassReader(input);
+            ClassNode cn = new ClassNode();
+            reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
+                    | ClassReader.SKIP_CODE);
+            return fromClassNode(cn);
+        } finally {
+            input.close(); //VERY IMPORTANT, as ASM does not close the stream
+        }
+    }
+
+    public static ClassHeader fromClassNode(ClassNode cn) {
+        List<String> methodNames = new ArrayList<>(cn.methods.size());
+        List<String> methodDescriptors = new ArrayList<>(cn.methods.size());
+        for (MethodNode mn : cn.methods) {
+            methodNames.add(mn.name);
+            methodDescriptors.add(mn.desc);
+        }
+        return new ClassHeader(cn.name, cn.access, cn.superName, new ArrayList<>(cn.interfaces),
+                methodNames, methodDescriptors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    /**
+     * @return null for java/lang/Object, module-info and the like
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    public int getNumberOfMethods() {
+        return methodNames.size();
+    }
+
+    public String getMethodName(int index) {
+        return methodNames.get(index);
+    }
+
+    public String getMethodDescriptor(int index) {
+        return methodDescriptors.get(index);
+    }
+}
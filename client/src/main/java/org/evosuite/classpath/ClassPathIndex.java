@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the classes in the jar files of the classpath, persisted in
+ * {@link Properties#CLASSPATH_INDEX_DIR} so that the master, the clients and
+ * later runs (eg the CTG jobs of a project) do not need to scan the same jars
+ * again.
+ * <p>
+ * There is one index file per jar. It is only used if the size and the
+ * modification time of the jar are the ones stored in the index, otherwise
+ * the jar is scanned and the index is written again.
+ * <p>
+ * The class names of the jars are kept for the whole process. The class
+ * headers are only needed while the inheritance tree is built, and are kept
+ * until {@link #releaseHeaders()}.
+ */
+public final class ClassPathIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndex.class);
+
+    private static final int MAGIC = 0x45564349;
+
+    private static final int VERSION = 1;
+
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+
+    /**
+     * Class names of the jars already loaded in this process.
+     * Key -> the absolute path of the jar file
+     */
+    private static final Map<String, List<String>> loadedClassNames = new ConcurrentHashMap<>();
+
+    /**
+     * Class headers of the jars loaded since the last {@link #releaseHeaders()}.
+     * Key -> the absolute path of the jar file
+     */
+    private static final Map<String, Map<String, ClassHeader>> loadedHeaders = new ConcurrentHashMap<>();
+
+    private ClassPathIndex() {
+    }
+
+    /**
+     * The classes of a jar file
+     */
+    private static final class JarIndex {
+
+        /**
+         * Names (eg org.some.Foo) of the .class entries of the jar, in the order of the entries
+         */
+        private final List<String> classNames;
+
+        /**
+         * Key -> class name (eg org.some.Foo)
+         * <p>
+         * Value -> its header, missing if the class file could not be parsed
+         */
+        private final Map<String, ClassHeader> headers;
+
+        private JarIndex(List<String> classNames, Map<String, ClassHeader> headers) {
+            this.classNames = Collections.unmodifiableList(classNames);
+            this.headers = headers;
+        }
+
+    }
+
+    /**
+     * Returns the names of the classes of the given jar file, reading or
+     * creating its index file if needed.
+     *
+     * @param jarPath the absolute path of the jar file
+     * @return the class names (eg org.some.Foo), in the order of the entries of the jar, or
+     * null if no index directory is set, or if the jar cannot be read
+     */
+    public static List<String> getClassNames(String jarPath) {
+        String indexDir = Properties.CLASSPATH_INDEX_DIR;
+        if (indexDir == null) {
+            return null;
+        }
+        return loadedClassNames.computeIfAbsent(jarPath, path -> {
+            JarIndex index = loadOrCreateIndex(new File(indexDir), new File(path), false);
+            return index == null ? null : index.classNames;
+        });
+    }
+
+    /**
+     * Returns the header of a class of the given jar file. The headers of the
+     * whole jar are loaded, and kept until {@link #releaseHeaders()}.
+     *
+     * @param jarPath   the absolute path of the jar file
+     * @param className a fully qualified class name
+     * @return null if no index directory is set, if the class is not in the jar, or if it
+     * could not be parsed
+     */
+    public static ClassHeader getClassHeader(String jarPath, String className) {
+        String indexDir = Properties.CLASSPATH_INDEX_DIR;
+        if (indexDir == null) {
+            return null;
+        }
+        Map<String, ClassHeader> headers = loadedHeaders.computeIfAbsent(jarPath, path -> {
+            JarIndex index = loadOrCreateIndex(new File(indexDir), new File(path), true);
+            if (index == null) {
+                return null;
+            }
+            loadedClassNames.putIfAbsent(path, index.classNames);
+            return index.headers;
+        });
+        return headers == null ? null : headers.get(className);
+    }
+
+    /**
+     * Forget the class headers loaded by this process, eg once the inheritance
+     * tree has been built. Class names are kept.
+     */
+    public static void releaseHeaders() {
+        loadedHeaders.clear();
+    }
+
+    /**
+     * Forget everything loaded by this process. Index files are kept.
+     */
+    public static void reset() {
+        loadedClassNames.clear();
+        loadedHeaders.clear();
+    }
+
+    /**
+     * @param withHeaders whether the headers are needed. If not, the headers in the index
+     *                    file are skipped, but a scanned jar has all its headers
+     */
+    private static JarIndex loadOrCreateIndex(File indexDir, File jar, boolean withHeaders) {
+        File indexFile = getIndexFile(indexDir, jar);
+        if (indexFile.exists()) {
+            try {
+                JarIndex index = readIndex(indexFile, jar, withHeaders);
+                if (index != null) {
+                    return index;
+                }
+                logger.debug("Index of {} is out of date", jar);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Cannot read classpath index " + indexFile + ": " + e.getMessage());
+            }
+        }
+
+        JarIndex index;
+        try {
+            index = scanJar(jar);
+        } catch (IOException e) {
+            logger.error("Error while reading jar file " + jar + ": " + e.getMessage(), e);
+            return null;
+        }
+
+        try {
+            writeIndex(indexDir, indexFile, jar, index);
+        } catch (IOException e) {
+            logger.warn("Cannot write classpath index " + indexFile + ": " + e.getMessage());
+        }
+        return index;
+    }
+
+    private static File getIndexFile(File indexDir, File jar) {
+        String path = jar.getAbsolutePath();
+        String id = UUID.nameUUIDFromBytes(path.getBytes(StandardCharsets.UTF_8)).toString();
+        return new File(indexDir, jar.getName() + "-" + id + INDEX_FILE_SUFFIX);
+    }
+
+    private static JarIndex scanJar(File jar) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        Map<String, ClassHeader> headers = new HashMap<>();
+        try (ZipFile zf = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> e = zf.entries();
+            while (e.hasMoreElements()) {
+                ZipEntry ze = e.nextElement();
+                String entryName = ze.getName();
+                if (!entryName.endsWith(".class")) {
+                    continue;
+                }
+
+                String className = ResourceList.getClassNameFromResourcePath(entryName);
+                classNames.add(className);
+                try {
+                    headers.put(className, ClassHeader.read(zf.getInputStream(ze)));
+                } catch (IOException | RuntimeException e1) {
+                    // the class is still listed, and parsing it is left to whoever needs it
+                    logger.debug("Cannot parse " + entryName + " in " + jar + ": " + e1.getMessage());
+                }
+            }
+        }
+        return new JarIndex(classNames, headers);
+    }
+
+    private static void writeIndex(File indexDir, File indexFile, File jar, JarIndex index) throws IOException {
+        if (!indexDir.exists() && !indexDir.mkdirs() && !indexDir.exists()) {
+            throw new IOException("Cannot create " + indexDir);
+        }
+
+        // written to a temporary file first, as other processes might be reading the index
+        File tmpFile = File.createTempFile(indexFile.getName(), ".tmp", indexDir);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(jar.getAbsolutePath());
+                out.writeLong(jar.length());
+                out.writeLong(jar.lastModified());
+
+                out.writeInt(index.classNames.size());
+                for (String className : index.classNames) {
+                    out.writeUTF(className);
+                    ClassHeader header = index.headers.get(className);
+                    out.writeBoolean(header != null);
+                    if (header != null) {
+                        writeHeader(out, header);
+                    }
+                }
+            }
+            try {
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpFile.toPath());
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, ClassHeader header) throws IOException {
+        out.writeUTF(header.getName());
+        out.writeInt(header.getAccess());
+        out.writeBoolean(header.getSuperName() != null);
+        if (header.getSuperName() != null) {
+            out.writeUTF(header.getSuperName());
+        }
+        out.writeInt(header.getInterfaces().size());
+        for (String interfaceName : header.getInterfaces()) {
+            out.writeUTF(interfaceName);
+        }
+        out.writeInt(header.getNumberOfMethods());
+        for (int i = 0; i < header.getNumberOfMethods(); i++) {
+            out.writeUTF(header.getMethodName(i));
+            out.writeUTF(header.getMethodDescriptor(i));
+        }
+    }
+
+    /**
+     * @return null if the index does not belong to the current version of the jar
+     */
+    private static JarIndex readIndex(File indexFile, File jar, boolean withHeaders) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            if (!in.readUTF().equals(jar.getAbsolutePath())
+                    || in.readLong() != jar.length()
+                    || in.readLong() != jar.lastModified()) {
+                return null;
+            }
+
+            int numberOfClasses = in.readInt();
+            List<String> classNames = new ArrayList<>(numberOfClasses);
+            Map<String, ClassHeader> headers = withHeaders ? new HashMap<>(numberOfClasses * 2)
+                    : Collections.emptyMap();
+            for (int i = 0; i < numberOfClasses; i++) {
+                String className = in.readUTF();
+                classNames.add(className);
+                if (in.readBoolean()) {
+                    ClassHeader header = readHeader(in);
+                    if (withHeaders) {
+                        headers.put(className, header);
+                    }
+                }
+            }
+            return new JarIndex(classNames, headers);
+        }
+    }
+
+    private static ClassHeader readHeader(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        int access = in.readInt();
+        String superName = in.readBoolean() ? in.readUTF() : null;
+
+        int numberOfInterfaces = in.readInt();
+        List<String> interfaces = new ArrayList<>(numberOfInterfaces);
+        for (int i = 0; i < numberOfInterfaces; i++) {
+            interfaces.add(in.readUTF());
+        }
+
+        int numberOfMethods = in.readInt();
+        List<String> methodNames = new ArrayList<>(numberOfMethods);
+        List<String> methodDescriptors = new ArrayList<>(numberOfMethods);
+        for (int i = 0; i < numberOfMethods; i++) {
+            methodNames.add(in.readUTF());
+            methodDescriptors.add(in.readUTF());
+        }
+        return new ClassHeader(name, access, superName, interfaces, methodNames, methodDescriptors);
+    }
+}
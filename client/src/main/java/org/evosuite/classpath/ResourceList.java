@@ -159,6 +159,7 @@ public class ResourceList {
 
     public static void resetAllCaches() {
         instanceMap.clear();
+        ClassPathIndex.reset();
     }
 
 
@@ -325,6 +326,21 @@ public class ResourceList {
         }
     }
 
+    /**
+     * Returns the header of the given class as stored in the classpath index,
+     * to avoid parsing the class file.
+     *
+     * @param className a fully qualified class name
+     * @return null if no classpath index is used, or the class is not in a jar on the SUT classpath
+     */
+    public ClassHeader getIndexedClassHeader(String className) {
+        String cpEntry = getCache().mapClassToCP.get(className);
+        if (cpEntry == null || !cpEntry.endsWith(".jar")) {
+            return null;
+        }
+        return ClassPathIndex.getClassHeader(cpEntry, className);
+    }
+
     public static boolean isInterface(String resource) throws IOException {
         InputStream input = ResourceList.class.getClassLoader().getResourceAsStream(resource);
         return isClassAnInterface(input);
@@ -561,18 +577,7 @@ public class ResourceList {
     }
 
     private void scanJar(String jarEntry) {
-        JarFile zf = getCache().getJar(jarEntry);
-
-        Enumeration<?> e = zf.entries();
-        while (e.hasMoreElements()) {
-            JarEntry ze = (JarEntry) e.nextElement();
-            String entryName = ze.getName();
-
-            if (!entryName.endsWith(".class")) {
-                continue;
-            }
-
-            String className = getClassNameFromResourcePath(entryName);
+        for (String className : getJarClassNames(jarEntry)) {
 
             // The same class may exist in different classpath entries
             // and only the first one is kept
@@ -594,4 +599,34 @@ public class ResourceList {
         }
     }
 
+    /**
+     * Returns the names of the classes in the given jar, in the order of their
+     * entries, from the classpath index if one is used
+     *
+     * @param jarEntry
+     * @return
+     */
+    private List<String> getJarClassNames(String jarEntry) {
+        List<String> indexedClassNames = ClassPathIndex.getClassNames(jarEntry);
+        if (indexedClassNames != null) {
+            return indexedClassNames;
+        }
+
+        JarFile zf = getCache().getJar(jarEntry);
+
+        List<String> classNames = new ArrayList<>();
+        Enumeration<?> e = zf.entries();
+        while (e.hasMoreElements()) {
+            JarEntry ze = (JarEntry) e.nextElement();
+            String entryName = ze.getName();
+
+            if (!entryName.endsWith(".class")) {
+                continue;
+            }
+
+            classNames.add(getClassNameFromResourcePath(entryName));
+        }
+        return classNames;
+    }
+
 }
\ No newline at end of file
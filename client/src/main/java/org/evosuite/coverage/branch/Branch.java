@@ -20,9 +20,12 @@
 package org.evosuite.coverage.branch;
 
 import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.ControlDependency;
 import org.objectweb.asm.tree.LabelNode;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An object of this class corresponds to a Branch inside the class under test.
@@ -68,6 +71,14 @@ public class Branch implements Serializable, Comparable<Branch> {
      */
     private boolean isInstrumented = false;
 
+    /**
+     * The control dependencies of the instruction of this branch, excluding
+     * dependencies on the instruction itself (i.e., loops). Computed on first
+     * use, as the control dependence graph might not exist yet when the branch
+     * is created
+     */
+    private transient volatile ControlDependency[] controlDependencies = null;
+
     /**
      * Constructor for usual jump instruction Branches, that are not SWITCH
      * instructions.
@@ -298,6 +309,31 @@ public class Branch implements Serializable, Comparable<Branch> {
         this.isInstrumented = isInstrumented;
     }
 
+    /**
+     * Returns the branches the instruction of this branch is directly control
+     * dependent on, as determined by the control dependence graph of its
+     * method. Dependencies of the instruction on itself are left out, and an
+     * empty array means the branch only depends on the root branch.
+     * <p>
+     * The order is the iteration order of
+     * {@link BytecodeInstruction#getControlDependencies()}.
+     *
+     * @return an array of {@link ControlDependency} objects.
+     */
+    public ControlDependency[] getDirectControlDependencies() {
+        ControlDependency[] dependencies = controlDependencies;
+        if (dependencies == null) {
+            List<ControlDependency> list = new ArrayList<>();
+            for (ControlDependency dependency : instruction.getControlDependencies()) {
+                if (!instruction.equals(dependency.getBranch().getInstruction()))
+                    list.add(dependency);
+            }
+            dependencies = list.toArray(new ControlDependency[0]);
+            controlDependencies = dependencies;
+        }
+        return dependencies;
+    }
+
     private boolean ignoreFalse = false;
 
     public boolean ignoreFalseBranch() {
@@ -21,7 +21,6 @@ package org.evosuite.coverage.branch;
 
 import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.coverage.TestCoverageGoal;
-import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.MethodCall;
@@ -31,10 +30,7 @@ import org.objectweb.asm.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.BitSet;
 
 /**
  * This class holds static methods used to calculate ControlFlowDistances or in
@@ -213,10 +209,7 @@ public class ControlFlowDistanceCalculator {
         for (MethodCall call : result.getTrace().getMethodCalls()) {
             if (call.className.equals(className) && call.methodName.equals(methodName)) {
                 ControlFlowDistance d2;
-                Set<Branch> handled = new HashSet<>();
-                //				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
-                d2 = getNonRootDistance(result, call, branch, value, className,
-                        methodName, handled);
+                d2 = getNonRootDistance(call, branch, value, new BitSet());
                 if (d2.compareTo(r) < 0) {
                     r = d2;
                 }
@@ -226,9 +219,8 @@ public class ControlFlowDistanceCalculator {
         return r;
     }
 
-    private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
-                                                          MethodCall call, Branch branch, boolean value, String className,
-                                                          String methodName, Set<Branch> handled) {
+    private static ControlFlowDistance getNonRootDistance(MethodCall call, Branch branch,
+                                                          boolean value, BitSet handled) {
 
         if (branch == null)
             throw new IllegalStateException(
@@ -236,19 +228,11 @@ public class ControlFlowDistanceCalculator {
         if (call == null)
             throw new IllegalArgumentException("null given");
 
-        //		ControlFlowDistance r = result.intermediateDistances.get(branch);
-
-        if (handled.contains(branch)) {
-            //			if(r== null)
+        int branchId = branch.getActualBranchId();
+        if (handled.get(branchId)) {
             return worstPossibleDistanceForMethod(branch);
-            //			else {
-            //				return r;
-            //			}
         }
-        handled.add(branch);
-
-        List<Double> trueDistances = call.trueDistanceTrace;
-        List<Double> falseDistances = call.falseDistanceTrace;
+        handled.set(branchId);
 
         // IDEA:
         // if this goal's branch is traced in the given path, return the
@@ -257,109 +241,37 @@ public class ControlFlowDistanceCalculator {
         // and return 1 + minimum of the branch coverage goal distance over all
         // such branches taking as value the branchExpressionValue
 
-        Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
-
-        if (!branchTracePositions.isEmpty()) {
-
+        double branchDistance = call.getMinBranchDistance(branchId, value);
+        if (branchDistance >= 0) {
             // branch was traced in given path
-            ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
-
-            for (Integer branchTracePosition : branchTracePositions)
-                if (value)
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            trueDistances.get(branchTracePosition)));
-                else
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            falseDistances.get(branchTracePosition)));
-
-            if (r.getBranchDistance() == Double.MAX_VALUE)
+            if (branchDistance == Double.MAX_VALUE)
                 throw new IllegalStateException("should be impossible");
 
-            //			result.intermediateDistances.put(branch, r);
-            return r;
+            return new ControlFlowDistance(0, branchDistance);
         }
 
-        ControlFlowDistance controlDependenceDistance = getControlDependenceDistancesFor(result,
-                call,
-                branch.getInstruction(),
-                className,
-                methodName,
-                handled);
-
-        controlDependenceDistance.increaseApproachLevel();
-
-        //		result.intermediateDistances.put(branch, controlDependenceDistance);
-
-        return controlDependenceDistance;
-    }
-
-    private static ControlFlowDistance getControlDependenceDistancesFor(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-            String className, String methodName, Set<Branch> handled) {
-
-        Set<ControlFlowDistance> cdDistances = getDistancesForControlDependentBranchesOf(result,
-                call,
-                instruction,
-                className,
-                methodName,
-                handled);
-
-        if (cdDistances == null)
-            throw new IllegalStateException("expect cdDistances to never be null");
-
-        return Collections.min(cdDistances);
-    }
-
-    /**
-     * Returns a set containing the ControlFlowDistances in the given result for
-     * all branches the given instruction is control dependent on
-     *
-     * @param handled
-     */
-    private static Set<ControlFlowDistance> getDistancesForControlDependentBranchesOf(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
-            String className, String methodName, Set<Branch> handled) {
-
-        Set<ControlFlowDistance> r = new HashSet<>();
-        Set<ControlDependency> nextToLookAt = instruction.getControlDependencies();
-
-        for (ControlDependency next : nextToLookAt) {
-            if (instruction.equals(next.getBranch().getInstruction()))
-                continue; // avoid loops
-
-            boolean nextValue = next.getBranchExpressionValue();
-            ControlFlowDistance nextDistance = getNonRootDistance(result, call,
+        ControlFlowDistance controlDependenceDistance = null;
+        for (ControlDependency next : branch.getDirectControlDependencies()) {
+            ControlFlowDistance nextDistance = getNonRootDistance(call,
                     next.getBranch(),
-                    nextValue, className,
-                    methodName, handled);
+                    next.getBranchExpressionValue(),
+                    handled);
             assert (nextDistance != null);
-            r.add(nextDistance);
+            if (controlDependenceDistance == null || nextDistance.compareTo(controlDependenceDistance) < 0)
+                controlDependenceDistance = nextDistance;
         }
 
-        if (r.isEmpty()) {
+        if (controlDependenceDistance == null) {
             // instruction only dependent on root branch
-            // since this method is called by getNonRootDistance(MethodCall)
-            // which in turn is only called when a MethodCall for this branch's
-            // method was found in the given result, i can safely assume that
-            // the 0-distance is a control dependence distance for the given
-            // instruction ... right?
-            r.add(new ControlFlowDistance());
+            // since this method is only called when a MethodCall for this
+            // branch's method was found in the given result, the 0-distance
+            // is a control dependence distance for the given instruction
+            controlDependenceDistance = new ControlFlowDistance();
         }
 
-        return r;
-    }
-
-    private static Set<Integer> determineBranchTracePositions(MethodCall call,
-                                                              Branch branch) {
+        controlDependenceDistance.increaseApproachLevel();
 
-        Set<Integer> r = new HashSet<>();
-        List<Integer> path = call.branchTrace;
-        for (int pos = 0; pos < path.size(); pos++) {
-            if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-                r.add(pos);
-            }
-        }
-        return r;
+        return controlDependenceDistance;
     }
 
 }
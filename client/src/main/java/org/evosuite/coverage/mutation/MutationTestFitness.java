@@ -111,20 +111,23 @@ public abstract class MutationTestFitness extends TestFitnessFunction {
             else
                 logger.debug("Executing test witout mutant");
 
-            if (mutant != null)
-                MutationObserver.activateMutation(mutant);
-            result = TestCaseExecutor.getInstance().execute(test);
-            if (mutant != null)
-                MutationObserver.deactivateMutation(mutant);
+            // the mutant is active and the observers are read from global state,
+            // so no other test may be executed in between
+            synchronized (TestCaseExecutor.getInstance()) {
+                if (mutant != null)
+                    MutationObserver.activateMutation(mutant);
+                result = TestCaseExecutor.getInstance().execute(test);
+                if (mutant != null)
+                    MutationObserver.deactivateMutation(mutant);
+
+                int num = test.size();
+                if (!result.noThrownExceptions()) {
+                    num = result.getFirstPositionOfThrownException();
+                }
 
-            int num = test.size();
-            if (!result.noThrownExceptions()) {
-                num = result.getFirstPositionOfThrownException();
+                //if (mutant == null)
+                MaxStatementsStoppingCondition.statementsExecuted(num);
             }
-
-            //if (mutant == null)
-            MaxStatementsStoppingCondition.statementsExecuted(num);
-
         } catch (Exception e) {
             throw new Error(e);
         }
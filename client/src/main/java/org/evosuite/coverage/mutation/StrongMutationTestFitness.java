@@ -99,24 +99,27 @@ public class StrongMutationTestFitness extends MutationTestFitness {
             else
                 logger.debug("Executing test without mutant");
 
-            if (mutant != null)
-                MutationObserver.activateMutation(mutant);
-            result = TestCaseExecutor.getInstance().execute(test);
-            if (mutant != null)
-                MutationObserver.deactivateMutation(mutant);
-
-            int num = test.size();
-            if (!result.noThrownExceptions()) {
-                num = result.getFirstPositionOfThrownException();
-            }
+            // the mutant is active and the observers are read from global state,
+            // so no other test may be executed in between
+            synchronized (TestCaseExecutor.getInstance()) {
+                if (mutant != null)
+                    MutationObserver.activateMutation(mutant);
+                result = TestCaseExecutor.getInstance().execute(test);
+                if (mutant != null)
+                    MutationObserver.deactivateMutation(mutant);
+
+                int num = test.size();
+                if (!result.noThrownExceptions()) {
+                    num = result.getFirstPositionOfThrownException();
+                }
 
-            //if (mutant == null)
-            MaxStatementsStoppingCondition.statementsExecuted(num);
-            int i = 0;
-            for (AssertionTraceObserver<?> observer : observers) {
-                result.setTrace(observer.getTrace(), observerClasses[i++]);
+                //if (mutant == null)
+                MaxStatementsStoppingCondition.statementsExecuted(num);
+                int i = 0;
+                for (AssertionTraceObserver<?> observer : observers) {
+                    result.setTrace(observer.getTrace(), observerClasses[i++]);
+                }
             }
-
         } catch (Exception e) {
             throw new Error(e);
         }
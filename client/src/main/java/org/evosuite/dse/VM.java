@@ -19,8 +19,14 @@
  */
 package org.evosuite.dse;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 
@@ -41,6 +47,12 @@ import java.util.function.Consumer;
  */
 public final class VM {
 
+    /*
+     * Callbacks implemented by each listener class, cached as listeners are
+     * re-created for every concolic execution.
+     */
+    private static final Map<Class<?>, Set<VMCallback>> implementedCallbacks = new ConcurrentHashMap<>();
+
     /**
      * Single VM instance
      */
@@ -103,6 +115,14 @@ public final class VM {
     // protected IVM[] listeners = new IVM[] { new InsnLogger() };
     protected IVM[] listeners = new IVM[0];
 
+    /*
+     * For each callback (indexed by VMCallback ordinal), the listeners that
+     * implement it, in the order of listeners. Listeners extending AbstractVM
+     * are left out of the callbacks they inherit as no-ops, so that a callback
+     * nobody listens to returns right away.
+     */
+    private IVM[][] dispatchTable = createDispatchTable(listeners);
+
     protected List<IVM> prependListeners = new LinkedList<>();
     protected List<IVM> appendListeners = new LinkedList<>();
 
@@ -117,7 +137,59 @@ public final class VM {
         list.addAll(prependListeners);
         list.addAll(paramListeners);
         list.addAll(appendListeners);
-        this.listeners = list.toArray(new IVM[list.size()]);
+        updateListeners(list.toArray(new IVM[list.size()]));
+    }
+
+    private void updateListeners(IVM[] newListeners) {
+        this.dispatchTable = createDispatchTable(newListeners);
+        this.listeners = newListeners;
+    }
+
+    /**
+     * Returns the registered listeners that implement the given callback
+     */
+    protected IVM[] getListeners(VMCallback callback) {
+        return dispatchTable[callback.ordinal()];
+    }
+
+    private static IVM[][] createDispatchTable(IVM[] listeners) {
+        VMCallback[] callbacks = VMCallback.values();
+        IVM[][] table = new IVM[callbacks.length][];
+        List<IVM> interested = new ArrayList<>(listeners.length);
+        for (VMCallback callback : callbacks) {
+            interested.clear();
+            for (IVM listener : listeners) {
+                if (getImplementedCallbacks(listener.getClass()).contains(callback))
+                    interested.add(listener);
+            }
+            table[callback.ordinal()] = interested.toArray(new IVM[interested.size()]);
+        }
+        return table;
+    }
+
+    private static Set<VMCallback> getImplementedCallbacks(Class<?> listenerClass) {
+        return implementedCallbacks.computeIfAbsent(listenerClass, VM::findImplementedCallbacks);
+    }
+
+    private static Set<VMCallback> findImplementedCallbacks(Class<?> listenerClass) {
+        if (!AbstractVM.class.isAssignableFrom(listenerClass))
+            return EnumSet.allOf(VMCallback.class);
+
+        EnumSet<VMCallback> result = EnumSet.noneOf(VMCallback.class);
+        for (VMCallback callback : VMCallback.values()) {
+            if (callback.isCheckedByAbstractVM())
+                result.add(callback);
+        }
+        for (Class<?> c = listenerClass; c != AbstractVM.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                try {
+                    result.add(VMCallback.valueOf(method.getName()));
+                } catch (IllegalArgumentException e) {
+                    // not a callback
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -160,10 +232,13 @@ public final class VM {
     public static void NEW(String typeName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.NEW);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.NEW(typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -186,7 +261,7 @@ public final class VM {
             // No more callbacks are done since the list is erased
             // TODO catch StopVMException in Listeners. Enforce no listener
             // exception reaches the VM.
-            vm.listeners = new IVM[0];
+            vm.updateListeners(new IVM[0]);
             vm.stopped = true;
         } else if (t instanceof OutOfMemoryError) {
             // do not wrap memory exceptions
@@ -221,10 +296,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -236,10 +314,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -251,10 +332,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -266,10 +350,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -281,10 +368,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -296,10 +386,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -311,10 +404,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -326,10 +422,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -341,10 +440,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALLER_STACK_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -358,10 +460,13 @@ public final class VM {
     public static void SRC_LINE_NUMBER(int lineNr) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.SRC_LINE_NUMBER);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.SRC_LINE_NUMBER(lineNr);
         } catch (Throwable t) {
             handleException(t);
@@ -376,10 +481,13 @@ public final class VM {
                                     String methName, String methDesc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -394,10 +502,13 @@ public final class VM {
                                    String methDesc, int maxStack, int maxLocals) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_MAXS);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_MAXS(className, methName, methDesc, maxStack,
                         maxLocals);
         } catch (Throwable t) {
@@ -414,10 +525,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -429,10 +543,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -444,10 +561,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -459,10 +579,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -474,10 +597,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -489,10 +615,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -504,10 +633,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -519,10 +651,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -534,10 +669,13 @@ public final class VM {
                                           int calleeLocalsIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_PARAM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -548,10 +686,13 @@ public final class VM {
     public static void METHOD_BEGIN_RECEIVER(Object value) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.METHOD_BEGIN_RECEIVER);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.METHOD_BEGIN_RECEIVER(value);
         } catch (Throwable t) {
             handleException(t);
@@ -562,10 +703,13 @@ public final class VM {
     public static void CALL_RESULT(String owner, String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -577,10 +721,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -592,10 +739,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -607,10 +757,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -622,10 +775,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -637,10 +793,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -652,10 +811,13 @@ public final class VM {
                                    String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALL_RESULT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -669,10 +831,13 @@ public final class VM {
     public static void BB_BEGIN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.BB_BEGIN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.BB_BEGIN();
         } catch (Throwable t) {
             handleException(t);
@@ -687,10 +852,13 @@ public final class VM {
                                      String methName, String methDesc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.HANDLER_BEGIN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.HANDLER_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -705,10 +873,13 @@ public final class VM {
     public static void NOP() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.NOP);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.NOP();
         } catch (Throwable t) {
             handleException(t);
@@ -719,10 +890,13 @@ public final class VM {
     public static void ACONST_NULL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ACONST_NULL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ACONST_NULL();
         } catch (Throwable t) {
             handleException(t);
@@ -737,10 +911,13 @@ public final class VM {
     public static void ICONST_M1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_M1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_M1();
         } catch (Throwable t) {
             handleException(t);
@@ -755,10 +932,13 @@ public final class VM {
     public static void ICONST_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -773,10 +953,13 @@ public final class VM {
     public static void ICONST_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -791,10 +974,13 @@ public final class VM {
     public static void ICONST_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -809,10 +995,13 @@ public final class VM {
     public static void ICONST_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_3();
         } catch (Throwable t) {
             handleException(t);
@@ -827,10 +1016,13 @@ public final class VM {
     public static void ICONST_4() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_4);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_4();
         } catch (Throwable t) {
             handleException(t);
@@ -845,10 +1037,13 @@ public final class VM {
     public static void ICONST_5() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ICONST_5);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ICONST_5();
         } catch (Throwable t) {
             handleException(t);
@@ -859,10 +1054,13 @@ public final class VM {
     public static void LCONST_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LCONST_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -873,10 +1071,13 @@ public final class VM {
     public static void LCONST_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LCONST_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -887,10 +1088,13 @@ public final class VM {
     public static void FCONST_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FCONST_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -901,10 +1105,13 @@ public final class VM {
     public static void FCONST_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FCONST_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -915,10 +1122,13 @@ public final class VM {
     public static void FCONST_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FCONST_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FCONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -929,10 +1139,13 @@ public final class VM {
     public static void DCONST_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DCONST_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -943,10 +1156,13 @@ public final class VM {
     public static void DCONST_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DCONST_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -957,10 +1173,13 @@ public final class VM {
     public static void BIPUSH(int value) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.BIPUSH);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.BIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -971,10 +1190,13 @@ public final class VM {
     public static void SIPUSH(int value) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.SIPUSH);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.SIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -989,10 +1211,13 @@ public final class VM {
     public static void LDC(String x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1007,10 +1232,13 @@ public final class VM {
     public static void LDC(Class<?> x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1025,10 +1253,13 @@ public final class VM {
     public static void LDC(int x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1043,10 +1274,13 @@ public final class VM {
     public static void LDC(float x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1060,10 +1294,13 @@ public final class VM {
     public static void LDC_W() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC_W);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC_W();
         } catch (Throwable t) {
             handleException(t);
@@ -1078,10 +1315,13 @@ public final class VM {
     public static void LDC2_W(long x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC2_W);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1096,10 +1336,13 @@ public final class VM {
     public static void LDC2_W(double x) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDC2_W);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1114,10 +1357,13 @@ public final class VM {
     public static void ILOAD(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ILOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ILOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1128,10 +1374,13 @@ public final class VM {
     public static void LLOAD(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LLOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1142,10 +1391,13 @@ public final class VM {
     public static void FLOAD(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FLOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1156,10 +1408,13 @@ public final class VM {
     public static void DLOAD(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DLOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1170,10 +1425,13 @@ public final class VM {
     public static void ALOAD(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ALOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1188,10 +1446,13 @@ public final class VM {
     public static void ILOAD_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ILOAD_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ILOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1202,10 +1463,13 @@ public final class VM {
     public static void ILOAD_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ILOAD_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ILOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1216,10 +1480,13 @@ public final class VM {
     public static void ILOAD_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ILOAD_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ILOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1230,10 +1497,13 @@ public final class VM {
     public static void ILOAD_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ILOAD_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ILOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1248,10 +1518,13 @@ public final class VM {
     public static void LLOAD_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LLOAD_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1262,10 +1535,13 @@ public final class VM {
     public static void LLOAD_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LLOAD_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1276,10 +1552,13 @@ public final class VM {
     public static void LLOAD_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LLOAD_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1290,10 +1569,13 @@ public final class VM {
     public static void LLOAD_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LLOAD_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1308,10 +1590,13 @@ public final class VM {
     public static void FLOAD_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FLOAD_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1322,10 +1607,13 @@ public final class VM {
     public static void FLOAD_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FLOAD_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1336,10 +1624,13 @@ public final class VM {
     public static void FLOAD_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FLOAD_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1350,10 +1641,13 @@ public final class VM {
     public static void FLOAD_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FLOAD_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1368,10 +1662,13 @@ public final class VM {
     public static void DLOAD_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DLOAD_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1382,10 +1679,13 @@ public final class VM {
     public static void DLOAD_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DLOAD_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1396,10 +1696,13 @@ public final class VM {
     public static void DLOAD_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DLOAD_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1410,10 +1713,13 @@ public final class VM {
     public static void DLOAD_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DLOAD_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1428,10 +1734,13 @@ public final class VM {
     public static void ALOAD_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ALOAD_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ALOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1442,10 +1751,13 @@ public final class VM {
     public static void ALOAD_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ALOAD_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ALOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1456,10 +1768,13 @@ public final class VM {
     public static void ALOAD_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ALOAD_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ALOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1470,10 +1785,13 @@ public final class VM {
     public static void ALOAD_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ALOAD_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ALOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1484,10 +1802,13 @@ public final class VM {
     public static void IALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1498,10 +1819,13 @@ public final class VM {
     public static void LALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1512,10 +1836,13 @@ public final class VM {
     public static void FALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1526,10 +1853,13 @@ public final class VM {
     public static void DALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1540,10 +1870,13 @@ public final class VM {
     public static void AALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.AALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.AALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1554,10 +1887,13 @@ public final class VM {
     public static void BALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.BALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.BALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1568,10 +1904,13 @@ public final class VM {
     public static void CALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1582,10 +1921,13 @@ public final class VM {
     public static void SALOAD(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.SALOAD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.SALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1600,10 +1942,13 @@ public final class VM {
     public static void ISTORE(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1614,10 +1959,13 @@ public final class VM {
     public static void LSTORE(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1628,10 +1976,13 @@ public final class VM {
     public static void FSTORE(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1642,10 +1993,13 @@ public final class VM {
     public static void DSTORE(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1656,10 +2010,13 @@ public final class VM {
     public static void ASTORE(int i) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ASTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1674,10 +2031,13 @@ public final class VM {
     public static void ISTORE_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISTORE_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1688,10 +2048,13 @@ public final class VM {
     public static void ISTORE_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISTORE_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1702,10 +2065,13 @@ public final class VM {
     public static void ISTORE_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISTORE_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1716,10 +2082,13 @@ public final class VM {
     public static void ISTORE_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISTORE_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1734,10 +2103,13 @@ public final class VM {
     public static void LSTORE_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSTORE_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1748,10 +2120,13 @@ public final class VM {
     public static void LSTORE_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSTORE_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1762,10 +2137,13 @@ public final class VM {
     public static void LSTORE_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSTORE_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1776,10 +2154,13 @@ public final class VM {
     public static void LSTORE_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSTORE_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1794,10 +2175,13 @@ public final class VM {
     public static void FSTORE_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSTORE_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1808,10 +2192,13 @@ public final class VM {
     public static void FSTORE_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSTORE_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1822,10 +2209,13 @@ public final class VM {
     public static void FSTORE_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSTORE_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1836,10 +2226,13 @@ public final class VM {
     public static void FSTORE_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSTORE_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1854,10 +2247,13 @@ public final class VM {
     public static void DSTORE_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSTORE_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1868,10 +2264,13 @@ public final class VM {
     public static void DSTORE_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSTORE_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1882,10 +2281,13 @@ public final class VM {
     public static void DSTORE_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSTORE_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1896,10 +2298,13 @@ public final class VM {
     public static void DSTORE_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSTORE_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1914,10 +2319,13 @@ public final class VM {
     public static void ASTORE_0() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ASTORE_0);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ASTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1928,10 +2336,13 @@ public final class VM {
     public static void ASTORE_1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ASTORE_1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ASTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1942,10 +2353,13 @@ public final class VM {
     public static void ASTORE_2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ASTORE_2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ASTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1956,10 +2370,13 @@ public final class VM {
     public static void ASTORE_3() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ASTORE_3);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ASTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1970,10 +2387,13 @@ public final class VM {
     public static void IASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1984,10 +2404,13 @@ public final class VM {
     public static void LASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1998,10 +2421,13 @@ public final class VM {
     public static void FASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2012,10 +2438,13 @@ public final class VM {
     public static void DASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2031,10 +2460,13 @@ public final class VM {
             String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.AASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.AASTORE(receiver, index, value, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2045,10 +2477,13 @@ public final class VM {
     public static void BASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.BASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.BASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2059,10 +2494,13 @@ public final class VM {
     public static void CASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2073,10 +2511,13 @@ public final class VM {
     public static void SASTORE(Object receiver, int index, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.SASTORE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.SASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2087,10 +2528,13 @@ public final class VM {
     public static void POP() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.POP);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.POP();
         } catch (Throwable t) {
             handleException(t);
@@ -2101,10 +2545,13 @@ public final class VM {
     public static void POP2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.POP2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.POP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2115,10 +2562,13 @@ public final class VM {
     public static void DUP() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP();
         } catch (Throwable t) {
             handleException(t);
@@ -2129,10 +2579,13 @@ public final class VM {
     public static void DUP_X1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP_X1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2143,10 +2596,13 @@ public final class VM {
     public static void DUP_X2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP_X2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2157,10 +2613,13 @@ public final class VM {
     public static void DUP2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2171,10 +2630,13 @@ public final class VM {
     public static void DUP2_X1() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP2_X1);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP2_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2185,10 +2647,13 @@ public final class VM {
     public static void DUP2_X2() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DUP2_X2);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DUP2_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2199,10 +2664,13 @@ public final class VM {
     public static void SWAP() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.SWAP);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.SWAP();
         } catch (Throwable t) {
             handleException(t);
@@ -2217,10 +2685,13 @@ public final class VM {
     public static void IADD() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IADD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2231,10 +2702,13 @@ public final class VM {
     public static void LADD() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LADD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2245,10 +2719,13 @@ public final class VM {
     public static void FADD() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FADD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2259,10 +2736,13 @@ public final class VM {
     public static void DADD() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DADD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2273,10 +2753,13 @@ public final class VM {
     public static void ISUB() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISUB);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2287,10 +2770,13 @@ public final class VM {
     public static void LSUB() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSUB);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2301,10 +2787,13 @@ public final class VM {
     public static void FSUB() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FSUB);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2315,10 +2804,13 @@ public final class VM {
     public static void DSUB() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DSUB);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2333,10 +2825,13 @@ public final class VM {
     public static void IMUL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IMUL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2347,10 +2842,13 @@ public final class VM {
     public static void LMUL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LMUL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2361,10 +2859,13 @@ public final class VM {
     public static void FMUL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FMUL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2375,10 +2876,13 @@ public final class VM {
     public static void DMUL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DMUL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2389,10 +2893,13 @@ public final class VM {
     public static void IDIV(int rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IDIV);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2403,10 +2910,13 @@ public final class VM {
     public static void LDIV(long rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LDIV);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2417,10 +2927,13 @@ public final class VM {
     public static void FDIV(float rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FDIV);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2431,10 +2944,13 @@ public final class VM {
     public static void DDIV(double rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DDIV);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2445,10 +2961,13 @@ public final class VM {
     public static void IREM(int rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IREM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2459,10 +2978,13 @@ public final class VM {
     public static void LREM(long rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LREM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2473,10 +2995,13 @@ public final class VM {
     public static void FREM(float rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FREM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2487,10 +3012,13 @@ public final class VM {
     public static void DREM(double rhs) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DREM);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2501,10 +3029,13 @@ public final class VM {
     public static void INEG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INEG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2515,10 +3046,13 @@ public final class VM {
     public static void LNEG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LNEG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2529,10 +3063,13 @@ public final class VM {
     public static void FNEG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FNEG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2543,10 +3080,13 @@ public final class VM {
     public static void DNEG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DNEG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2557,10 +3097,13 @@ public final class VM {
     public static void ISHL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISHL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2571,10 +3114,13 @@ public final class VM {
     public static void LSHL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSHL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2585,10 +3131,13 @@ public final class VM {
     public static void ISHR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ISHR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ISHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2599,10 +3148,13 @@ public final class VM {
     public static void LSHR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LSHR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2613,10 +3165,13 @@ public final class VM {
     public static void IUSHR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IUSHR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2627,10 +3182,13 @@ public final class VM {
     public static void LUSHR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LUSHR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2641,10 +3199,13 @@ public final class VM {
     public static void IAND() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IAND);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2655,10 +3216,13 @@ public final class VM {
     public static void LAND() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LAND);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2669,10 +3233,13 @@ public final class VM {
     public static void IOR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IOR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2683,10 +3250,13 @@ public final class VM {
     public static void LOR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LOR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2697,10 +3267,13 @@ public final class VM {
     public static void IXOR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IXOR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2711,10 +3284,13 @@ public final class VM {
     public static void LXOR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LXOR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2725,10 +3301,13 @@ public final class VM {
     public static void IINC(int i, int value) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IINC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IINC(i, value);
         } catch (Throwable t) {
             handleException(t);
@@ -2739,10 +3318,13 @@ public final class VM {
     public static void I2L() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2L);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2753,10 +3335,13 @@ public final class VM {
     public static void I2F() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2F);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2767,10 +3352,13 @@ public final class VM {
     public static void I2D() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2D);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2781,10 +3369,13 @@ public final class VM {
     public static void L2I() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.L2I);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.L2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2795,10 +3386,13 @@ public final class VM {
     public static void L2F() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.L2F);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.L2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2809,10 +3403,13 @@ public final class VM {
     public static void L2D() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.L2D);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.L2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2823,10 +3420,13 @@ public final class VM {
     public static void F2I() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.F2I);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.F2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2837,10 +3437,13 @@ public final class VM {
     public static void F2L() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.F2L);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.F2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2851,10 +3454,13 @@ public final class VM {
     public static void F2D() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.F2D);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.F2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2865,10 +3471,13 @@ public final class VM {
     public static void D2I() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.D2I);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.D2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2879,10 +3488,13 @@ public final class VM {
     public static void D2L() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.D2L);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.D2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2893,10 +3505,13 @@ public final class VM {
     public static void D2F() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.D2F);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.D2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2907,10 +3522,13 @@ public final class VM {
     public static void I2B() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2B);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2B();
         } catch (Throwable t) {
             handleException(t);
@@ -2921,10 +3539,13 @@ public final class VM {
     public static void I2C() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2C);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2C();
         } catch (Throwable t) {
             handleException(t);
@@ -2935,10 +3556,13 @@ public final class VM {
     public static void I2S() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.I2S);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.I2S();
         } catch (Throwable t) {
             handleException(t);
@@ -2949,10 +3573,13 @@ public final class VM {
     public static void LCMP() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LCMP);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LCMP();
         } catch (Throwable t) {
             handleException(t);
@@ -2963,10 +3590,13 @@ public final class VM {
     public static void FCMPL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FCMPL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -2977,10 +3607,13 @@ public final class VM {
     public static void FCMPG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FCMPG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -2991,10 +3624,13 @@ public final class VM {
     public static void DCMPL() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DCMPL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -3005,10 +3641,13 @@ public final class VM {
     public static void DCMPG() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DCMPG);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -3020,10 +3659,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFEQ);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFEQ(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3035,10 +3677,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFNE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFNE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3050,10 +3695,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFLT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFLT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3065,10 +3713,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFGE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFGE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3080,10 +3731,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFGT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFGT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3095,10 +3749,13 @@ public final class VM {
                             int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFLE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFLE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3110,10 +3767,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPEQ);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3126,10 +3786,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPNE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3142,10 +3805,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPLT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPLT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3158,10 +3824,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPGE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPGE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3174,10 +3843,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPGT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPGT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3190,10 +3862,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ICMPLE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ICMPLE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3206,10 +3881,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ACMPEQ);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ACMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3222,10 +3900,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IF_ACMPNE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IF_ACMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3237,10 +3918,13 @@ public final class VM {
     public static void GOTO() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.GOTO);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.GOTO();
         } catch (Throwable t) {
             handleException(t);
@@ -3251,10 +3935,13 @@ public final class VM {
     public static void JSR() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.JSR);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.JSR();
         } catch (Throwable t) {
             handleException(t);
@@ -3265,10 +3952,13 @@ public final class VM {
     public static void RET() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.RET);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.RET();
         } catch (Throwable t) {
             handleException(t);
@@ -3280,10 +3970,13 @@ public final class VM {
                                    String className, String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.TABLESWITCH);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.TABLESWITCH(className, methName, branchIndex, target,
                         min, max);
         } catch (Throwable t) {
@@ -3296,10 +3989,13 @@ public final class VM {
                                     String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LOOKUPSWITCH);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LOOKUPSWITCH(className, methName, branchIndex, target,
                         goals);
         } catch (Throwable t) {
@@ -3311,10 +4007,13 @@ public final class VM {
     public static void IRETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IRETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3325,10 +4024,13 @@ public final class VM {
     public static void LRETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.LRETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.LRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3339,10 +4041,13 @@ public final class VM {
     public static void FRETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.FRETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.FRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3353,10 +4058,13 @@ public final class VM {
     public static void DRETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.DRETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.DRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3367,10 +4075,13 @@ public final class VM {
     public static void ARETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ARETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ARETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3381,10 +4092,13 @@ public final class VM {
     public static void RETURN() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.RETURN);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.RETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3395,10 +4109,13 @@ public final class VM {
     public static void GETSTATIC(String owner, String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.GETSTATIC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.GETSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3409,10 +4126,13 @@ public final class VM {
     public static void PUTSTATIC(String owner, String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.PUTSTATIC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.PUTSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3424,10 +4144,13 @@ public final class VM {
                                 String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.GETFIELD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.GETFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3439,10 +4162,13 @@ public final class VM {
                                 String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.PUTFIELD);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.PUTFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3453,10 +4179,13 @@ public final class VM {
     public static void INVOKESTATIC(String owner, String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INVOKESTATIC);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INVOKESTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3467,10 +4196,13 @@ public final class VM {
     public static void INVOKESPECIAL(String owner, String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INVOKESPECIAL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INVOKESPECIAL(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3482,10 +4214,13 @@ public final class VM {
                                      String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INVOKEVIRTUAL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INVOKEVIRTUAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3497,10 +4232,13 @@ public final class VM {
                                      String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INVOKESPECIAL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INVOKESPECIAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3512,10 +4250,13 @@ public final class VM {
                                        String name, String desc) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INVOKEINTERFACE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INVOKEINTERFACE(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3531,7 +4272,7 @@ public final class VM {
      */
     public static void INVOKEDYNAMIC(Object instance, String ownerClass) {
         if (!ignoreCallback)
-            interpret((IVM ivm) -> ivm.INVOKEDYNAMIC(instance, ownerClass));
+            interpret(VMCallback.INVOKEDYNAMIC, (IVM ivm) -> ivm.INVOKEDYNAMIC(instance, ownerClass));
     }
 
     /**
@@ -3543,7 +4284,7 @@ public final class VM {
      */
     public static void INVOKEDYNAMIC(String concatenationResult, String stringOwnerClass, String stringRecipe) {
         if (!ignoreCallback)
-            interpret((IVM ivm) -> ivm.INVOKEDYNAMIC(concatenationResult, stringOwnerClass, stringRecipe));
+            interpret(VMCallback.INVOKEDYNAMIC, (IVM ivm) -> ivm.INVOKEDYNAMIC(concatenationResult, stringOwnerClass, stringRecipe));
     }
 
     protected static Class<?> getArrayComponentType(int componentTypeInt) {
@@ -3573,10 +4314,13 @@ public final class VM {
     public static void NEWARRAY(int length, int componentTypeInt, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.NEWARRAY);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.NEWARRAY(length,
                         getArrayComponentType(componentTypeInt),
                         className,
@@ -3590,10 +4334,13 @@ public final class VM {
     public static void ANEWARRAY(int length, String componentTypeName, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ANEWARRAY);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ANEWARRAY(length, componentTypeName, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3604,10 +4351,13 @@ public final class VM {
     public static void ARRAYLENGTH(Object reference) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ARRAYLENGTH);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ARRAYLENGTH(reference);
         } catch (Throwable t) {
             handleException(t);
@@ -3618,10 +4368,13 @@ public final class VM {
     public static void ATHROW(Object throwable) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.ATHROW);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.ATHROW((Throwable) throwable);
         } catch (Throwable t) {
             handleException(t);
@@ -3632,10 +4385,13 @@ public final class VM {
     public static void CHECKCAST(Object reference, String typeName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.CHECKCAST);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.CHECKCAST(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3646,10 +4402,13 @@ public final class VM {
     public static void INSTANCEOF(Object reference, String typeName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.INSTANCEOF);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.INSTANCEOF(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3660,10 +4419,13 @@ public final class VM {
     public static void MONITORENTER() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.MONITORENTER);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.MONITORENTER();
         } catch (Throwable t) {
             handleException(t);
@@ -3674,10 +4436,13 @@ public final class VM {
     public static void MONITOREXIT() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.MONITOREXIT);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.MONITOREXIT();
         } catch (Throwable t) {
             handleException(t);
@@ -3688,10 +4453,13 @@ public final class VM {
     public static void WIDE() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.WIDE);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.WIDE();
         } catch (Throwable t) {
             handleException(t);
@@ -3702,10 +4470,13 @@ public final class VM {
     public static void MULTIANEWARRAY(String arrayTypeDesc, int nrDimensions, String className, String methodName) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.MULTIANEWARRAY);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.MULTIANEWARRAY(arrayTypeDesc, nrDimensions, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3717,10 +4488,13 @@ public final class VM {
                               int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFNULL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3732,10 +4506,13 @@ public final class VM {
                                  String methName, int branchIndex) {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.IFNONNULL);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.IFNONNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3746,10 +4523,13 @@ public final class VM {
     public static void GOTO_W() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.GOTO_W);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.GOTO_W();
         } catch (Throwable t) {
             handleException(t);
@@ -3760,10 +4540,13 @@ public final class VM {
     public static void JSR_W() {
         if (ignoreCallback)
             return;
+        IVM[] listeners = vm.getListeners(VMCallback.JSR_W);
+        if (listeners.length == 0)
+            return;
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : listeners)
                 listener.JSR_W();
         } catch (Throwable t) {
             handleException(t);
@@ -3785,14 +4568,18 @@ public final class VM {
      * <p>
      * TODO: Refactor all calls to use this function in the same way as INVOKEDYNAMIC
      *
+     * @param callback
      * @param lambda
      */
-    private static void interpret(Consumer<IVM> lambda) {
+    private static void interpret(VMCallback callback, Consumer<IVM> lambda) {
+        IVM[] listeners = vm.getListeners(callback);
+        if (listeners.length == 0)
+            return;
         disableCallBacks();
         vm.countCallback();
 
         try {
-            for (IVM ivm : vm.listeners) lambda.accept(ivm);
+            for (IVM ivm : listeners) lambda.accept(ivm);
         } catch (Throwable t) {
             t.printStackTrace();
         } finally {
@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+/**
+ * The callbacks of {@link IVM} that {@link VM} dispatches to its listeners,
+ * identified by method name (i.e., all overloads of a method share the same
+ * constant). Used by {@link VM} to look up, for each callback, only the
+ * listeners that actually implement it.
+ */
+public enum VMCallback {
+
+    NEW,
+    CALLER_STACK_PARAM,
+    SRC_LINE_NUMBER,
+    METHOD_BEGIN,
+    METHOD_MAXS,
+    METHOD_BEGIN_PARAM,
+    METHOD_BEGIN_RECEIVER,
+    CALL_RESULT,
+    BB_BEGIN,
+    HANDLER_BEGIN,
+    NOP,
+    ACONST_NULL,
+    ICONST_M1,
+    ICONST_0,
+    ICONST_1,
+    ICONST_2,
+    ICONST_3,
+    ICONST_4,
+    ICONST_5,
+    LCONST_0,
+    LCONST_1,
+    FCONST_0,
+    FCONST_1,
+    FCONST_2,
+    DCONST_0,
+    DCONST_1,
+    BIPUSH,
+    SIPUSH,
+    LDC,
+    LDC_W(true),
+    LDC2_W,
+    ILOAD,
+    LLOAD,
+    FLOAD,
+    DLOAD,
+    ALOAD,
+    ILOAD_0(true),
+    ILOAD_1(true),
+    ILOAD_2(true),
+    ILOAD_3(true),
+    LLOAD_0(true),
+    LLOAD_1(true),
+    LLOAD_2(true),
+    LLOAD_3(true),
+    FLOAD_0(true),
+    FLOAD_1(true),
+    FLOAD_2(true),
+    FLOAD_3(true),
+    DLOAD_0(true),
+    DLOAD_1(true),
+    DLOAD_2(true),
+    DLOAD_3(true),
+    ALOAD_0(true),
+    ALOAD_1(true),
+    ALOAD_2(true),
+    ALOAD_3(true),
+    IALOAD,
+    LALOAD,
+    FALOAD,
+    DALOAD,
+    AALOAD,
+    BALOAD,
+    CALOAD,
+    SALOAD,
+    ISTORE,
+    LSTORE,
+    FSTORE,
+    DSTORE,
+    ASTORE,
+    ISTORE_0(true),
+    ISTORE_1(true),
+    ISTORE_2(true),
+    ISTORE_3(true),
+    LSTORE_0(true),
+    LSTORE_1(true),
+    LSTORE_2(true),
+    LSTORE_3(true),
+    FSTORE_0(true),
+    FSTORE_1(true),
+    FSTORE_2(true),
+    FSTORE_3(true),
+    DSTORE_0(true),
+    DSTORE_1(true),
+    DSTORE_2(true),
+    DSTORE_3(true),
+    ASTORE_0(true),
+    ASTORE_1(true),
+    ASTORE_2(true),
+    ASTORE_3(true),
+    IASTORE,
+    LASTORE,
+    FASTORE,
+    DASTORE,
+    AASTORE,
+    BASTORE,
+    CASTORE,
+    SASTORE,
+    POP,
+    POP2,
+    DUP,
+    DUP_X1,
+    DUP_X2,
+    DUP2,
+    DUP2_X1,
+    DUP2_X2,
+    SWAP,
+    IADD,
+    LADD,
+    FADD,
+    DADD,
+    ISUB,
+    LSUB,
+    FSUB,
+    DSUB,
+    IMUL,
+    LMUL,
+    FMUL,
+    DMUL,
+    IDIV,
+    LDIV,
+    FDIV,
+    DDIV,
+    IREM,
+    LREM,
+    FREM,
+    DREM,
+    INEG,
+    LNEG,
+    FNEG,
+    DNEG,
+    ISHL,
+    LSHL,
+    ISHR,
+    LSHR,
+    IUSHR,
+    LUSHR,
+    IAND,
+    LAND,
+    IOR,
+    LOR,
+    IXOR,
+    LXOR,
+    IINC,
+    I2L,
+    I2F,
+    I2D,
+    L2I,
+    L2F,
+    L2D,
+    F2I,
+    F2L,
+    F2D,
+    D2I,
+    D2L,
+    D2F,
+    I2B,
+    I2C,
+    I2S,
+    LCMP,
+    FCMPL,
+    FCMPG,
+    DCMPL,
+    DCMPG,
+    IFEQ,
+    IFNE,
+    IFLT,
+    IFGE,
+    IFGT,
+    IFLE,
+    IF_ICMPEQ,
+    IF_ICMPNE,
+    IF_ICMPLT,
+    IF_ICMPGE,
+    IF_ICMPGT,
+    IF_ICMPLE,
+    IF_ACMPEQ,
+    IF_ACMPNE,
+    GOTO,
+    JSR,
+    RET,
+    TABLESWITCH,
+    LOOKUPSWITCH,
+    IRETURN,
+    LRETURN,
+    FRETURN,
+    DRETURN,
+    ARETURN,
+    RETURN,
+    GETSTATIC,
+    PUTSTATIC,
+    GETFIELD,
+    PUTFIELD,
+    INVOKESTATIC,
+    INVOKESPECIAL,
+    INVOKEVIRTUAL,
+    INVOKEINTERFACE,
+    NEWARRAY,
+    ANEWARRAY,
+    ARRAYLENGTH,
+    ATHROW,
+    CHECKCAST,
+    INSTANCEOF,
+    MONITORENTER,
+    MONITOREXIT,
+    WIDE,
+    MULTIANEWARRAY,
+    IFNULL,
+    IFNONNULL,
+    GOTO_W,
+    JSR_W,
+    INVOKEDYNAMIC;
+
+    /**
+     * {@link AbstractVM} does not implement this callback as a no-op, but
+     * checks that it is never called
+     */
+    private final boolean checkedByAbstractVM;
+
+    VMCallback() {
+        this(false);
+    }
+
+    VMCallback(boolean checkedByAbstractVM) {
+        this.checkedByAbstractVM = checkedByAbstractVM;
+    }
+
+    public boolean isCheckedByAbstractVM() {
+        return checkedByAbstractVM;
+    }
+}
@@ -65,7 +65,7 @@ public abstract class Archive implements Serializable {
     /**
      * Has this archive been updated with new candidate solutions?
      */
-    protected boolean hasBeenUpdated = false;
+    protected volatile boolean hasBeenUpdated = false;
 
     /**
      * Register a target.
@@ -97,10 +97,12 @@ public abstract class Archive implements Serializable {
      */
     protected void registerNonCoveredTargetOfAMethod(TestFitnessFunction target) {
         String targetMethod = this.getMethodFullName(target);
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
-            this.nonCoveredTargetsOfEachMethod.put(targetMethod, new LinkedHashSet<>());
+        synchronized (this.nonCoveredTargetsOfEachMethod) {
+            if (!this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
+                this.nonCoveredTargetsOfEachMethod.put(targetMethod, new LinkedHashSet<>());
+            }
+            this.nonCoveredTargetsOfEachMethod.get(targetMethod).add(target);
         }
-        this.nonCoveredTargetsOfEachMethod.get(targetMethod).add(target);
     }
 
     /**
@@ -110,18 +112,22 @@ public abstract class Archive implements Serializable {
      */
     protected void removeNonCoveredTargetOfAMethod(TestFitnessFunction target) {
         String targetMethod = this.getMethodFullName(target);
-        if (this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
+        synchronized (this.nonCoveredTargetsOfEachMethod) {
+            if (!this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
+                return;
+            }
             // target has been covered, therefore we can remove it from the list of non-covered
             this.nonCoveredTargetsOfEachMethod.get(targetMethod).remove(target);
 
-            if (this.nonCoveredTargetsOfEachMethod.get(targetMethod).isEmpty()) {
-                // method is fully covered, therefore we do not need to keep track of it
-                this.nonCoveredTargetsOfEachMethod.remove(targetMethod);
-
-                // inform TestCluster that method 'targetMethod' is fully covered
-                this.ignoreMethodCall(this.getClassName(target), this.getMethodName(target));
+            if (!this.nonCoveredTargetsOfEachMethod.get(targetMethod).isEmpty()) {
+                return;
             }
+            // method is fully covered, therefore we do not need to keep track of it
+            this.nonCoveredTargetsOfEachMethod.remove(targetMethod);
         }
+
+        // inform TestCluster that method 'targetMethod' is fully covered
+        this.ignoreMethodCall(this.getClassName(target), this.getMethodName(target));
     }
 
     /**
@@ -472,10 +478,12 @@ public abstract class Archive implements Serializable {
      * @return true if a method has been fully covered, false otherwise
      */
     protected boolean isMethodFullyCovered(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return true;
+        synchronized (this.nonCoveredTargetsOfEachMethod) {
+            if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
+                return true;
+            }
+            return this.nonCoveredTargetsOfEachMethod.get(methodFullName).isEmpty();
         }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).isEmpty();
     }
 
     /**
@@ -485,10 +493,12 @@ public abstract class Archive implements Serializable {
      * @return
      */
     public int getNumOfRemainingTargets(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return 0;
+        synchronized (this.nonCoveredTargetsOfEachMethod) {
+            if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
+                return 0;
+            }
+            return this.nonCoveredTargetsOfEachMethod.get(methodFullName).size();
         }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).size();
     }
 
     /**
@@ -500,7 +510,9 @@ public abstract class Archive implements Serializable {
      * Reset any field.
      */
     public void reset() {
-        this.nonCoveredTargetsOfEachMethod.clear();
+        synchronized (this.nonCoveredTargetsOfEachMethod) {
+            this.nonCoveredTargetsOfEachMethod.clear();
+        }
     }
 
     /**
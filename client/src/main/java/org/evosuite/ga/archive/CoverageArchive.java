@@ -26,18 +26,36 @@ import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.IndexedSet;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Coverage Archive.
  *
+ * <p>
+ * The archive can be updated concurrently by several producers (e.g., parallel fitness evaluation
+ * and DSE). Each target has its own slot: the common case of a solution that does not improve on
+ * a target is decided without any lock, and only replacing the solution of a target locks that
+ * target's slot. Covered/uncovered targets are indexed incrementally, so that counting them does
+ * not need to rebuild any collection. Covered targets, and so the solutions, are kept in the order
+ * the targets were covered, which keeps the sampling of solutions reproducible.
+ *
  * @author José Campos
  */
 public class CoverageArchive extends Archive {
@@ -47,15 +65,37 @@ public class CoverageArchive extends Archive {
     private static final Logger logger = LoggerFactory.getLogger(CoverageArchive.class);
 
     /**
-     * Map used to store all covered targets (keys of the map) and the corresponding covering
-     * solutions (values of the map)
+     * Map used to store all targets (keys of the map) and the corresponding slot holding the
+     * covering solution, if any (values of the map)
+     */
+    private final Map<TestFitnessFunction, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Slots of all covered targets, in the order the targets were covered
+     */
+    private final Queue<Slot> coveredSlots = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Slots of all targets that have not been covered yet, in the order the targets were added to
+     * the archive
+     */
+    private final Set<Slot> uncoveredSlots = new ConcurrentSkipListSet<>();
+
+    private final AtomicInteger numberOfCoveredTargets = new AtomicInteger(0);
+
+    private final AtomicInteger slotCounter = new AtomicInteger(0);
+
+    /**
+     * Number of changes of the covered targets or of their solutions, used to tell whether the
+     * cached solutions are still up to date
      */
-    private final Map<TestFitnessFunction, TestChromosome> covered = new LinkedHashMap<>();
+    private final AtomicInteger version = new AtomicInteger(0);
 
     /**
-     * Set used to store all targets that have not been covered yet
+     * Solutions of the covered targets, in coverage order, as of {@link #version}. Rebuilt on
+     * demand after the archive has changed, so that sampling a solution takes constant time
      */
-    private final Set<TestFitnessFunction> uncovered = new LinkedHashSet<>();
+    private transient volatile SolutionsSnapshot solutions = null;
 
     public static final CoverageArchive instance = new CoverageArchive();
 
@@ -67,12 +107,20 @@ public class CoverageArchive extends Archive {
     public void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
-        if (!this.uncovered.contains(target)) {
-            logger.debug("Registering new target '" + target + "'");
-            this.uncovered.add(target);
+        Slot slot = this.slots.get(target);
+        if (slot == null) {
+            Slot newSlot = new Slot(this.slotCounter.getAndIncrement(), target);
+            slot = this.slots.putIfAbsent(target, newSlot);
+            if (slot == null) {
+                logger.debug("Registering new target '" + target + "'");
+                slot = newSlot;
+                this.uncoveredSlots.add(slot);
+            }
         }
 
-        this.registerNonCoveredTargetOfAMethod(target);
+        if (slot.solution == null) {
+            this.registerNonCoveredTargetOfAMethod(target);
+        }
     }
 
     /**
@@ -81,7 +129,7 @@ public class CoverageArchive extends Archive {
     @Override
     public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
-        assert this.covered.containsKey(target) || this.uncovered.contains(target) : "Unknown goal: " + target;
+        assert this.slots.containsKey(target) : "Unknown goal: " + target;
 
         if (fitnessValue > 0.0) {
             // as this type of archive only cares about covered targets, it ignores all
@@ -89,36 +137,53 @@ public class CoverageArchive extends Archive {
             return;
         }
 
-        boolean isNewCoveredTarget = false;
-        boolean isNewSolutionBetterThanCurrent = false;
-
-        TestChromosome currentSolution = this.covered.get(target);
+        Slot slot = this.slots.get(target);
+        if (slot == null) {
+            return;
+        }
 
-        if (currentSolution == null) {
-            logger.debug("Solution for non-covered target '" + target + "'");
-            isNewCoveredTarget = true;
-        } else {
-            isNewSolutionBetterThanCurrent = this.isBetterThanCurrent(currentSolution, solution);
+        // cheap check without locking, repeated below once the slot is locked
+        TestChromosome currentSolution = slot.solution;
+        if (currentSolution != null && !this.isBetterThanCurrent(currentSolution, solution)) {
+            return;
         }
 
-        if (isNewCoveredTarget || isNewSolutionBetterThanCurrent) {
+        synchronized (slot) {
+            currentSolution = slot.solution;
+
+            if (currentSolution == null) {
+                logger.debug("Solution for non-covered target '" + target + "'");
+            } else if (currentSolution == solution
+                    || !this.isBetterThanCurrent(currentSolution, solution)) {
+                return;
+            }
+
             // update the archive if a new target has been covered, or if solution covers already existing
             // covered targets but it has been considered a better solution
-            this.addToArchive(target, solution);
+            this.addToArchive(slot, currentSolution, solution);
         }
     }
 
-    private void addToArchive(TestFitnessFunction target, TestChromosome solution) {
-        this.uncovered.remove(target);
-        this.covered.put(target, solution);
-        this.removeNonCoveredTargetOfAMethod(target);
+    /**
+     * Has to be called while holding the lock of the slot
+     */
+    private void addToArchive(Slot slot, TestChromosome currentSolution, TestChromosome solution) {
+        slot.solution = solution;
+
+        if (currentSolution == null) {
+            this.coveredSlots.add(slot);
+            this.uncoveredSlots.remove(slot);
+            this.numberOfCoveredTargets.incrementAndGet();
+            this.removeNonCoveredTargetOfAMethod(slot.target);
+        }
+        this.version.incrementAndGet();
         this.hasBeenUpdated = true;
 
         ExecutionResult result = solution.getLastExecutionResult();
         if (result != null && (result.hasTimeout() || result.hasTestException())) {
             AtMostOnceLogger.warn(logger,
                     "A solution with a timeout/exception result has been added to the archive. The covered goal was "
-                            + target.toString());
+                            + slot.target.toString());
         }
     }
 
@@ -127,7 +192,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public boolean isArchiveEmpty() {
-        return this.covered.isEmpty();
+        return this.numberOfCoveredTargets.get() == 0;
     }
 
     /**
@@ -135,7 +200,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfTargets() {
-        return this.covered.keySet().size() + this.uncovered.size();
+        return this.slots.size();
     }
 
     /**
@@ -143,7 +208,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfCoveredTargets() {
-        return this.covered.size();
+        return this.numberOfCoveredTargets.get();
     }
 
     /**
@@ -151,7 +216,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfCoveredTargets(Class<?> targetClass) {
-        return (int) this.covered.keySet().stream().filter(target -> target.getClass() == targetClass)
+        return (int) this.getCoveredTargets().stream().filter(target -> target.getClass() == targetClass)
                 .count();
     }
 
@@ -160,7 +225,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getCoveredTargets() {
-        return this.covered.keySet();
+        return new TargetView(this.coveredSlots, true);
     }
 
     /**
@@ -168,7 +233,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets() {
-        return this.uncovered.size();
+        return this.slots.size() - this.numberOfCoveredTargets.get();
     }
 
     /**
@@ -176,7 +241,8 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets(Class<?> targetClass) {
-        return (int) this.uncovered.stream().filter(target -> target.getClass() == targetClass).count();
+        return (int) this.getUncoveredTargets().stream().filter(target -> target.getClass() == targetClass)
+                .count();
     }
 
     /**
@@ -184,14 +250,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getUncoveredTargets() {
-        return this.uncovered;
-    }
-
-    private Set<TestFitnessFunction> getTargets() {
-        Set<TestFitnessFunction> targets = new LinkedHashSet<>();
-        targets.addAll(this.getCoveredTargets());
-        targets.addAll(this.getUncoveredTargets());
-        return targets;
+        return new TargetView(this.uncoveredSlots, false);
     }
 
     /**
@@ -200,7 +259,7 @@ public class CoverageArchive extends Archive {
     @Override
     public boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
-        return this.covered.containsKey(target) || this.uncovered.contains(target);
+        return this.slots.containsKey(target);
     }
 
     /**
@@ -208,7 +267,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfSolutions() {
-        return this.covered.size();
+        return this.numberOfCoveredTargets.get();
     }
 
     /**
@@ -216,7 +275,23 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestChromosome> getSolutions() {
-        return new LinkedHashSet<>(this.covered.values());
+        return Collections.unmodifiableSet(this.getSolutionsSnapshot());
+    }
+
+    private IndexedSet<TestChromosome> getSolutionsSnapshot() {
+        SolutionsSnapshot snapshot = this.solutions;
+        int currentVersion = this.version.get();
+        if (snapshot == null || snapshot.version != currentVersion) {
+            // if the archive changes while the snapshot is built, the snapshot is rebuilt by the
+            // next call, as it keeps the version it was started at
+            IndexedSet<TestChromosome> set = new IndexedSet<>();
+            for (Slot slot : this.coveredSlots) {
+                set.add(slot.solution);
+            }
+            snapshot = new SolutionsSnapshot(currentVersion, set);
+            this.solutions = snapshot;
+        }
+        return snapshot.solutions;
     }
 
     /**
@@ -233,8 +308,9 @@ public class CoverageArchive extends Archive {
     @Override
     public TestChromosome getSolution(TestFitnessFunction target) {
         assert target != null;
-        assert this.covered.containsKey(target);
-        return this.covered.get(target);
+        assert this.hasSolution(target);
+        Slot slot = this.slots.get(target);
+        return slot == null ? null : slot.solution;
     }
 
     /**
@@ -243,7 +319,8 @@ public class CoverageArchive extends Archive {
     @Override
     public boolean hasSolution(TestFitnessFunction target) {
         assert target != null;
-        return this.covered.containsKey(target);
+        Slot slot = this.slots.get(target);
+        return slot != null && slot.solution != null;
     }
 
     /**
@@ -251,10 +328,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public TestChromosome getRandomSolution() {
-        // TODO this gives higher probability to tests that cover more targets. Maybe it is not the best
-        // way, but likely the quickest to compute. A proper way to do it would be to first call
-        // 'getSolutions' and only then select one at random.
-        TestChromosome randomChoice = Randomness.choice(this.getSolutions());
+        TestChromosome randomChoice = Randomness.choice(this.getSolutionsSnapshot());
         if (randomChoice == null) {
             return null;
         }
@@ -283,7 +357,7 @@ public class CoverageArchive extends Archive {
         // to avoid adding the same solution to 'mergedSolution' suite
         Set<TestChromosome> solutionsSampledFromArchive = new LinkedHashSet<>();
 
-        for (TestFitnessFunction target : this.getTargets()) {
+        for (TestFitnessFunction target : this.getCoveredTargets()) {
             // has target been covered? to answer it, we perform a local check rather than calling method
             // {@link TestFitnessFunction.isCoveredBy} as it may perform a fitness evaluation to access
             // whether that 'target' is covered or not (and therefore, it could be more expensive)
@@ -296,7 +370,7 @@ public class CoverageArchive extends Archive {
             }
 
             if (!isGoalCovered) {
-                TestChromosome chromosome = this.covered.get(target);
+                TestChromosome chromosome = this.getSolution(target);
 
                 // is there any solution in the archive that covers it, and has that solution not been
                 // considered yet?
@@ -341,7 +415,98 @@ public class CoverageArchive extends Archive {
     @Override
     public void reset() {
         super.reset();
-        this.covered.clear();
-        this.uncovered.clear();
+        this.slots.clear();
+        this.coveredSlots.clear();
+        this.uncoveredSlots.clear();
+        this.numberOfCoveredTargets.set(0);
+        this.slotCounter.set(0);
+        this.version.incrementAndGet();
+        this.solutions = null;
+    }
+
+    /**
+     * Solutions of the covered targets as of a given version of the archive
+     */
+    private static final class SolutionsSnapshot {
+
+        private final int version;
+
+        private final IndexedSet<TestChromosome> solutions;
+
+        private SolutionsSnapshot(int version, IndexedSet<TestChromosome> solutions) {
+            this.version = version;
+            this.solutions = solutions;
+        }
+    }
+
+    /**
+     * Holds the best solution found so far for a target. Slots are ordered by the time their
+     * targets were added to the archive.
+     */
+    private static final class Slot implements Comparable<Slot>, Serializable {
+
+        private static final long serialVersionUID = 5213742480963021645L;
+
+        private final int id;
+
+        private final TestFitnessFunction target;
+
+        private volatile TestChromosome solution = null;
+
+        private Slot(int id, TestFitnessFunction target) {
+            this.id = id;
+            this.target = target;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            return Integer.compare(this.id, other.id);
+        }
+    }
+
+    /**
+     * Read-only view of the covered, or uncovered, targets of the archive
+     */
+    private final class TargetView extends AbstractSet<TestFitnessFunction> {
+
+        private final Collection<Slot> view;
+
+        private final boolean covered;
+
+        private TargetView(Collection<Slot> view, boolean covered) {
+            this.view = view;
+            this.covered = covered;
+        }
+
+        @Override
+        public Iterator<TestFitnessFunction> iterator() {
+            Iterator<Slot> iterator = this.view.iterator();
+            return new Iterator<TestFitnessFunction>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public TestFitnessFunction next() {
+                    return iterator.next().target;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Slot slot = slots.get(o);
+            return slot != null && (slot.solution != null) == this.covered;
+        }
+
+        /**
+         * Counts the slots the iterator goes through, rather than using the counters of the
+         * archive, which are not updated atomically with the slots
+         */
+        @Override
+        public int size() {
+            return this.view.size();
+        }
     }
 }
@@ -32,6 +32,8 @@ import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestExecutionPipeline;
 import org.evosuite.testcase.secondaryobjectives.TestCaseSecondaryObjective;
 import org.evosuite.testcase.statements.*;
 import org.evosuite.testcase.variable.VariableReference;
@@ -45,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.Future;
 
 /**
  * Abstract class for MOSA or variants of MOSA.
@@ -73,6 +76,12 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected final BudgetConsumptionMonitor budgetMonitor;
 
+    /**
+     * Executes the tests of a generation ahead of their fitness computation, if
+     * {@link Properties#PIPELINED_EVALUATION} is set
+     */
+    private transient TestExecutionPipeline executionPipeline = null;
+
     /**
      * Constructor.
      *
@@ -138,6 +147,8 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected List<TestChromosome> breedNextGeneration() {
         List<TestChromosome> offspringPopulation = new ArrayList<>(Properties.POPULATION);
+        // with pipelined evaluation, the fitness of the offspring is computed at the end, as a batch
+        List<TestChromosome> toEvaluate = new ArrayList<>(Properties.POPULATION);
         // we apply only Properties.POPULATION/2 iterations since in each generation
         // we generate two offsprings
         for (int i = 0; i < Properties.POPULATION / 2 && !this.isFinished(); i++) {
@@ -171,7 +182,7 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring1.isChanged()) {
                 this.clearCachedResults(offspring1);
                 offspring1.updateAge(this.currentIteration);
-                this.calculateFitness(offspring1);
+                this.evaluateOrDefer(offspring1, toEvaluate);
                 offspringPopulation.add(offspring1);
             }
 
@@ -180,7 +191,7 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             if (offspring2.isChanged()) {
                 this.clearCachedResults(offspring2);
                 offspring2.updateAge(this.currentIteration);
-                this.calculateFitness(offspring2);
+                this.evaluateOrDefer(offspring2, toEvaluate);
                 offspringPopulation.add(offspring2);
             }
         }
@@ -197,14 +208,84 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
             }
             if (tch.isChanged()) {
                 tch.updateAge(this.currentIteration);
-                this.calculateFitness(tch);
+                this.evaluateOrDefer(tch, toEvaluate);
                 offspringPopulation.add(tch);
             }
         }
+        this.calculateFitness(toEvaluate, offspringPopulation);
         logger.info("Number of offsprings = {}", offspringPopulation.size());
         return offspringPopulation;
     }
 
+    /**
+     * Computes the fitness of the given offspring right away, or adds it to the given batch if
+     * pipelined evaluation is enabled.
+     *
+     * @param offspring the offspring to evaluate
+     * @param batch     the individuals whose evaluation is deferred
+     */
+    private void evaluateOrDefer(TestChromosome offspring, List<TestChromosome> batch) {
+        if (Properties.PIPELINED_EVALUATION) {
+            batch.add(offspring);
+        } else {
+            this.calculateFitness(offspring);
+        }
+    }
+
+    /**
+     * Computes the fitness of the given individuals in order. The tests are executed by the
+     * {@link TestExecutionPipeline} while the fitness of the preceding individuals is computed,
+     * thus the fitness values are the same as when evaluating the individuals one by one.
+     *
+     * <p>
+     * If the search budget is used up before the whole batch is evaluated, the remaining
+     * individuals are removed from the given population. Otherwise their fitness would be
+     * computed later on when they are ranked, after the budget is over and without updating
+     * the archive.
+     *
+     * @param batch      the individuals to evaluate
+     * @param population the population the individuals of the batch belong to
+     */
+    protected void calculateFitness(List<TestChromosome> batch, List<TestChromosome> population) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (this.executionPipeline == null) {
+            this.executionPipeline = new TestExecutionPipeline();
+        }
+        final List<Future<ExecutionResult>> executions = this.executionPipeline.submit(batch);
+        int evaluated = 0;
+        try {
+            while (evaluated < batch.size() && !this.isFinished()) {
+                this.executionPipeline.await(executions.get(evaluated));
+                this.calculateFitness(batch.get(evaluated));
+                evaluated++;
+            }
+        } finally {
+            this.executionPipeline.cancel(executions);
+        }
+        if (evaluated < batch.size()) {
+            logger.debug("Search budget is over, discarding {} individuals that were not evaluated",
+                    batch.size() - evaluated);
+            final Set<TestChromosome> notEvaluated = Collections.newSetFromMap(new IdentityHashMap<>());
+            notEvaluated.addAll(batch.subList(evaluated, batch.size()));
+            population.removeIf(notEvaluated::contains);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void calculateFitness() {
+        if (Properties.PIPELINED_EVALUATION) {
+            logger.debug("Calculating fitness for " + population.size() + " individuals");
+            this.calculateFitness(new ArrayList<>(this.population), this.population);
+        } else {
+            super.calculateFitness();
+        }
+    }
+
     /**
      * Method used to mutate an offspring.
      *
@@ -304,6 +385,11 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
         final int sizeAfter = chromosome.size();
         if (hasDeleted) {
             logger.debug("Removed {} unused statements", (sizeBefore - sizeAfter));
+            if (chromosome.isChanged()) {
+                // positions have shifted, so an execution result inherited through crossover
+                // no longer matches the test
+                chromosome.setChanged(true);
+            }
         }
         return hasDeleted;
     }
@@ -479,6 +565,10 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
     @Override
     protected void notifySearchFinished() {
         super.notifySearchFinished();
+        if (this.executionPipeline != null) {
+            this.executionPipeline.shutdown();
+            this.executionPipeline = null;
+        }
     }
 
     /**
@@ -81,11 +81,17 @@ public class BranchesManager extends StructuralGoalManager {
     }
 
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
-        // run the test
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        // run the test, unless it was already executed (e.g. by the execution pipeline)
+        ExecutionResult result = c.getLastExecutionResult();
+        if (result == null || c.isChanged()) {
+            result = c.getReusableExecutionResult();
+            if (result == null) {
+                TestCase test = c.getTestCase();
+                result = TestCaseExecutor.runTest(test);
+            }
+            c.setLastExecutionResult(result);
+            c.setChanged(false);
+        }
 
         if (result.hasTimeout() || result.hasTestException()) {
             currentGoals.forEach(f -> c.setFitness(f, Double.MAX_VALUE));
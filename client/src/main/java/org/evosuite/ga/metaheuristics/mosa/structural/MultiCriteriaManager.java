@@ -381,11 +381,18 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
      */
     @Override
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
-        // Run the test and record the execution result.
-        TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
-        c.setLastExecutionResult(result);
-        c.setChanged(false);
+        // Run the test and record the execution result, unless the test was already executed
+        // (e.g. by the execution pipeline).
+        ExecutionResult result = c.getLastExecutionResult();
+        if (result == null || c.isChanged()) {
+            result = c.getReusableExecutionResult();
+            if (result == null) {
+                TestCase test = c.getTestCase();
+                result = TestCaseExecutor.runTest(test);
+            }
+            c.setLastExecutionResult(result);
+            c.setChanged(false);
+        }
 
         // If the test failed to execute properly, or if the test does not cover anything,
         // it means none of the current gaols could be reached.
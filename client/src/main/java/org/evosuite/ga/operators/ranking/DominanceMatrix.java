@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Dominance relation between the solutions of a population, with the same
+ * semantics as {@link org.evosuite.ga.comparators.DominanceComparator}.
+ * <p>
+ * The fitness values of the solutions are read once into a matrix. Then, for
+ * each solution p, the set of solutions that p is not worse than on any
+ * objective is computed as a bitset: for each objective, the solutions are
+ * sorted by their value, and the bitset of p is intersected with the set of
+ * solutions whose value is greater than or equal to the value of p. This takes
+ * a word operation per 64 solutions instead of a comparison per pair of
+ * solutions and objective. Objectives on which all the solutions have the same
+ * value are skipped.
+ */
+final class DominanceMatrix {
+
+    private final int size;
+
+    /**
+     * notWorse[p] has bit q set if p is better than or equal to q on all objectives
+     */
+    private final long[][] notWorse;
+
+    /**
+     * @param solutions  the population, solutions are referred to by their index in this list
+     * @param objectives the goals to consider when computing the dominance relationship
+     * @param parallel   if true, the objectives are split among several threads
+     */
+    <T extends Chromosome<T>> DominanceMatrix(List<T> solutions, Collection<? extends FitnessFunction<T>> objectives,
+                                              boolean parallel) {
+        this.size = solutions.size();
+
+        List<long[]> keys = new ArrayList<>(objectives.size());
+        for (FitnessFunction<T> ff : objectives) {
+            long[] objectiveKeys = new long[size];
+            boolean constant = true;
+            for (int i = 0; i < size; i++) {
+                objectiveKeys[i] = toSortableKey(solutions.get(i).getFitness(ff));
+                constant &= objectiveKeys[i] == objectiveKeys[0];
+            }
+            if (!constant)
+                keys.add(objectiveKeys);
+        }
+
+        int chunks = parallel ? Math.min(keys.size(), Runtime.getRuntime().availableProcessors()) : 1;
+        if (chunks <= 1) {
+            this.notWorse = computeNotWorse(keys);
+        } else {
+            List<long[][]> partialResults = IntStream.range(0, chunks).parallel()
+                    .mapToObj(c -> computeNotWorse(keys.subList(c * keys.size() / chunks, (c + 1) * keys.size() / chunks)))
+                    .collect(Collectors.toList());
+            this.notWorse = partialResults.get(0);
+            for (int c = 1; c < chunks; c++) {
+                long[][] partialResult = partialResults.get(c);
+                for (int p = 0; p < size; p++) {
+                    for (int w = 0; w < notWorse[p].length; w++)
+                        notWorse[p][w] &= partialResult[p][w];
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a double to a long such that the order of the longs is the order
+     * of {@link Double#compare(double, double)}
+     */
+    private static long toSortableKey(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private long[][] computeNotWorse(List<long[]> keys) {
+        int words = (size + 63) >>> 6;
+        long[][] result = new long[size][words];
+        for (long[] row : result) {
+            Arrays.fill(row, -1L);
+            if ((size & 63) != 0)
+                row[words - 1] = (1L << size) - 1;
+        }
+
+        Integer[] order = new Integer[size];
+        long[] notBetter = new long[words];
+        for (long[] objectiveKeys : keys) {
+            for (int i = 0; i < size; i++)
+                order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(objectiveKeys[a], objectiveKeys[b]));
+
+            // from the worst value to the best one, notBetter holds the
+            // solutions with a value greater than or equal to the current one
+            Arrays.fill(notBetter, 0L);
+            int end = size;
+            while (end > 0) {
+                int start = end - 1;
+                while (start > 0 && objectiveKeys[order[start - 1]] == objectiveKeys[order[end - 1]])
+                    start--;
+                for (int k = start; k < end; k++)
+                    notBetter[order[k] >>> 6] |= 1L << order[k];
+                for (int k = start; k < end; k++) {
+                    long[] row = result[order[k]];
+                    for (int w = 0; w < words; w++)
+                        row[w] &= notBetter[w];
+                }
+                end = start;
+            }
+        }
+        return result;
+    }
+
+    private boolean isNotWorse(int p, int q) {
+        return (notWorse[p][q >>> 6] & (1L << q)) != 0;
+    }
+
+    /**
+     * @return true if the solution at index p dominates the one at index q
+     */
+    boolean dominates(int p, int q) {
+        return isNotWorse(p, q) && !isNotWorse(q, p);
+    }
+
+    /**
+     * Compares two solutions in terms of dominance.
+     *
+     * @return -1 if p dominates q, +1 if q dominates p, 0 if both are non-dominated
+     */
+    int compare(int p, int q) {
+        boolean pNotWorse = isNotWorse(p, q);
+        boolean qNotWorse = isNotWorse(q, p);
+        if (pNotWorse == qNotWorse)
+            return 0;
+        return pNotWorse ? -1 : 1;
+    }
+
+    int size() {
+        return size;
+    }
+}
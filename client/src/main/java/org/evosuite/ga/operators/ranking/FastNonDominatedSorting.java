@@ -35,9 +35,9 @@
  */
 package org.evosuite.ga.operators.ranking;
 
+import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 
 import java.util.*;
 
@@ -82,23 +82,14 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
     @SuppressWarnings("unchecked")
     private List<T>[] getNextNonDominatedFronts(List<T> solutionSet,
                                                 Set<? extends FitnessFunction<T>> uncovered_goals) {
-        DominanceComparator<T> criterion_ = new DominanceComparator<>(uncovered_goals);
+        DominanceMatrix criterion_ = new DominanceMatrix(solutionSet, uncovered_goals, Properties.PARALLEL_RANKING);
+        int size = solutionSet.size();
 
         // dominateMe[i] contains the number of solutions dominating i
-        int[] dominateMe = new int[solutionSet.size()];
+        int[] dominateMe = new int[size];
 
-        // iDominate[k] contains the list of solutions dominated by k
-        List<Integer>[] iDominate = new List[solutionSet.size()];
-
-        // front[i] contains the list of individuals belonging to the front i
-        List<Integer>[] front = new List[solutionSet.size() + 1];
-
-        // flagDominate is an auxiliary encodings.variable
-        int flagDominate;
-
-        // Initialize the fronts
-        for (int i = 0; i < front.length; i++)
-            front[i] = new LinkedList<>();
+        // iDominate[k] contains the solutions dominated by k, in ascending order
+        int[][] iDominate = new int[size][];
 
         // Initialize distance
         for (T solution : solutionSet) {
@@ -106,61 +97,58 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
         }
 
         // -> Fast non dominated sorting algorithm
-        for (int p = 0; p < solutionSet.size(); p++) {
-            // Initialize the list of individuals that i dominate and the number
-            // of individuals that dominate me
-            iDominate[p] = new LinkedList<>();
-            dominateMe[p] = 0;
-        }
-
-        for (int p = 0; p < (solutionSet.size() - 1); p++) {
-            // For all q individuals , calculate if p dominates q or vice versa
-            for (int q = p + 1; q < solutionSet.size(); q++) {
-                flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
-
-                if (flagDominate == -1) {
-                    iDominate[p].add(q);
+        int[] dominated = new int[size];
+        for (int p = 0; p < size; p++) {
+            // For all q individuals, calculate if p dominates q
+            int count = 0;
+            for (int q = 0; q < size; q++) {
+                if (criterion_.dominates(p, q)) {
+                    dominated[count++] = q;
                     dominateMe[q]++;
-                } else if (flagDominate == 1) {
-                    iDominate[q].add(p);
-                    dominateMe[p]++;
                 }
             }
-            // If nobody dominates p, p belongs to the first front
+            iDominate[p] = Arrays.copyOf(dominated, count);
         }
-        for (int p = 0; p < solutionSet.size(); p++) {
+
+        // front[0..frontEnds[0]) is the first front, front[frontEnds[i-1]..frontEnds[i]) the i-th one
+        int[] front = new int[size];
+        int frontSize = 0;
+
+        // If nobody dominates p, p belongs to the first front
+        for (int p = 0; p < size; p++) {
             if (dominateMe[p] == 0) {
-                front[0].add(p);
+                front[frontSize++] = p;
                 solutionSet.get(p).setRank(1);
             }
         }
 
         // Obtain the rest of fronts
-        int i = 0;
-        Iterator<Integer> it1, it2; // Iterators
-        while (front[i].size() != 0) {
-            i++;
-            it1 = front[i - 1].iterator();
-            while (it1.hasNext()) {
-                it2 = iDominate[it1.next()].iterator();
-                while (it2.hasNext()) {
-                    int index = it2.next();
+        List<Integer> frontEnds = new ArrayList<>();
+        int frontStart = 0;
+        while (frontSize > frontStart) {
+            int frontEnd = frontSize;
+            frontEnds.add(frontEnd);
+            for (int k = frontStart; k < frontEnd; k++) {
+                for (int index : iDominate[front[k]]) {
                     dominateMe[index]--;
                     if (dominateMe[index] == 0) {
-                        front[i].add(index);
-                        solutionSet.get(index).setRank(i + 1);
+                        front[frontSize++] = index;
+                        solutionSet.get(index).setRank(frontEnds.size() + 1);
                     }
                 }
             }
+            frontStart = frontEnd;
         }
-        List<T>[] fronts = new ArrayList[i];
-        // 0,1,2,....,i-1 are front, then i fronts
-        for (int j = 0; j < i; j++) {
-            fronts[j] = new ArrayList<>();
-            it1 = front[j].iterator();
-            while (it1.hasNext()) {
-                fronts[j].add(solutionSet.get(it1.next()));
+
+        List<T>[] fronts = new ArrayList[frontEnds.size()];
+        frontStart = 0;
+        for (int j = 0; j < fronts.length; j++) {
+            int frontEnd = frontEnds.get(j);
+            fronts[j] = new ArrayList<>(frontEnd - frontStart);
+            for (int k = frontStart; k < frontEnd; k++) {
+                fronts[j].add(solutionSet.get(front[k]));
             }
+            frontStart = frontEnd;
         }
         return fronts;
     } // Ranking
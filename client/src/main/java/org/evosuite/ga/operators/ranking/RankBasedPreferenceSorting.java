@@ -38,15 +38,16 @@ package org.evosuite.ga.operators.ranking;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.comparators.PreferenceSortingComparator;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -87,13 +88,18 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 
         if (zero_front.size() < Properties.POPULATION) {
             int rankedSolutions = zero_front.size();
-            DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
 
             List<T> remaining = new ArrayList<>(solutions.size());
             remaining.addAll(solutions);
             remaining.removeAll(zero_front);
+
+            DominanceMatrix comparator = new DominanceMatrix(remaining, uncovered_goals, Properties.PARALLEL_RANKING);
+            Map<T, Integer> indexes = new IdentityHashMap<>(remaining.size());
+            for (int i = 0; i < remaining.size(); i++)
+                indexes.put(remaining.get(i), i);
+
             while (rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-                List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+                List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, indexes, frontIndex);
                 this.fronts.add(new_front);
                 remaining.removeAll(new_front);
                 rankedSolutions += new_front.size();
@@ -140,13 +146,15 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
         return new ArrayList<>(zero_front);
     }
 
-    private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
+    private List<T> getNonDominatedSolutions(List<T> solutions, DominanceMatrix comparator, Map<T, Integer> indexes,
+                                             int frontIndex) {
         List<T> front = new ArrayList<>(solutions.size());
         for (T p : solutions) {
             boolean isDominated = false;
+            int pIndex = indexes.get(p);
             List<T> dominatedSolutions = new ArrayList<>(solutions.size());
             for (T best : front) {
-                int flag = comparator.compare(p, best);
+                int flag = comparator.compare(pIndex, indexes.get(best));
                 if (flag < 0) {
                     dominatedSolutions.add(best);
                 }
@@ -22,6 +22,7 @@ package org.evosuite.instrumentation;
 import org.evosuite.PackageInfo;
 import org.evosuite.Properties;
 import org.evosuite.assertion.CheapPurityAnalyzer;
+import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.graphs.cfg.CFGClassAdapter;
 import org.evosuite.instrumentation.error.ErrorConditionClassAdapter;
@@ -134,6 +135,90 @@ public class BytecodeInstrumentation {
         return TestCluster.isTargetClassName(className);
     }
 
+    /**
+     * Transform the given bytecode, reusing the result of an earlier transformation
+     * from the {@link InstrumentationCache} if the class is not analyzed
+     *
+     * @param className  a {@link java.lang.String} object.
+     * @param classBytes the original bytecode of the class
+     * @return an array of byte.
+     */
+    public byte[] transformBytes(ClassLoader classLoader, String className, byte[] classBytes) {
+        ClassReader reader = new ClassReader(classBytes);
+        if (!InstrumentationCache.isEnabled() || !isCacheable(className)) {
+            return transformBytes(classLoader, className, reader);
+        }
+
+        String key = InstrumentationCache.getKey(getCacheConfiguration(), className, classBytes);
+        byte[] instrumented = InstrumentationCache.get(key);
+        if (instrumented != null) {
+            logger.debug("Reusing instrumented bytecode of " + className);
+            /*
+             * The instrumentation also collects data in this process (eg constants
+             * for the value pool, final classes, purity information), hence the
+             * visitors still need to see the class. Only writing the class (which
+             * includes the costly computation of the stack map frames) is skipped
+             */
+            TransformationStatistics.reset();
+            reader.accept(addClassAdapters(classLoader, className, new EmptyVisitor()), getReadFlags());
+            return instrumented;
+        }
+
+        instrumented = transformBytes(classLoader, className, reader);
+        InstrumentationCache.put(key, instrumented);
+        return instrumented;
+    }
+
+    /**
+     * Only classes that are neither analyzed nor subject to testability transformations
+     * are cached, as their instrumentation does not depend on the class under test
+     */
+    private boolean isCacheable(String className) {
+        String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+        String packageName = classNameWithDots.contains(".")
+                ? classNameWithDots.substring(0, classNameWithDots.lastIndexOf('.')) : "";
+
+        return checkIfCanInstrument(classNameWithDots)
+                && !logger.isDebugEnabled()
+                && !DependencyAnalysis.shouldAnalyze(classNameWithDots)
+                && !classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
+                && (Properties.TARGET_CLASS_PREFIX.isEmpty() || !classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
+                && !(Properties.TT && classNameWithDots.startsWith(Properties.CLASS_PREFIX))
+                && !shouldTransform(classNameWithDots)
+                && !packageName.equals(Properties.CLASS_PREFIX);
+    }
+
+    /**
+     * @return all settings the instrumentation of a class that is not analyzed depends on
+     */
+    private static String getCacheConfiguration() {
+        return Properties.INSTRUMENTATION_SKIP_DEBUG
+                + "," + Properties.RESET_STATIC_FIELDS
+                + "," + Properties.RESET_STATIC_FINAL_FIELDS
+                + "," + Properties.PURE_INSPECTORS
+                + "," + Properties.MAX_LOOP_ITERATIONS
+                + "," + Properties.MAKE_ACCESSIBLE
+                + "," + TestSuiteWriterUtils.needToUseAgent()
+                + "," + RuntimeSettings.applyUIDTransformation
+                + "," + RuntimeSettings.mockJVMNonDeterminism
+                + "," + RuntimeSettings.mockGUI
+                + "," + RuntimeSettings.useVFS
+                + "," + RuntimeSettings.useVNET
+                + "," + RuntimeSettings.resetStaticState
+                + "," + RuntimeSettings.maxNumberOfIterationsPerLoop
+                + "," + InstrumentationCache.describeClassPath(
+                ClassPathHandler.getInstance().getTargetProjectClasspath());
+    }
+
+    private static int getReadFlags() {
+        int readFlags = ClassReader.SKIP_FRAMES;
+
+        if (Properties.INSTRUMENTATION_SKIP_DEBUG)
+            readFlags |= ClassReader.SKIP_DEBUG;
+
+        return readFlags;
+    }
+
     /**
      * <p>
      * transformBytes
@@ -145,10 +230,7 @@ public class BytecodeInstrumentation {
      */
     public byte[] transformBytes(ClassLoader classLoader, String className, ClassReader reader) {
 
-        int readFlags = ClassReader.SKIP_FRAMES;
-
-        if (Properties.INSTRUMENTATION_SKIP_DEBUG)
-            readFlags |= ClassReader.SKIP_DEBUG;
+        int readFlags = getReadFlags();
 
         String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
 
@@ -172,6 +254,63 @@ public class BytecodeInstrumentation {
             cv = new TraceClassVisitor(cv, new PrintWriter(System.err));
         }
 
+        cv = addClassAdapters(classLoader, className, cv);
+
+        // Testability Transformations
+        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
+                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
+                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
+                || shouldTransform(classNameWithDots)) {
+
+            ClassNode cn = new AnnotatedClassNode();
+            reader.accept(cn, readFlags);
+            logger.info("Starting transformation of " + className);
+
+            if (Properties.STRING_REPLACEMENT) {
+                StringTransformation st = new StringTransformation(cn);
+                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
+                    cn = st.transform();
+            }
+
+            ComparisonTransformation cmp = new ComparisonTransformation(cn);
+            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
+                cn = cmp.transform();
+                ContainerTransformation ct = new ContainerTransformation(cn);
+                cn = ct.transform();
+            }
+
+            if (shouldTransform(classNameWithDots)) {
+                logger.info("Testability Transforming " + className);
+
+                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
+                try {
+                    cn = tt.transform();
+                } catch (Throwable t) {
+                    throw new Error(t);
+                }
+                logger.info("Testability Transformation done: " + className);
+            }
+
+            // -----
+            cn.accept(cv);
+
+            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
+                return handleCarving(className, writer);
+            }
+
+        } else {
+            reader.accept(cv, readFlags);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Add the visitors that instrument the given class in front of the given one
+     */
+    private ClassVisitor addClassAdapters(ClassLoader classLoader, String className, ClassVisitor cv) {
+        String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+
         if (Properties.RESET_STATIC_FIELDS) {
             cv = new StaticAccessClassAdapter(cv, className);
         }
@@ -243,53 +382,7 @@ public class BytecodeInstrumentation {
                 cv = new SerialVersionUIDAdder(cv);
         }
 
-        // Testability Transformations
-        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
-                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
-                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
-                || shouldTransform(classNameWithDots)) {
-
-            ClassNode cn = new AnnotatedClassNode();
-            reader.accept(cn, readFlags);
-            logger.info("Starting transformation of " + className);
-
-            if (Properties.STRING_REPLACEMENT) {
-                StringTransformation st = new StringTransformation(cn);
-                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
-                    cn = st.transform();
-            }
-
-            ComparisonTransformation cmp = new ComparisonTransformation(cn);
-            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
-                cn = cmp.transform();
-                ContainerTransformation ct = new ContainerTransformation(cn);
-                cn = ct.transform();
-            }
-
-            if (shouldTransform(classNameWithDots)) {
-                logger.info("Testability Transforming " + className);
-
-                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
-                try {
-                    cn = tt.transform();
-                } catch (Throwable t) {
-                    throw new Error(t);
-                }
-                logger.info("Testability Transformation done: " + className);
-            }
-
-            // -----
-            cn.accept(cv);
-
-            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
-                return handleCarving(className, writer);
-            }
-
-        } else {
-            reader.accept(cv, readFlags);
-        }
-
-        return writer.toByteArray();
+        return cv;
     }
 
     private byte[] handleCarving(String className, ClassWriter writer) {
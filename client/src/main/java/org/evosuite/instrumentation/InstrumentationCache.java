@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumented bytecode persisted in {@link Properties#INSTRUMENTATION_CACHE_DIR},
+ * so that class loaders created later (eg for assertion generation) and later
+ * processes (eg the other CTG jobs of a project) do not need to instrument the
+ * same classes again.
+ * <p>
+ * Entries are addressed by a hash of the original bytecode, of the class name,
+ * of the instrumentation configuration and of the EvoSuite build, so they never
+ * need to be invalidated.
+ */
+final class InstrumentationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentationCache.class);
+
+    private static final String CACHE_FILE_SUFFIX = ".class";
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    /**
+     * Instrumented bytecode already used in this process.
+     * Key -> the cache key of the class
+     */
+    private static final Map<String, byte[]> loadedClasses = new ConcurrentHashMap<>();
+
+    private static volatile String buildIdentity;
+
+    private static volatile ClassPathDescription classPathDescription;
+
+    private InstrumentationCache() {
+    }
+
+    private static final class ClassPathDescription {
+
+        private final String classPath;
+
+        private final String description;
+
+        private ClassPathDescription(String classPath, String description) {
+            this.classPath = classPath;
+            this.description = description;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Properties.INSTRUMENTATION_CACHE_DIR != null;
+    }
+
+    /**
+     * @param configuration all settings that have an influence on the instrumentation of the class
+     * @param className     the name of the class, eg org/some/Foo
+     * @param classBytes    the original bytecode of the class
+     * @return the key under which the instrumented bytecode of the class is stored
+     */
+    public static String getKey(String configuration, String className, byte[] classBytes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(getBuildIdentity().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(className.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(classBytes);
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16));
+            key.append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key as returned by {@link #getKey(String, String, byte[])}
+     * @return the instrumented bytecode, or {@code null} if it is not cached
+     */
+    public static byte[] get(String key) {
+        byte[] instrumented = loadedClasses.get(key);
+        if (instrumented != null) {
+            return instrumented;
+        }
+
+        File cacheFile = getCacheFile(key);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try {
+            instrumented = Files.readAllBytes(cacheFile.toPath());
+        } catch (IOException e) {
+            logger.warn("Cannot read instrumented class {}: {}", cacheFile, e.toString());
+            return null;
+        }
+        if (instrumented.length < 4 || readInt(instrumented) != CLASS_FILE_MAGIC) {
+            logger.warn("Ignoring invalid instrumented class {}", cacheFile);
+            return null;
+        }
+        loadedClasses.put(key, instrumented);
+        return instrumented;
+    }
+
+    /**
+     * @param key          as returned by {@link #getKey(String, String, byte[])}
+     * @param instrumented the instrumented bytecode to store
+     */
+    public static void put(String key, byte[] instrumented) {
+        loadedClasses.put(key, instrumented);
+
+        File cacheFile = getCacheFile(key);
+        File cacheDir = cacheFile.getParentFile();
+        try {
+            if (!cacheDir.exists() && !cacheDir.mkdirs() && !cacheDir.exists()) {
+                throw new IOException("Cannot create " + cacheDir);
+            }
+
+            // written to a temporary file first, as other processes might be reading it
+            File tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+            try {
+                try (OutputStream out = new FileOutputStream(tmpFile)) {
+                    out.write(instrumented);
+                }
+                try {
+                    Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmpFile.toPath());
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot write instrumented class {}: {}", cacheFile, e.toString());
+        }
+    }
+
+    /**
+     * The instrumentation of a class depends on the classpath, as the computation
+     * of its stack map frames needs the common super classes of its types
+     *
+     * @param classPath the classpath of the target project
+     * @return a description of the elements of the classpath and of their versions
+     */
+    public static String describeClassPath(String classPath) {
+        ClassPathDescription cached = classPathDescription;
+        if (cached != null && cached.classPath.equals(classPath)) {
+            return cached.description;
+        }
+
+        StringBuilder description = new StringBuilder();
+        for (String element : classPath.split(File.pathSeparator)) {
+            File file = new File(element);
+            description.append(file.getAbsolutePath()).append(':')
+                    .append(file.length()).append(':')
+                    .append(file.lastModified()).append(File.pathSeparatorChar);
+        }
+        classPathDescription = new ClassPathDescription(classPath, description.toString());
+        return classPathDescription.description;
+    }
+
+    /**
+     * Forget the classes used in this process. Stored classes are kept.
+     */
+    public static void reset() {
+        loadedClasses.clear();
+    }
+
+    private static File getCacheFile(String key) {
+        // classes are spread over subdirectories, to avoid too many files in a single one
+        File subDir = new File(Properties.INSTRUMENTATION_CACHE_DIR, key.substring(0, 2));
+        return new File(subDir, key + CACHE_FILE_SUFFIX);
+    }
+
+    private static int readInt(byte[] bytes) {
+        return ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+    }
+
+    /**
+     * Instrumented classes must not be reused by a different version of EvoSuite
+     */
+    private static String getBuildIdentity() {
+        if (buildIdentity == null) {
+            String identity = "";
+            try {
+                CodeSource source = InstrumentationCache.class.getProtectionDomain().getCodeSource();
+                if (source != null && source.getLocation() != null) {
+                    File location = new File(source.getLocation().toURI());
+                    if (location.isDirectory()) {
+                        location = new File(location, InstrumentationCache.class.getName().replace('.', '/') + ".class");
+                    }
+                    identity = location.getAbsolutePath() + ":" + location.length() + ":" + location.lastModified();
+                }
+            } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+                logger.warn("Cannot determine location of EvoSuite: {}", e.toString());
+            }
+            buildIdentity = identity;
+        }
+        return buildIdentity;
+    }
+}
@@ -19,14 +19,15 @@
  */
 package org.evosuite.instrumentation;
 
+import org.apache.commons.io.IOUtils;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.runtime.instrumentation.RuntimeInstrumentation;
-import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -102,6 +103,35 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    /**
+     * Define a class whose bytecode is already in memory, e.g. because it was just compiled
+     *
+     * @param fullyQualifiedTargetClass the binary name of the class
+     * @param bytecode                  the content of the class file
+     * @return the defined class
+     * @throws ClassNotFoundException if the class cannot be defined
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws ClassNotFoundException {
+
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+
+        try (InputStream is = new ByteArrayInputStream(bytecode)) {
+
+            byte[] byteBuffer = getTransformedBytes(className, is);
+
+            createPackageDefinition(fullyQualifiedTargetClass);
+            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+            classes.put(fullyQualifiedTargetClass, result);
+
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " from memory");
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -132,7 +162,7 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     //This is needed, as it is overridden in subclasses
     protected byte[] getTransformedBytes(String className, InputStream is) throws IOException {
-        return instrumentation.transformBytes(this, className, new ClassReader(is));
+        return instrumentation.transformBytes(this, className, IOUtils.toByteArray(is));
     }
 
     private Class<?> instrumentClass(String fullyQualifiedTargetClass) throws ClassNotFoundException {
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.util.JarPathing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.*;
+import javax.tools.JavaCompiler.CompilationTask;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compiler for generated test suites that never touches the disk: the source code is given
+ * as strings, and the class files are kept in memory.
+ *
+ * <p>
+ * The file manager is reused among compilations, so that the jar files on the classpath are
+ * opened and indexed only once. It is recreated only if the classpath changes.
+ */
+public class InMemoryJavaCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryJavaCompiler.class);
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    private StandardJavaFileManager fileManager = null;
+
+    /**
+     * The classpath (before expanding pathing jars) the file manager was configured with
+     */
+    private String classpath = null;
+
+    /**
+     * Check if it is possible to use the Java compiler.
+     *
+     * @return
+     */
+    public boolean isAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * Compile all the given classes in a single compilation task
+     *
+     * @param packageName the package of all the classes, can be empty
+     * @param sources     the source code of each class, indexed by simple class name
+     * @return the outcome of the compilation
+     * @throws IOException if the compiler is not available, or the classpath cannot be set
+     */
+    public synchronized CompilationResult compile(String packageName, Map<String, String> sources)
+            throws IOException {
+
+        if (compiler == null) {
+            throw new IOException("No Java compiler is available");
+        }
+
+        String packagePrefix = packageName.isEmpty() ? "" : packageName + ".";
+
+        List<SourceFile> compilationUnits = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            compilationUnits.add(new SourceFile(packagePrefix + source.getKey(), source.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        ClassOutputManager outputManager = new ClassOutputManager(getFileManager());
+
+        // annotation processors on the classpath would have nowhere to write their output
+        List<String> optionList = Collections.singletonList("-proc:none");
+
+        CompilationTask task = compiler.getTask(null, outputManager, diagnostics,
+                optionList, null, compilationUnits);
+        boolean compiled = task.call();
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, ClassFile> output : outputManager.classFiles.entrySet()) {
+            classes.put(output.getKey(), output.getValue().getBytes());
+        }
+
+        Map<String, String> compiledSources = new LinkedHashMap<>();
+        for (SourceFile unit : compilationUnits) {
+            compiledSources.put(unit.className, unit.code);
+        }
+
+        return new CompilationResult(compiled, compiledSources, classes, diagnostics.getDiagnostics());
+    }
+
+    /**
+     * Release the file manager, and so all the jar files it keeps open
+     */
+    public synchronized void close() {
+        if (fileManager == null) {
+            return;
+        }
+        try {
+            fileManager.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close file manager: " + e);
+        }
+        fileManager = null;
+        classpath = null;
+    }
+
+    private StandardJavaFileManager getFileManager() throws IOException {
+
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        String currentClasspath = targetProjectCP + File.pathSeparator + evosuiteCP;
+
+        if (fileManager != null && currentClasspath.equals(classpath)) {
+            return fileManager;
+        }
+
+        close();
+
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+        }
+
+        List<File> entries = new ArrayList<>();
+        for (String entry : (targetProjectCP + File.pathSeparator + evosuiteCP).split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(new File(entry));
+            }
+        }
+
+        StandardJavaFileManager manager = compiler.getStandardFileManager(null, Locale.getDefault(),
+                StandardCharsets.UTF_8);
+        manager.setLocation(StandardLocation.CLASS_PATH, entries);
+
+        logger.debug("Created file manager for classpath: " + currentClasspath);
+        fileManager = manager;
+        classpath = currentClasspath;
+        return fileManager;
+    }
+
+    /**
+     * Outcome of a compilation
+     */
+    public static class CompilationResult {
+
+        private final boolean successful;
+
+        private final Map<String, String> sources;
+
+        private final Map<String, byte[]> classes;
+
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+        private CompilationResult(boolean successful, Map<String, String> sources,
+                                  Map<String, byte[]> classes,
+                                  List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+            this.successful = successful;
+            this.sources = Collections.unmodifiableMap(sources);
+            this.classes = Collections.unmodifiableMap(classes);
+            this.diagnostics = Collections.unmodifiableList(diagnostics);
+        }
+
+        public boolean isSuccessful() {
+            return successful;
+        }
+
+        /**
+         * @return the fully qualifying names of the classes given as source code, in the same order
+         */
+        public List<String> getSourceClassNames() {
+            return new ArrayList<>(sources.keySet());
+        }
+
+        /**
+         * @return the content of each generated class file (including inner and anonymous classes),
+         * indexed by binary class name
+         */
+        public Map<String, byte[]> getClasses() {
+            return classes;
+        }
+
+        public List<Diagnostic<? extends JavaFileObject>> getDiagnostics() {
+            return diagnostics;
+        }
+
+        /**
+         * @return the fully qualifying names of the source classes with at least one error, or
+         * {@code null} if there is any error that cannot be attributed to one of those classes
+         */
+        public Set<String> getClassesWithErrors() {
+            Set<String> names = new LinkedHashSet<>();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+                if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                    continue;
+                }
+                if (!(diagnostic.getSource() instanceof SourceFile)) {
+                    return null;
+                }
+                names.add(((SourceFile) diagnostic.getSource()).className);
+            }
+            return names;
+        }
+
+        /**
+         * @param className fully qualifying name of one of the source classes
+         * @return the source code of that class, or {@code null} if there is no such class
+         */
+        public String getSource(String className) {
+            return sources.get(className);
+        }
+    }
+
+    /**
+     * Source code of a class held in memory
+     */
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String className;
+
+        private final String code;
+
+        private SourceFile(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            this.className = className;
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    /**
+     * Class file written by the compiler into memory
+     */
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private ClassFile(String className) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension),
+                    Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+
+        private byte[] getBytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Reads through the shared file manager, but collects all the generated class files in memory.
+     * It is not closed after a compilation, as that would close the shared file manager as well.
+     */
+    private static class ClassOutputManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, ClassFile> classFiles = new LinkedHashMap<>();
+
+        private ClassOutputManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling)
+                throws IOException {
+            if (kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+            ClassFile file = new ClassFile(className);
+            classFiles.put(className, file);
+            return file;
+        }
+    }
+}
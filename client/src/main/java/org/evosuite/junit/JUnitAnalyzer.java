@@ -19,18 +19,15 @@
  */
 package org.evosuite.junit;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
-import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.instrumentation.NonInstrumentingClassLoader;
 import org.evosuite.junit.writer.TestSuiteWriter;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
-import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.testcase.TestCase;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
@@ -42,12 +39,8 @@ import org.junit.runner.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.tools.*;
-import javax.tools.JavaCompiler.CompilationTask;
-import java.io.File;
+import javax.tools.Diagnostic;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -64,10 +57,7 @@ public abstract class JUnitAnalyzer {
 
     private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-    private static int dirCounter = 0;
-
-    private static final String JAVA = ".java";
-    private static final String CLASS = ".class";
+    private static final InMemoryJavaCompiler compiler = new InMemoryJavaCompiler();
 
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
@@ -82,6 +72,11 @@ public abstract class JUnitAnalyzer {
      * Try to compile each test separately, and remove the ones that cannot be
      * compiled
      *
+     * <p>
+     * All tests are first compiled together in a single compilation task, each
+     * one in its own class, and only the tests whose class has compilation
+     * errors are then compiled on their own to confirm they have to be removed
+     *
      * @param tests
      */
     public static void removeTestsThatDoNotCompile(List<TestCase> tests) {
@@ -92,44 +87,77 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
-        Iterator<TestCase> iter = tests.iterator();
+        List<TestCase> suspects = findTestsThatMightNotCompile(tests);
 
-        while (iter.hasNext()) {
+        for (TestCase test : suspects) {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
                 break;
             }
 
-            TestCase test = iter.next();
+            List<TestCase> singleList = new ArrayList<>();
+            singleList.add(test);
+            InMemoryJavaCompiler.CompilationResult result = compileTests(singleList, false);
+            if (result == null || !result.isSuccessful()) {
+                if (result != null) {
+                    logCompilationFailure(result);
+                }
+                tests.removeIf(t -> t == test);
+                String code = test.toCode();
+                logger.error("Failed to compile test case:\n" + code);
+            }
+        } // end of for
+    }
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
-                return;
+    /**
+     * Compile the given tests in batch, and return the ones that might not
+     * compile. All the other ones have been successfully compiled, unless we
+     * ran out of time.
+     *
+     * @param tests
+     * @return
+     */
+    private static List<TestCase> findTestsThatMightNotCompile(List<TestCase> tests) {
+
+        List<TestCase> unchecked = new ArrayList<>(tests);
+        List<TestCase> suspects = new ArrayList<>();
+
+        while (!unchecked.isEmpty()) {
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                break;
             }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-            try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
-                    iter.remove();
-                    String code = test.toCode();
-                    logger.error("Failed to compile test case:\n" + code);
-                }
-            } finally {
-                //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
-                    try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+            InMemoryJavaCompiler.CompilationResult result = compileTests(unchecked, true);
+            if (result != null && result.isSuccessful()) {
+                break;
+            }
+
+            /*
+             * Note: javac can stop before checking all classes (eg, on syntax errors),
+             * so the tests without errors have to be compiled again without the failing ones
+             */
+            List<TestCase> failing = new ArrayList<>();
+            Set<String> classesWithErrors = result == null ? null : result.getClassesWithErrors();
+            if (classesWithErrors != null) {
+                List<String> testClasses = getTestClassNames(result);
+                for (int i = 0; i < unchecked.size() && i < testClasses.size(); i++) {
+                    if (classesWithErrors.contains(testClasses.get(i))) {
+                        failing.add(unchecked.get(i));
                     }
                 }
             }
 
-        } // end of while
+            if (failing.isEmpty()) {
+                // cannot tell which tests are the problem, so check all of them on their own
+                suspects.addAll(unchecked);
+                break;
+            }
+
+            logger.debug("Compilation errors in " + failing.size() + " out of " + unchecked.size() + " tests");
+            suspects.addAll(failing);
+            unchecked.removeIf(t -> failing.stream().anyMatch(f -> f == t));
+        }
+
+        return suspects;
     }
 
     /**
@@ -152,15 +180,8 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
         try {
-            List<File> generated = compileTests(tests, dir);
+            InMemoryJavaCompiler.CompilationResult generated = compileTests(tests);
             if (generated == null) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
@@ -184,7 +205,7 @@ public abstract class JUnitAnalyzer {
                 return numUnstable;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (result.wasSuccessful()) {
                 return numUnstable; //everything is OK
@@ -264,24 +285,13 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
-
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
@@ -291,21 +301,54 @@ public abstract class JUnitAnalyzer {
         return versionDependentAnalyzer.runJUnitOnCurrentProcess(testClasses);
     }
 
+    /**
+     * Close the compiler, releasing the jar files it keeps open to resolve
+     * the classpath. It is recreated if further tests need to be compiled.
+     */
+    public static void closeCompiler() {
+        compiler.close();
+    }
+
     /**
      * Check if it is possible to use the Java compiler.
      *
      * @return
      */
     public static boolean isJavaCompilerAvailable() {
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        return compiler != null;
+        return compiler.isAvailable();
     }
 
     // We have to have a unique name for this test suite as it is loaded by the
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Compile the given tests, using the configured output granularity
+     *
+     * @param tests
+     * @return the compiled classes, or {@code null} if the tests do not compile
+     */
+    private static InMemoryJavaCompiler.CompilationResult compileTests(List<TestCase> tests) {
+        boolean oneClassPerTest = Properties.OUTPUT_GRANULARITY != Properties.OutputGranularity.MERGED;
+        InMemoryJavaCompiler.CompilationResult result = compileTests(tests, oneClassPerTest);
+        if (result == null) {
+            return null;
+        }
+        if (!result.isSuccessful()) {
+            logCompilationFailure(result);
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Compile the given tests in memory, in a single compilation task
+     *
+     * @param tests
+     * @param oneClassPerTest whether each test should be in its own class
+     * @return the outcome of the compilation, or {@code null} if the tests could not even be given to the compiler
+     */
+    private static InMemoryJavaCompiler.CompilationResult compileTests(List<TestCase> tests, boolean oneClassPerTest) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -317,81 +360,10 @@ public abstract class JUnitAnalyzer {
 
         try {
             //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
-            }
+            Map<String, String> sources = suite.createTestSuiteSources(name, Collections.emptyList(), oneClassPerTest);
 
             //try to compile the test cases
-            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-            if (compiler == null) {
-                logger.error("No Java compiler is available");
-                return null;
-            }
-
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Locale locale = Locale.getDefault();
-            Charset charset = StandardCharsets.UTF_8;
-            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-                    locale,
-                    charset);
-
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
-
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
-
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
-
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
-
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
-
-            CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-                    optionList, null, compilationUnits);
-            boolean compiled = task.call();
-            fileManager.close();
-
-            if (!compiled) {
-                logger.error("Compilation failed on compilation units: " + compilationUnits);
-                logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
-
-
-                for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-                    if (diagnostic.getMessage(null).startsWith("error while writing")) {
-                        logger.error("Error is due to file permissions, ignoring...");
-                        return generated;
-                    }
-                    logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-                            + diagnostic.getLineNumber());
-                }
-
-                StringBuffer buffer = new StringBuffer();
-                for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
-
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
-
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
-                    }
-                }
-                logger.error(buffer.toString());
-                return null;
-            }
-
-            return generated;
+            return compiler.compile(Properties.CLASS_PREFIX, sources);
 
         } catch (IOException e) {
             logger.error("" + e, e);
@@ -399,28 +371,38 @@ public abstract class JUnitAnalyzer {
         }
     }
 
-    protected static File createNewTmpDir() {
-        File dir = null;
-        String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-                + (dirCounter++) + "_" + +System.currentTimeMillis();
+    private static void logCompilationFailure(InMemoryJavaCompiler.CompilationResult result) {
+        logger.error("Compilation failed on compilation units: " + result.getSourceClassNames());
 
-        //first create a tmp folder
-        dir = new File(dirName);
-        if (!dir.mkdirs()) {
-            logger.error("Cannot create tmp dir: " + dirName);
-            return null;
+        for (Diagnostic<?> diagnostic : result.getDiagnostics()) {
+            logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                    + diagnostic.getLineNumber());
         }
 
-        if (!dir.exists()) {
-            logger.error("Weird behavior: we created folder, but Java cannot determine if it exists? Folder: "
-                    + dirName);
-            return null;
+        StringBuilder buffer = new StringBuilder();
+        for (String className : result.getSourceClassNames()) {
+            String[] lines = result.getSource(className).split("\\R", -1);
+
+            buffer.append(className + "\n");
+
+            for (int i = 0; i < lines.length; i++) {
+                buffer.append((i + 1) + ": " + lines[i] + "\n");
+            }
         }
+        logger.error(buffer.toString());
+    }
 
-        return dir;
+    /**
+     * @param result
+     * @return the names of the compiled test classes, ie excluding the scaffolding
+     */
+    private static List<String> getTestClassNames(InMemoryJavaCompiler.CompilationResult result) {
+        List<String> names = new ArrayList<>(result.getSourceClassNames());
+        names.removeIf(JUnitAnalyzer::isScaffolding);
+        return names;
     }
 
-    private static Class<?>[] loadTests(List<File> tests) {
+    private static Class<?>[] loadTests(InMemoryJavaCompiler.CompilationResult compiled) {
 
         /*
          * Ideally, when we run a generated test case, it
@@ -434,67 +416,40 @@ public abstract class JUnitAnalyzer {
          * non-instrumenting classloader to re-load the CUT, and so see
          * if the JavaAgent works properly.
          */
-        Class<?>[] testClasses = getClassesFromFiles(tests);
-        List<File> otherClasses = listOnlyFiles(tests);
+        Map<String, byte[]> classes = compiled.getClasses();
+
         /*
-         * this is important to force the loading of all files generated
-         * in the target folder.
-         * If we do not do that, then we will miss all the anonymous classes
+         * first load only the scaffolding files
          */
-        getClassesFromFiles(otherClasses);
-
-        return testClasses;
-    }
-
-    private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
-        if (tests == null || tests.isEmpty()) {
-            return null;
-        }
-
-        Set<String> classNames = new LinkedHashSet<>();
-
-        File parentFolder = tests.get(0).getParentFile();
-        for (File file : tests) {
-            if (!file.getParentFile().equals(parentFolder)) {
-                throw new IllegalArgumentException("Tests file are not in the same folder");
+        for (String className : compiled.getSourceClassNames()) {
+            if (isScaffolding(className)) {
+                loadClass(className, classes.get(className));
             }
-            classNames.add(removeFileExtension(file.getName()));
         }
 
         /*
-         * if we already loaded a CUT due to its .java, do not want
-         * to re-loaded it for a .class file that is in the same folder
+         * once the scaffoldings are loaded, we can load the tests that
+         * depend on them
          */
-
-        List<File> otherClasses = new LinkedList<>();
-
-        for (File file : parentFolder.listFiles()) {
-            String name = removeFileExtension(file.getName());
-
-            if (classNames.contains(name)) {
-                continue;
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (String className : getTestClassNames(compiled)) {
+            Class<?> clazz = loadClass(className, classes.get(className));
+            if (clazz != null) {
+                testClasses.add(clazz);
             }
-
-            classNames.add(name);
-            otherClasses.add(file);
         }
 
-        return otherClasses;
-    }
-
-
-    private static String removeFileExtension(String str) {
-        if (str == null) {
-            return null;
-        }
-
-        int pos = str.lastIndexOf(".");
-
-        if (pos == -1) {
-            return str;
+        /*
+         * this is important to force the loading of all the other compiled
+         * classes. If we do not do that, then we will miss all the anonymous classes
+         */
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (!compiled.getSourceClassNames().contains(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
+            }
         }
 
-        return str.substring(0, pos);
+        return testClasses.toArray(new Class<?>[0]);
     }
 
     /**
@@ -522,14 +477,8 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
-            return false;
-        }
-
         try {
-            List<File> generated = compileTests(tests, dir);
+            InMemoryJavaCompiler.CompilationResult generated = compileTests(tests);
             if (generated == null) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
@@ -544,7 +493,7 @@ public abstract class JUnitAnalyzer {
                 return false;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -568,15 +517,6 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return false;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -584,89 +524,21 @@ public abstract class JUnitAnalyzer {
         return true;
     }
 
-    /**
-     * Given a list of files representing .java/.class classes, load them (it
-     * assumes the classpath to be correctly set)
-     *
-     * @param files
-     * @return
-     */
-    private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-        /*
-         * first load only the scaffolding files
-         */
-        for (File file : files) {
-            if (!isScaffolding(file)) {
-                continue;
-            }
-            loadClass(file);
-        }
-
-        List<Class<?>> classes = new ArrayList<>();
-
-        /*
-         * once the scaffoldings are loaded, we can load the tests that
-         * depend on them
-         */
-        for (File file : files) {
-            if (isScaffolding(file)) {
-                continue;
-            }
-            Class<?> clazz = loadClass(file);
-            if (clazz != null) {
-                classes.add(clazz);
-            }
-        }
-
-        return classes.toArray(new Class<?>[classes.size()]);
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
     }
 
-    private static boolean isScaffolding(File file) {
-        String name = file.getName();
-        return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
-                name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
-    }
-
-    private static Class<?> loadClass(File file) {
-        if (!file.isFile()) {
-            return null;
-        }
-
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
-
-        String name = file.getName();
-
-        if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-            /*
-             * this could happen when we scan a folder for all src/compiled
-             * files
-             */
+    private static Class<?> loadClass(String className, byte[] bytecode) {
+        if (bytecode == null) {
             return null;
         }
 
-        String fileName = file.getAbsolutePath();
-
-        if (name.endsWith(JAVA)) {
-            name = name.substring(0, name.length() - JAVA.length());
-            fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-        } else {
-            assert name.endsWith(CLASS);
-            name = name.substring(0, name.length() - CLASS.length());
-        }
-
-        String className = packagePrefix + name;
-
         Class<?> testClass = null;
         try {
             logger.info("Loading class " + className);
-            //testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-            testClass = loader.loadClassFromFile(className, fileName);
+            testClass = loader.loadClassFromBytes(className, bytecode);
         } catch (ClassNotFoundException e) {
-            logger.error("Failed to load test case " + className + " from file "
-                    + file.getAbsolutePath() + " , error " + e, e);
+            logger.error("Failed to load test case " + className + " , error " + e, e);
         }
         return testClass;
     }
@@ -186,6 +186,37 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        boolean oneClassPerTest = Properties.OUTPUT_GRANULARITY != OutputGranularity.MERGED;
+        Map<String, String> sources = createTestSuiteSources(name, cachedResults, oneClassPerTest);
+
+        List<File> generated = new ArrayList<>();
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        StringBuilder content = new StringBuilder();
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java"); // e.g., dir/Foo_ESTest_0.java
+            FileIOUtils.writeFile(source.getValue(), file);
+            content.append(source.getValue());
+            generated.add(file);
+        }
+
+        writeCoveredGoalsFile();
+
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content.toString());
+        return generated;
+    }
+
+    /**
+     * Create the source code of the JUnit test suite for class, without writing anything to disk
+     *
+     * @param name            Name of the class
+     * @param cachedResults   results to reuse for the tests that cannot be executed anymore due to the time limit
+     * @param oneClassPerTest whether each test should be in its own class, rather than all tests in the same class
+     * @return the source code of each generated class (tests first, then the scaffolding), indexed by simple class name
+     */
+    public Map<String, String> createTestSuiteSources(String name, List<ExecutionResult> cachedResults,
+                                                      boolean oneClassPerTest) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -196,9 +227,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
+        Map<String, String> sources = new LinkedHashMap<>();
 
         // Execute all tests
         executor.newObservers();
@@ -240,37 +269,22 @@ public class TestSuiteWriter implements Opcodes {
         removeAssertionsAfterException(results);
 
 
-        if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
-            //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
+        if (!oneClassPerTest || testCases.size() == 0) {
+            sources.put(name, getUnitTestsAllInSameFile(name, results));
         } else {
             for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
-                //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+                sources.put(name + "_" + i, getOneUnitTestInAFile(name, i, results));
             }
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            sources.put(scaffoldingName, scaffoldingContent);
         }
 
-        writeCoveredGoalsFile();
-
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+        return sources;
     }
 
     /**
@@ -85,7 +85,27 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     protected final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
 
-    private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<>();
+    /**
+     * Output variables not sent to master yet. Repeated updates of the same variable
+     * are coalesced, so that only its latest value is transmitted
+     */
+    private final EnumMap<RuntimeVariable, Object> pendingOutputVariables = new EnumMap<>(RuntimeVariable.class);
+
+    /**
+     * Latest progress information for the current state not sent to master yet
+     */
+    private ClientStateInformation pendingStateInformation;
+
+    /**
+     * Guards the pending output variables and progress information
+     */
+    private final Object pendingLock = new Object();
+
+    /**
+     * Held while talking to master, so that statistics and states arrive in the order
+     * in which they were produced
+     */
+    private final Object sendLock = new Object();
 
     private Collection<Set<T>> bestSolutions;
 
@@ -104,17 +124,6 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         this.bestSolutions = Collections.synchronizedList(new ArrayList<>(Properties.NUM_PARALLEL_CLIENTS));
     }
 
-    private static class OutputVariable {
-        public RuntimeVariable variable;
-        public Object value;
-
-        public OutputVariable(RuntimeVariable variable, Object value) {
-            super();
-            this.variable = variable;
-            this.value = value;
-        }
-    }
-
     @Override
     public void startNewSearch() throws RemoteException, IllegalStateException {
         if (!state.equals(ClientState.NOT_STARTED)) {
@@ -220,7 +229,8 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     @Override
     public void changeState(ClientState state, ClientStateInformation information) {
-        if (this.state != state) {
+        boolean changed = this.state != state;
+        if (changed) {
             logger.info(ClientProcess.getPrettyPrintIdentifier() + "Client changing state from " + this.state + " to " + state);
         }
 
@@ -228,10 +238,25 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
         TimeController.getInstance().updateState(state);
 
-        try {
-            masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information);
-        } catch (RemoteException e) {
-            logger.error("Cannot inform master of change of state", e);
+        if (changed || statisticsThread == null) {
+            synchronized (sendLock) {
+                flushPendingStatistics();
+                try {
+                    masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information);
+                } catch (RemoteException e) {
+                    logger.error("Cannot inform master of change of state", e);
+                }
+            }
+        } else {
+            /*
+             * Only the progress within the current state was updated (eg, at each
+             * iteration of the search), so there is no need to block on master:
+             * the latest information is sent by the statistics thread
+             */
+            synchronized (pendingLock) {
+                pendingStateInformation = information;
+                pendingLock.notifyAll();
+            }
         }
 
         if (this.state.equals(ClientState.DONE)) {
@@ -247,11 +272,14 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void updateStatistics(T individual) {
         logger.info("Sending current best individual to master process");
 
-        try {
-            masterNode.evosuite_collectStatistics(clientRmiIdentifier, individual);
-        } catch (RemoteException e) {
-            logger.error("Cannot inform master of change of state", e);
-            throw new IllegalStateException(e);
+        synchronized (sendLock) {
+            flushPendingStatistics();
+            try {
+                masterNode.evosuite_collectStatistics(clientRmiIdentifier, individual);
+            } catch (RemoteException e) {
+                logger.error("Cannot inform master of change of state", e);
+                throw new IllegalStateException(e);
+            }
         }
     }
 
@@ -259,10 +287,13 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void flushStatisticsForClassChange() {
         logger.info("Flushing output variables to master process");
 
-        try {
-            masterNode.evosuite_flushStatisticsForClassChange(clientRmiIdentifier);
-        } catch (RemoteException e) {
-            logger.error("Cannot inform master of change of state", e);
+        synchronized (sendLock) {
+            flushPendingStatistics();
+            try {
+                masterNode.evosuite_flushStatisticsForClassChange(clientRmiIdentifier);
+            } catch (RemoteException e) {
+                logger.error("Cannot inform master of change of state", e);
+            }
         }
     }
 
@@ -282,10 +313,55 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         logger.info("Sending output variable to master process: " + variable + " = " + value);
 
         /*
-         * As this code might be called from unsafe blocks, we just put the values
-         * on a queue, and have a privileged thread doing the RMI connection to master
+         * As this code might be called from unsafe blocks, we just buffer the values,
+         * and have a privileged thread doing the RMI connection to master
          */
-        outputVariableQueue.offer(new OutputVariable(variable, value));
+        synchronized (pendingLock) {
+            pendingOutputVariables.put(variable, value);
+            pendingLock.notifyAll();
+        }
+    }
+
+    /**
+     * Send all buffered output variables and progress information to master
+     * in a single batch
+     *
+     * @return {@code false} if master could not be reached
+     */
+    private boolean flushPendingStatistics() {
+        synchronized (sendLock) {
+            Map<RuntimeVariable, Object> variables;
+            ClientStateInformation information;
+            synchronized (pendingLock) {
+                if (pendingOutputVariables.isEmpty() && pendingStateInformation == null) {
+                    return true;
+                }
+                variables = new EnumMap<>(pendingOutputVariables);
+                pendingOutputVariables.clear();
+                information = pendingStateInformation;
+                pendingStateInformation = null;
+            }
+
+            boolean sent = true;
+            if (!variables.isEmpty()) {
+                try {
+                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, variables);
+                } catch (RemoteException e) {
+                    logger.error("Error when exporting statistics: " + variables, e);
+                    sent = false;
+                }
+            }
+            // progress of a state that has been left in the meantime is outdated
+            if (information != null && information.getState() == state) {
+                try {
+                    masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information);
+                } catch (RemoteException e) {
+                    logger.error("Cannot inform master of change of state", e);
+                    sent = false;
+                }
+            }
+            return sent;
+        }
     }
 
     @Override
@@ -333,23 +409,13 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void stop() {
         if (statisticsThread != null) {
             statisticsThread.interrupt();
-            List<OutputVariable> vars = new ArrayList<>();
-            outputVariableQueue.drainTo(vars);
-            for (OutputVariable ov : vars) {
-                try {
-                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                } catch (RemoteException e) {
-                    logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                    break;
-                }
-            }
-
             try {
                 statisticsThread.join(3000);
             } catch (InterruptedException e) {
                 logger.error("Failed to stop statisticsThread in time");
             }
             statisticsThread = null;
+            flushPendingStatistics();
         }
 
         changeState(ClientState.FINISHED);
@@ -367,14 +433,18 @@ public class ClientNodeImpl<T extends Chromosome<T>>
                 @Override
                 public void run() {
                     while (!this.isInterrupted()) {
-                        OutputVariable ov = null;
                         try {
-                            ov = outputVariableQueue.take(); //this is blocking
-                            masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
+                            synchronized (pendingLock) {
+                                while (pendingOutputVariables.isEmpty() && pendingStateInformation == null) {
+                                    pendingLock.wait(); //this is blocking
+                                }
+                            }
+                            // let further updates be coalesced into the same batch
+                            Thread.sleep(Properties.STATISTICS_FLUSH_INTERVAL);
                         } catch (InterruptedException e) {
                             break;
-                        } catch (RemoteException e) {
-                            logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
+                        }
+                        if (!flushPendingStatistics()) {
                             break;
                         }
                     }
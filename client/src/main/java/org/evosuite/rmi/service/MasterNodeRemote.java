@@ -27,6 +27,7 @@ import org.evosuite.statistics.RuntimeVariable;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -51,6 +52,8 @@ public interface MasterNodeRemote extends Remote {
 
     void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+    void evosuite_collectStatistics(String clientRmiIdentifier, Map<RuntimeVariable, Object> variables) throws RemoteException;
+
     void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
     void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
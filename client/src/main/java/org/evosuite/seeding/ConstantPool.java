@@ -90,5 +90,39 @@ public interface ConstantPool {
      */
     void add(Object object);
 
+    /**
+     * Add a value observed during execution without boxing it, as done on each
+     * executed branch
+     *
+     * @param value a int.
+     */
+    default void add(int value) {
+        add((Object) value);
+    }
+
+    /**
+     * @param value a long.
+     * @see #add(int)
+     */
+    default void add(long value) {
+        add((Object) value);
+    }
+
+    /**
+     * @param value a float.
+     * @see #add(int)
+     */
+    default void add(float value) {
+        add((Object) value);
+    }
+
+    /**
+     * @param value a double.
+     * @see #add(int)
+     */
+    default void add(double value) {
+        add((Object) value);
+    }
+
     String toString();
 }
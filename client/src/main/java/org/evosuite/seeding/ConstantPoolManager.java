@@ -99,6 +99,27 @@ public class ConstantPoolManager {
         pools[DYNAMIC_POOL_INDEX].add(value);
     }
 
+    /*
+     * Primitive versions, as these are called from the instrumented code
+     * for each executed branch
+     */
+
+    public void addDynamicConstant(int value) {
+        pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(long value) {
+        pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(float value) {
+        pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
+    public void addDynamicConstant(double value) {
+        pools[DYNAMIC_POOL_INDEX].add(value);
+    }
+
     public ConstantPool getConstantPool() {
         double p = Randomness.nextDouble();
         double k = 0d;
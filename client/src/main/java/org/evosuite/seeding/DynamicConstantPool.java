@@ -24,6 +24,8 @@ import org.evosuite.utils.DefaultRandomAccessQueue;
 import org.evosuite.utils.RandomAccessQueue;
 import org.objectweb.asm.Type;
 
+import java.util.Arrays;
+
 /**
  * @author Gordon Fraser
  */
@@ -33,13 +35,13 @@ public class DynamicConstantPool implements ConstantPool {
 
     private final RandomAccessQueue<Type> typePool = new DefaultRandomAccessQueue<>();
 
-    private final RandomAccessQueue<Integer> intPool = new DefaultRandomAccessQueue<>();
+    private final IntRingPool intPool = new IntRingPool(true);
 
-    private final RandomAccessQueue<Double> doublePool = new DefaultRandomAccessQueue<>();
+    private final LongRingPool doublePool = new LongRingPool(true);
 
-    private final RandomAccessQueue<Long> longPool = new DefaultRandomAccessQueue<>();
+    private final LongRingPool longPool = new LongRingPool(true);
 
-    private final RandomAccessQueue<Float> floatPool = new DefaultRandomAccessQueue<>();
+    private final IntRingPool floatPool = new IntRingPool(true);
 
     public DynamicConstantPool() {
         /*
@@ -51,10 +53,10 @@ public class DynamicConstantPool implements ConstantPool {
         } else {
             typePool.restrictedAdd(Type.getType(Object.class));
         }
-        intPool.restrictedAdd(0);
-        longPool.restrictedAdd(0L);
-        floatPool.restrictedAdd(0.0f);
-        doublePool.restrictedAdd(0.0);
+        intPool.add(0);
+        longPool.add(0L);
+        floatPool.add(Float.floatToIntBits(0.0f));
+        doublePool.add(Double.doubleToLongBits(0.0));
     }
 
     /* (non-Javadoc)
@@ -83,7 +85,7 @@ public class DynamicConstantPool implements ConstantPool {
      */
     @Override
     public float getRandomFloat() {
-        return floatPool.getRandomValue();
+        return Float.intBitsToFloat(floatPool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -91,7 +93,7 @@ public class DynamicConstantPool implements ConstantPool {
      */
     @Override
     public double getRandomDouble() {
-        return doublePool.getRandomValue();
+        return Double.longBitsToDouble(doublePool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -123,41 +125,41 @@ public class DynamicConstantPool implements ConstantPool {
         } else if (object instanceof Type) {
             typePool.restrictedAdd((Type) object);
         } else if (object instanceof Integer) {
-            if (Properties.RESTRICT_POOL) {
-                int val = (Integer) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    intPool.restrictedAdd((Integer) object);
-                }
-            } else {
-                intPool.restrictedAdd((Integer) object);
-            }
+            add(((Integer) object).intValue());
         } else if (object instanceof Long) {
-            if (Properties.RESTRICT_POOL) {
-                long val = (Long) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    longPool.restrictedAdd((Long) object);
-                }
-            } else {
-                longPool.restrictedAdd((Long) object);
-            }
+            add(((Long) object).longValue());
         } else if (object instanceof Float) {
-            if (Properties.RESTRICT_POOL) {
-                float val = (Float) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    floatPool.restrictedAdd((Float) object);
-                }
-            } else {
-                floatPool.restrictedAdd((Float) object);
-            }
+            add(((Float) object).floatValue());
         } else if (object instanceof Double) {
-            if (Properties.RESTRICT_POOL) {
-                double val = (Double) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    doublePool.restrictedAdd((Double) object);
-                }
-            } else {
-                doublePool.restrictedAdd((Double) object);
-            }
+            add(((Double) object).doubleValue());
+        }
+    }
+
+    @Override
+    public void add(int value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            intPool.add(value);
+        }
+    }
+
+    @Override
+    public void add(long value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            longPool.add(value);
+        }
+    }
+
+    @Override
+    public void add(float value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            floatPool.add(Float.floatToIntBits(value));
+        }
+    }
+
+    @Override
+    public void add(double value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            doublePool.add(Double.doubleToLongBits(value));
         }
     }
 
@@ -166,10 +168,10 @@ public class DynamicConstantPool implements ConstantPool {
         String res = "DynamicConstantPool:{";
         res += "stringPool=" + stringPool + " ; ";
         res += "typePool=" + typePool + " ; ";
-        res += "intPool=" + intPool + " ; ";
-        res += "longPool=" + longPool + " ; ";
-        res += "floatPool=" + floatPool + " ; ";
-        res += "doublePool=" + doublePool + "}";
+        res += "intPool=" + Arrays.toString(intPool.toArray()) + " ; ";
+        res += "longPool=" + Arrays.toString(longPool.toArray()) + " ; ";
+        res += "floatPool=" + floatPool.toFloatString() + " ; ";
+        res += "doublePool=" + doublePool.toDoubleString() + "}";
         return res;
     }
 
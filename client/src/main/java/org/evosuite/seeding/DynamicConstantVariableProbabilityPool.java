@@ -23,6 +23,8 @@ import org.evosuite.Properties;
 import org.evosuite.utils.RandomAccessQueue;
 import org.objectweb.asm.Type;
 
+import java.util.Arrays;
+
 /**
  * Created by gordon on 06/01/2017.
  */
@@ -32,13 +34,13 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
 
     private final RandomAccessQueue<Type> typePool = new FrequencyBasedRandomAccessQueue<>();
 
-    private final RandomAccessQueue<Integer> intPool = new FrequencyBasedRandomAccessQueue<>();
+    private final IntRingPool intPool = new IntRingPool(false);
 
-    private final RandomAccessQueue<Double> doublePool = new FrequencyBasedRandomAccessQueue<>();
+    private final LongRingPool doublePool = new LongRingPool(false);
 
-    private final RandomAccessQueue<Long> longPool = new FrequencyBasedRandomAccessQueue<>();
+    private final LongRingPool longPool = new LongRingPool(false);
 
-    private final RandomAccessQueue<Float> floatPool = new FrequencyBasedRandomAccessQueue<>();
+    private final IntRingPool floatPool = new IntRingPool(false);
 
     public DynamicConstantVariableProbabilityPool() {
         /*
@@ -50,10 +52,10 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
         } else {
             typePool.restrictedAdd(Type.getType(Object.class));
         }
-        intPool.restrictedAdd(0);
-        longPool.restrictedAdd(0L);
-        floatPool.restrictedAdd(0.0f);
-        doublePool.restrictedAdd(0.0);
+        intPool.add(0);
+        longPool.add(0L);
+        floatPool.add(Float.floatToIntBits(0.0f));
+        doublePool.add(Double.doubleToLongBits(0.0));
     }
 
     /* (non-Javadoc)
@@ -82,7 +84,7 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
      */
     @Override
     public float getRandomFloat() {
-        return floatPool.getRandomValue();
+        return Float.intBitsToFloat(floatPool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -90,7 +92,7 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
      */
     @Override
     public double getRandomDouble() {
-        return doublePool.getRandomValue();
+        return Double.longBitsToDouble(doublePool.getRandomValue());
     }
 
     /* (non-Javadoc)
@@ -122,41 +124,41 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
         } else if (object instanceof Type) {
             typePool.restrictedAdd((Type) object);
         } else if (object instanceof Integer) {
-            if (Properties.RESTRICT_POOL) {
-                int val = (Integer) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    intPool.restrictedAdd((Integer) object);
-                }
-            } else {
-                intPool.restrictedAdd((Integer) object);
-            }
+            add(((Integer) object).intValue());
         } else if (object instanceof Long) {
-            if (Properties.RESTRICT_POOL) {
-                long val = (Long) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    longPool.restrictedAdd((Long) object);
-                }
-            } else {
-                longPool.restrictedAdd((Long) object);
-            }
+            add(((Long) object).longValue());
         } else if (object instanceof Float) {
-            if (Properties.RESTRICT_POOL) {
-                float val = (Float) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    floatPool.restrictedAdd((Float) object);
-                }
-            } else {
-                floatPool.restrictedAdd((Float) object);
-            }
+            add(((Float) object).floatValue());
         } else if (object instanceof Double) {
-            if (Properties.RESTRICT_POOL) {
-                double val = (Double) object;
-                if (Math.abs(val) < Properties.MAX_INT) {
-                    doublePool.restrictedAdd((Double) object);
-                }
-            } else {
-                doublePool.restrictedAdd((Double) object);
-            }
+            add(((Double) object).doubleValue());
+        }
+    }
+
+    @Override
+    public void add(int value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            intPool.add(value);
+        }
+    }
+
+    @Override
+    public void add(long value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            longPool.add(value);
+        }
+    }
+
+    @Override
+    public void add(float value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            floatPool.add(Float.floatToIntBits(value));
+        }
+    }
+
+    @Override
+    public void add(double value) {
+        if (!Properties.RESTRICT_POOL || Math.abs(value) < Properties.MAX_INT) {
+            doublePool.add(Double.doubleToLongBits(value));
         }
     }
 
@@ -165,10 +167,10 @@ public class DynamicConstantVariableProbabilityPool implements ConstantPool {
         String res = "DynamicConstantPool:{";
         res += "stringPool=" + stringPool + " ; ";
         res += "typePool=" + typePool + " ; ";
-        res += "intPool=" + intPool + " ; ";
-        res += "longPool=" + longPool + " ; ";
-        res += "floatPool=" + floatPool + " ; ";
-        res += "doublePool=" + doublePool + "}";
+        res += "intPool=" + Arrays.toString(intPool.toArray()) + " ; ";
+        res += "longPool=" + Arrays.toString(longPool.toArray()) + " ; ";
+        res += "floatPool=" + floatPool.toFloatString() + " ; ";
+        res += "doublePool=" + doublePool.toDoubleString() + "}";
         return res;
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.Properties;
+
+import java.util.Arrays;
+
+/**
+ * The last {@link Properties#DYNAMIC_POOL_SIZE} int values added to a dynamic
+ * constant pool, see {@link LongRingPool}, which stores them.
+ * <p>
+ * Float values are stored as their {@link Float#floatToIntBits(float) bits}.
+ */
+public class IntRingPool {
+
+    private final LongRingPool pool;
+
+    public IntRingPool(boolean distinct) {
+        this.pool = new LongRingPool(distinct);
+    }
+
+    public void add(int value) {
+        pool.add(value);
+    }
+
+    public int getRandomValue() {
+        return (int) pool.getRandomValue();
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * @return the values in the pool, from the oldest to the most recently added one
+     */
+    public int[] toArray() {
+        long[] values = pool.toArray();
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (int) values[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return the values in the pool, from the oldest to the most recently added one, read as the bits of floats
+     */
+    public String toFloatString() {
+        int[] bits = toArray();
+        float[] floats = new float[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            floats[i] = Float.intBitsToFloat(bits[i]);
+        }
+        return Arrays.toString(floats);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.Properties;
+import org.evosuite.utils.Randomness;
+
+import java.util.Arrays;
+
+/**
+ * The last {@link Properties#DYNAMIC_POOL_SIZE} long values added to a dynamic
+ * constant pool, kept in a ring buffer so that values observed during execution
+ * are added without boxing.
+ * <p>
+ * If values are distinct, a value already in the pool is not added again and
+ * values are selected uniformly. Otherwise every added value takes a slot, so
+ * selecting a random slot chooses values proportionally to how often they
+ * were added recently.
+ * <p>
+ * Double values are stored as their {@link Double#doubleToLongBits(double) bits}.
+ */
+public class LongRingPool {
+
+    /**
+     * Values in the pool, only maintained if values are distinct
+     */
+    private final LongHashSet members;
+
+    private long[] values;
+
+    /**
+     * Number of values in the pool
+     */
+    private int size = 0;
+
+    /**
+     * Position in the buffer of the next value to add, which replaces the oldest value if the pool is full
+     */
+    private int next = 0;
+
+    public LongRingPool(boolean distinct) {
+        this.values = new long[getCapacity()];
+        this.members = distinct ? new LongHashSet(values.length) : null;
+    }
+
+    private static int getCapacity() {
+        return Math.max(1, Properties.DYNAMIC_POOL_SIZE);
+    }
+
+    public void add(long value) {
+        if (values.length != getCapacity()) {
+            resize(getCapacity());
+        }
+        if (members != null) {
+            if (members.contains(value)) {
+                return;
+            }
+            if (size == values.length) {
+                members.remove(values[next]);
+            }
+            members.add(value);
+        }
+        values[next] = value;
+        next = (next + 1) % values.length;
+        if (size < values.length) {
+            size++;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldestFirst = toArray();
+        int kept = Math.min(oldestFirst.length, capacity);
+        values = new long[capacity];
+        System.arraycopy(oldestFirst, oldestFirst.length - kept, values, 0, kept);
+        size = kept;
+        next = kept % capacity;
+        if (members != null) {
+            members.reset(capacity);
+            for (int i = 0; i < size; i++) {
+                members.add(values[i]);
+            }
+        }
+    }
+
+    public long getRandomValue() {
+        if (size == 0) {
+            throw new IllegalArgumentException("Cannot select from empty pool");
+        }
+        return values[Randomness.nextInt(size)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the values in the pool, from the oldest to the most recently added one
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int first = (next - size + values.length) % values.length;
+        for (int i = 0; i < size; i++) {
+            result[i] = values[(first + i) % values.length];
+        }
+        return result;
+    }
+
+    /**
+     * @return the values in the pool, from the oldest to the most recently added one, read as the bits of doubles
+     */
+    public String toDoubleString() {
+        long[] bits = toArray();
+        double[] doubles = new double[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            doubles[i] = Double.longBitsToDouble(bits[i]);
+        }
+        return Arrays.toString(doubles);
+    }
+
+    /**
+     * Open addressing hash set of longs with linear probing, sized for at most
+     * {@code capacity} elements
+     */
+    private static final class LongHashSet {
+
+        private long[] keys;
+
+        private boolean[] used;
+
+        private int mask;
+
+        private LongHashSet(int capacity) {
+            reset(capacity);
+        }
+
+        private void reset(int capacity) {
+            // at most half full, so that probe sequences stay short
+            int length = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            keys = new long[length];
+            used = new boolean[length];
+            mask = length - 1;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private boolean contains(long key) {
+            for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(long key) {
+            int i = slot(key);
+            while (used[i]) {
+                if (keys[i] == key) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            used[i] = true;
+        }
+
+        private void remove(long key) {
+            int i = slot(key);
+            while (used[i] && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (!used[i]) {
+                return;
+            }
+            // shift back the following entries of the probe sequence, so that no tombstones are needed
+            int gap = i;
+            for (int j = (gap + 1) & mask; used[j]; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    gap = j;
+                }
+            }
+            used[gap] = false;
+        }
+    }
+}
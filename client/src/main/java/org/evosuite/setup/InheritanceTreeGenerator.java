@@ -24,6 +24,8 @@ import org.evosuite.ClientProcess;
 import org.evosuite.PackageInfo;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassHeader;
+import org.evosuite.classpath.ClassPathIndex;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.RuntimeVariable;
@@ -32,7 +34,6 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,24 +83,34 @@ public class InheritanceTreeGenerator {
         }
 
         logger.debug("CP: {}", classPath);
-        for (String classPathEntry : classPath) {
-            logger.debug("Looking at CP entry: {}", classPathEntry);
-            if (classPathEntry.isEmpty())
-                continue;
-
-            if (classPathEntry.matches(".*evosuite-.*\\.jar"))
-                continue;
+        try {
+            for (String classPathEntry : classPath) {
+                logger.debug("Looking at CP entry: {}", classPathEntry);
+                if (classPathEntry.isEmpty())
+                    continue;
+
+                if (classPathEntry.matches(".*evosuite-.*\\.jar"))
+                    continue;
+
+                logger.debug("Analyzing classpath entry {}", classPathEntry);
+                LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
+                ResourceList resourceList = ResourceList.getInstance(
+                        TestGenerationContext.getInstance().getClassLoaderForSUT());
+                for (String className : resourceList.getAllClasses(classPathEntry, "", true, false)) {
+                    // handle individual class
+                    ClassHeader header = resourceList.getIndexedClassHeader(className);
+                    if (header != null) {
+                        analyzeClassHeader(inheritanceTree, header, false);
+                    } else {
+                        analyzeClassStream(inheritanceTree, resourceList.getClassAsStream(className), false);
+                    }
+                }
 
-            logger.debug("Analyzing classpath entry {}", classPathEntry);
-            LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
-            for (String className : ResourceList.getInstance(
-                    TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
-                // handle individual class
-                analyzeClassStream(inheritanceTree, ResourceList.getInstance(
-                        TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
+                // analyze(inheritanceTree, classPathEntry);
             }
-
-            // analyze(inheritanceTree, classPathEntry);
+        } finally {
+            // the headers of the classpath index are only needed to build the tree
+            ClassPathIndex.releaseHeaders();
         }
         return inheritanceTree;
     }
@@ -236,7 +247,7 @@ public class InheritanceTreeGenerator {
             ClassNode cn = new ClassNode();
             reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
                     | ClassReader.SKIP_CODE);
-            analyzeClassNode(inheritanceTree, cn, onlyPublic);
+            analyzeClassHeader(inheritanceTree, ClassHeader.fromClassNode(cn), onlyPublic);
 
 
         } catch (IOException e) {
@@ -246,30 +257,28 @@ public class InheritanceTreeGenerator {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static void analyzeClassNode(InheritanceTree inheritanceTree,
-                                         ClassNode cn, boolean onlyPublic) {
+    private static void analyzeClassHeader(InheritanceTree inheritanceTree,
+                                           ClassHeader cn, boolean onlyPublic) {
 
-        logger.info("Analyzing class {}", cn.name);
+        logger.info("Analyzing class {}", cn.getName());
 
         // Don't load classes already seen from a different CP entry
-        if (inheritanceTree.hasClass(cn.name))
+        if (inheritanceTree.hasClass(cn.getName()))
             return;
 
-        if ((Opcodes.ACC_INTERFACE & cn.access) != Opcodes.ACC_INTERFACE) {
-            for (Object m : cn.methods) {
-                MethodNode mn = (MethodNode) m;
+        if ((Opcodes.ACC_INTERFACE & cn.getAccess()) != Opcodes.ACC_INTERFACE) {
+            for (int i = 0; i < cn.getNumberOfMethods(); i++) {
                 inheritanceTree
-                        .addAnalyzedMethod(cn.name, mn.name, mn.desc);
+                        .addAnalyzedMethod(cn.getName(), cn.getMethodName(i), cn.getMethodDescriptor(i));
             }
-            if ((Opcodes.ACC_ABSTRACT & cn.access) == Opcodes.ACC_ABSTRACT) {
-                inheritanceTree.registerAbstractClass(cn.name);
+            if ((Opcodes.ACC_ABSTRACT & cn.getAccess()) == Opcodes.ACC_ABSTRACT) {
+                inheritanceTree.registerAbstractClass(cn.getName());
             }
         } else {
-            inheritanceTree.registerInterface(cn.name);
+            inheritanceTree.registerInterface(cn.getName());
         }
         if (onlyPublic) {
-            if ((cn.access & Opcodes.ACC_PUBLIC) == 0) {
+            if ((cn.getAccess() & Opcodes.ACC_PUBLIC) == 0) {
                 return;
             }
 //		} else {
@@ -279,12 +288,11 @@ public class InheritanceTreeGenerator {
 //			}
         }
 
-        if (cn.superName != null)
-            inheritanceTree.addSuperclass(cn.name, cn.superName, cn.access);
+        if (cn.getSuperName() != null)
+            inheritanceTree.addSuperclass(cn.getName(), cn.getSuperName(), cn.getAccess());
 
-        List<String> interfaces = cn.interfaces;
-        for (String interfaceName : interfaces) {
-            inheritanceTree.addInterface(cn.name, interfaceName);
+        for (String interfaceName : cn.getInterfaces()) {
+            inheritanceTree.addInterface(cn.getName(), interfaceName);
         }
     }
 
@@ -29,6 +29,7 @@ import org.evosuite.runtime.util.Inputs;
 import org.evosuite.seeding.CastClassManager;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.IndexedSet;
 import org.evosuite.utils.ListUtil;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.generic.*;
@@ -331,7 +332,7 @@ public class TestCluster {
      */
     public void addGenerator(GenericClass<?> target, GenericAccessibleObject<?> call) {
         if (!generators.containsKey(target))
-            generators.put(target, new LinkedHashSet<>());
+            generators.put(target, new IndexedSet<>());
 
         logger.debug("Adding generator for class " + target + ": " + call);
         generators.get(target).add(call);
@@ -347,7 +348,7 @@ public class TestCluster {
      */
     public void addModifier(GenericClass<?> target, GenericAccessibleObject<?> call) {
         if (!modifiers.containsKey(target))
-            modifiers.put(target, new LinkedHashSet<>());
+            modifiers.put(target, new IndexedSet<>());
 
         modifiers.get(target).add(call);
     }
@@ -399,7 +400,7 @@ public class TestCluster {
 
         logger.debug("1. Caching generators for {}", clazz);
 
-        Set<GenericAccessibleObject<?>> targetGenerators = new LinkedHashSet<>();
+        Set<GenericAccessibleObject<?>> targetGenerators = new IndexedSet<>();
         if (clazz.isObject()) {
             logger.debug("2. Target class is object: {}", clazz);
             for (GenericClass<?> generatorClazz : generators.keySet()) {
@@ -682,15 +683,16 @@ public class TestCluster {
      */
     private Set<GenericAccessibleObject<?>> getCallsForSpecialCase(GenericClass<?> clazz)
             throws ConstructionFailedException {
-        Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>();
+        // only read below, so no need to copy them
+        final Set<GenericAccessibleObject<?>> all;
         if (!modifiers.containsKey(clazz)) {
             logger.debug("Don't have that specific class, so have to check generic modifiers");
-            all.addAll(determineGenericModifiersFor(clazz));
+            all = determineGenericModifiersFor(clazz);
         } else {
             logger.debug("Got modifiers");
-            all.addAll(modifiers.get(clazz));
+            all = modifiers.get(clazz);
         }
-        Set<GenericAccessibleObject<?>> calls = new LinkedHashSet<>();
+        Set<GenericAccessibleObject<?>> calls = new IndexedSet<>();
 
         if (clazz.isAssignableTo(Collection.class)) {
             for (GenericAccessibleObject<?> call : all) {
@@ -817,7 +819,7 @@ public class TestCluster {
     private Set<GenericAccessibleObject<?>> getGeneratorsForSpecialCase(GenericClass<?> clazz)
             throws ConstructionFailedException {
         logger.debug("Getting generator for special case: " + clazz);
-        Set<GenericAccessibleObject<?>> calls = new LinkedHashSet<>();
+        Set<GenericAccessibleObject<?>> calls = new IndexedSet<>();
 
         if (clazz.isAssignableTo(Collection.class) || clazz.isAssignableTo(Map.class)) {
             if (!generatorCache.containsKey(clazz)) {
@@ -827,7 +829,7 @@ public class TestCluster {
                 throw new ConstructionFailedException("No generators of type " + clazz);
             }
 
-            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz));
+            Set<GenericAccessibleObject<?>> all = generatorCache.get(clazz);
 
             for (GenericAccessibleObject<?> call : all) {
                 // TODO: Need to instantiate, or check?
@@ -855,11 +857,11 @@ public class TestCluster {
             if (!generatorCache.containsKey(clazz)) {
                 cacheGenerators(clazz);
             }
-            Set<GenericAccessibleObject<?>> all = new LinkedHashSet<>(generatorCache.get(clazz));
+            Set<GenericAccessibleObject<?>> all = generatorCache.get(clazz);
 
             if (all.isEmpty()) {
                 addNumericConstructor(clazz);
-                all.addAll(generatorCache.get(clazz));
+                all = generatorCache.get(clazz);
             }
 
             for (GenericAccessibleObject<?> call : all) {
@@ -894,10 +896,10 @@ public class TestCluster {
      */
     private void addNumericConstructor(GenericClass<?> clazz) {
         if (!generatorCache.containsKey(clazz)) {
-            generatorCache.put(clazz, new LinkedHashSet<>());
+            generatorCache.put(clazz, new IndexedSet<>());
         }
         if (!generators.containsKey(clazz)) {
-            generators.put(clazz, new LinkedHashSet<>());
+            generators.put(clazz, new IndexedSet<>());
         }
         logger.info("addNumericConstructor for class " + clazz);
         for (Constructor<?> constructor : clazz.getRawClass().getConstructors()) {
@@ -1042,12 +1044,17 @@ public class TestCluster {
             }
         } else {
             cacheGenerators(clazz);
-            Set<GenericAccessibleObject<?>> candidates = new LinkedHashSet<>(generatorCache.get(clazz));
-            candidates.removeAll(excluded);
-
-            if (generatorRefToExclude != null) {
+            Set<GenericAccessibleObject<?>> cachedGenerators = generatorCache.get(clazz);
+            List<GenericAccessibleObject<?>> candidates = new ArrayList<>(cachedGenerators.size());
+            for (GenericAccessibleObject<?> gam : cachedGenerators) {
+                if (excluded.contains(gam)) {
+                    continue;
+                }
                 //if current generator could be called from excluded ref, then we cannot use it
-                candidates.removeIf(gam -> generatorRefToExclude.isAssignableTo(gam.getOwnerType()));
+                if (generatorRefToExclude != null && generatorRefToExclude.isAssignableTo(gam.getOwnerType())) {
+                    continue;
+                }
+                candidates.add(gam);
             }
 
             logger.debug("Candidate generators for " + clazz + ": " + candidates.size());
@@ -1062,11 +1069,11 @@ public class TestCluster {
 					as non-static methods would require to get a caller which, if it is missing, would need
 					to be created, and that could lead to further calls if its generators need input parameters
 				 */
-                Set<GenericAccessibleObject<?>> set = candidates.stream()
+                List<GenericAccessibleObject<?>> list = candidates.stream()
                         .filter(p -> p.isStatic() || p.isConstructor())
-                        .collect(toCollection(LinkedHashSet::new));
-                if (!set.isEmpty()) {
-                    candidates = set;
+                        .collect(toCollection(ArrayList::new));
+                if (!list.isEmpty()) {
+                    candidates = list;
                 }
             }
 
@@ -44,6 +44,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Structure of a DSE Exploration algorithm,
@@ -75,6 +79,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     public static final String SOLVER_OUTCOME_IS_SAT_DEBUG_MESSAGE = "query is SAT (solution found)";
     public static final String SOLVER_OUTCOME_IS_UNSAT_DEBUG_MESSAGE = "query is UNSAT (no solution found)";
     public static final String SOLVING_CURRENT_SMT_QUERY_DEBUG_MESSAGE = "* Solving current SMT query";
+    public static final String PREFETCHED_QUERY_FAILED_DEBUG_MESSAGE = "Solving query in advance failed: {}";
 
     // Concolic Engine
     public static final String PATH_CONDITION_COLLECTED_SIZE = "Path condition collected with: {} branches";
@@ -121,6 +126,12 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private final transient ConcolicExecutor engine;
     private final transient Solver solver;
 
+    /**
+     * Threads solving the queries of the children in advance, see {@link Properties#DSE_SOLVER_THREADS}
+     **/
+    private static final String SOLVER_THREAD_NAME = "EvoSuite_DSE_Solver";
+    private transient ExecutorService solverWorkers = null;
+
     public ExplorationAlgorithm() {
         this(
                 SHOW_PROGRESS_DEFAULT_VALUE,
@@ -199,21 +210,25 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         Collections.sort(targetStaticMethods, new MethodComparator());
         logger.debug(ENTRY_POINTS_FOUND_DEBUG_MESSAGE, targetStaticMethods.size());
 
-        for (Method entryMethod : targetStaticMethods) {
-            if (this.isFinished()) {
-                logger.debug(STOPPING_CONDITION_MET_DEBUG_MESSAGE);
-                break;
-            }
+        try {
+            for (Method entryMethod : targetStaticMethods) {
+                if (this.isFinished()) {
+                    logger.debug(STOPPING_CONDITION_MET_DEBUG_MESSAGE);
+                    break;
+                }
 
-            LoggingUtils.getEvoLogger().info("* " + GENERATING_TESTS_FOR_ENTRY_DEBUG_MESSAGE, entryMethod.getName());
-            int testCaseCount = testSuite.getTests().size();
+                LoggingUtils.getEvoLogger().info("* " + GENERATING_TESTS_FOR_ENTRY_DEBUG_MESSAGE, entryMethod.getName());
+                int testCaseCount = testSuite.getTests().size();
 
-            /** Setting up current method being targeted */
-            Properties.CURRENT_TARGET_METHOD = entryMethod.getName();
+                /** Setting up current method being targeted */
+                Properties.CURRENT_TARGET_METHOD = entryMethod.getName();
 
-            explore(entryMethod);
-            int numOfGeneratedTestCases = testSuite.getTests().size() - testCaseCount;
-            LoggingUtils.getEvoLogger().info("* " + TESTS_WERE_GENERATED_FOR_ENTRY_METHOD_DEBUG_MESSAGE, numOfGeneratedTestCases, entryMethod.getName());
+                explore(entryMethod);
+                int numOfGeneratedTestCases = testSuite.getTests().size() - testCaseCount;
+                LoggingUtils.getEvoLogger().info("* " + TESTS_WERE_GENERATED_FOR_ENTRY_METHOD_DEBUG_MESSAGE, numOfGeneratedTestCases, entryMethod.getName());
+            }
+        } finally {
+            shutdownSolverWorkers();
         }
 
         // Run this before finish
@@ -295,6 +310,18 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     }
 
     private void processChildren(Queue<DSETestCase> testCasesWorkList, HashSet<Set<Constraint<?>>> seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged) {
+        // Queries solved concurrently while the children are processed in order
+        Map<Set<Constraint<?>>, Future<TimedSolverResult>> prefetchedQueries = prefetchQueries(seenChildren, children);
+        try {
+            processChildren(testCasesWorkList, seenChildren, currentTestCase, children, hasPathConditionDiverged, prefetchedQueries);
+        } finally {
+            // Results of queries that were no longer needed are discarded
+            for (Future<TimedSolverResult> prefetchedQuery : prefetchedQueries.values())
+                prefetchedQuery.cancel(false);
+        }
+    }
+
+    private void processChildren(Queue<DSETestCase> testCasesWorkList, HashSet<Set<Constraint<?>>> seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged, Map<Set<Constraint<?>>, Future<TimedSolverResult>> prefetchedQueries) {
         // We look at all the children
         for (GenerationalSearchPathCondition child : children) {
             List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
@@ -327,7 +354,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
 
                     // Solves the SMT query
                     logger.debug(SOLVER_QUERY_STARTED_MESSAGE, childQuery.size());
-                    SolverResult smtQueryResult = solveQuery(childQuery);
+                    SolverResult smtQueryResult = solveQuery(childQuery, prefetchedQueries.remove(normalizedChildQuery));
                     smtSolution = getQuerySolution(
                             normalizedChildQuery,
                             smtQueryResult
@@ -352,6 +379,59 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         }
     }
 
+    /**
+     * Submits the queries of the children that are not already known to be explored to the solver workers, so that
+     * they are solved concurrently while the children are processed in order. Children are still processed exactly as
+     * without workers: a query solved in advance is only used if the child reaches the solver. The workers do not
+     * access the solver cache, results are looked up and saved by {@link #solveQuery} in the order of the children,
+     * so that the cache, and so the generated tests, do not depend on the number of workers.
+     * <p>
+     * Only used if {@link Properties#DSE_SOLVER_THREADS} is greater than one and the solver supports concurrent queries.
+     *
+     * @param seenChildren
+     * @param children
+     * @return
+     */
+    private Map<Set<Constraint<?>>, Future<TimedSolverResult>> prefetchQueries(HashSet<Set<Constraint<?>>> seenChildren, List<GenerationalSearchPathCondition> children) {
+        if (Properties.DSE_SOLVER_THREADS <= 1 || children.size() <= 1 || !solver.supportsConcurrentQueries())
+            return Collections.emptyMap();
+
+        Map<Set<Constraint<?>>, Future<TimedSolverResult>> prefetchedQueries = new HashMap<>();
+        for (GenerationalSearchPathCondition child : children) {
+            List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
+            Set<Constraint<?>> normalizedChildQuery = normalize(childQuery);
+
+            if (queryCache.containsKey(normalizedChildQuery)
+                    || seenChildren.contains(normalizedChildQuery)
+                    || prefetchedQueries.containsKey(normalizedChildQuery))
+                continue;
+
+            childQuery.addAll(
+                    SolverUtils.createBoundsForQueryVariables(childQuery)
+            );
+            prefetchedQueries.put(normalizedChildQuery, getSolverWorkers().submit(() -> timedSolveQuery(childQuery, false)));
+        }
+        return prefetchedQueries;
+    }
+
+    private ExecutorService getSolverWorkers() {
+        if (solverWorkers == null) {
+            solverWorkers = Executors.newFixedThreadPool(Properties.DSE_SOLVER_THREADS, r -> {
+                Thread t = new Thread(r, SOLVER_THREAD_NAME);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return solverWorkers;
+    }
+
+    private void shutdownSolverWorkers() {
+        if (solverWorkers != null) {
+            solverWorkers.shutdownNow();
+            solverWorkers = null;
+        }
+    }
+
     /**
      * Child PC is not processed if it was already explored, this is:
      * - Their constraints were already solved by a previous SMT query
@@ -468,22 +548,54 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
      * TODO: check how much moving the time estimation to a lower implementation layer improves precision.
      *
      * @param SMTQuery
+     * @param prefetchedQuery the query already submitted to the solver workers, if any
      * @return
      */
-    private SolverResult solveQuery(List<Constraint<?>> SMTQuery) {
-        long startSolvingTime;
-        long estimatedSolvingTime;
-        SolverResult smtQueryResult;
-
+    private SolverResult solveQuery(List<Constraint<?>> SMTQuery, Future<TimedSolverResult> prefetchedQuery) {
         logger.debug(SOLVING_CURRENT_SMT_QUERY_DEBUG_MESSAGE);
 
-        /** Track solving time and solve the query **/
-        startSolvingTime = System.currentTimeMillis();
-        smtQueryResult = doSolveQuery(SMTQuery);
-        estimatedSolvingTime = System.currentTimeMillis() - startSolvingTime;
-        DSEStatistics.getInstance().reportNewSolvingTime(estimatedSolvingTime);
+        TimedSolverResult smtQueryResult = null;
+        if (prefetchedQuery != null) {
+            // The query was solved without the cache, so check it as the solver would have done
+            long startCacheCheckTime = System.currentTimeMillis();
+            SolverResult cachedResult = solver.getCachedResult(SMTQuery);
+            if (cachedResult != null) {
+                prefetchedQuery.cancel(false);
+                smtQueryResult = new TimedSolverResult(cachedResult, System.currentTimeMillis() - startCacheCheckTime);
+            } else {
+                try {
+                    smtQueryResult = prefetchedQuery.get();
+                    solver.saveResult(SMTQuery, smtQueryResult.result);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.debug(PREFETCHED_QUERY_FAILED_DEBUG_MESSAGE, e.getCause().getMessage());
+                }
+            }
+        }
+        if (smtQueryResult == null) {
+            smtQueryResult = timedSolveQuery(SMTQuery, true);
+        }
+
+        // Reported here, as the statistics are not thread safe
+        DSEStatistics.getInstance().reportNewSolvingTime(smtQueryResult.solvingTime);
 
-        return smtQueryResult;
+        return smtQueryResult.result;
+    }
+
+    /**
+     * Track solving time and solve the query
+     *
+     * @param SMTQuery
+     * @param useCache whether the solver cache is used, it must not be used outside of the search thread
+     * @return
+     */
+    private TimedSolverResult timedSolveQuery(List<Constraint<?>> SMTQuery, boolean useCache) {
+        long startSolvingTime = System.currentTimeMillis();
+        SolverResult smtQueryResult = doSolveQuery(SMTQuery, useCache);
+        long estimatedSolvingTime = System.currentTimeMillis() - startSolvingTime;
+
+        return new TimedSolverResult(smtQueryResult, estimatedSolvingTime);
     }
 
     /**
@@ -519,11 +631,11 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         return new GenerationalSearchPathCondition(result, currentGeneratedFromIndex);
     }
 
-    private SolverResult doSolveQuery(List<Constraint<?>> SMTQuery) {
+    private SolverResult doSolveQuery(List<Constraint<?>> SMTQuery, boolean useCache) {
         SolverResult smtQueryResult = null;
 
         try {
-            smtQueryResult = solver.solve(SMTQuery);
+            smtQueryResult = useCache ? solver.solve(SMTQuery) : solver.solveWithoutCache(SMTQuery);
         } catch (SolverTimeoutException
                 | SolverParseException
                 | SolverEmptyQueryException
@@ -537,4 +649,17 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private void checkStrategy(Object strategy) {
         if (strategy == null) throw new IllegalArgumentException(STRATEGY_CANNOT_BE_NULL);
     }
+
+    /**
+     * Result of a solver call, together with the time it took
+     */
+    private static final class TimedSolverResult {
+        private final SolverResult result;
+        private final long solvingTime;
+
+        private TimedSolverResult(SolverResult result, long solvingTime) {
+            this.result = result;
+            this.solvingTime = solvingTime;
+        }
+    }
 }
\ No newline at end of file
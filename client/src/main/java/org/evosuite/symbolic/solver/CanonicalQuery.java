@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.BinaryExpression;
+import org.evosuite.symbolic.expr.Cast;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Expression;
+import org.evosuite.symbolic.expr.MultipleExpression;
+import org.evosuite.symbolic.expr.UnaryExpression;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.expr.bv.IntegerComparison;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.bv.RealComparison;
+import org.evosuite.symbolic.expr.bv.StringBinaryComparison;
+import org.evosuite.symbolic.expr.fp.RealConstant;
+import org.evosuite.symbolic.expr.fp.RealVariable;
+import org.evosuite.symbolic.expr.str.StringConstant;
+import org.evosuite.symbolic.expr.str.StringVariable;
+
+import java.util.*;
+
+/**
+ * A constraint system in canonical form, used as key of the {@link SolverCache}.
+ * <p>
+ * The constraint system is split into independent sub-systems (constraints
+ * that do not share any variable, directly or transitively). Within each
+ * sub-system the constraints are sorted by their structure, and the variables
+ * are renamed in order of appearance. Two constraint systems that only differ
+ * in the names of their variables, or in the order of their constraints,
+ * hence get the same key, and each sub-system can be looked up on its own.
+ * <p>
+ * The key is an exact textual representation of the constraints (types,
+ * bounds of the variables, operators and constants), so equal keys denote
+ * equivalent constraint systems. Only integer, real and string expressions
+ * are supported; for any other expression (arrays, references, tokenizers,
+ * etc.) no canonical form is computed.
+ */
+final class CanonicalQuery {
+
+    /**
+     * An independent sub-system of the constraint system
+     */
+    static final class Component {
+
+        private final String key;
+
+        private final Map<String, String> toCanonicalName;
+
+        private final Map<String, String> toOriginalName;
+
+        private Component(String key, Map<String, String> toCanonicalName) {
+            this.key = key;
+            this.toCanonicalName = toCanonicalName;
+            this.toOriginalName = new HashMap<>();
+            for (Map.Entry<String, String> entry : toCanonicalName.entrySet()) {
+                toOriginalName.put(entry.getValue(), entry.getKey());
+            }
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * Keep the values of the variables of this sub-system, renamed to
+         * their canonical names
+         */
+        Map<String, Object> toCanonicalModel(Map<String, Object> model) {
+            return rename(model, toCanonicalName);
+        }
+
+        /**
+         * Rename a model stored under the canonical names back to the names of
+         * the variables of this constraint system
+         */
+        Map<String, Object> toOriginalModel(Map<String, Object> model) {
+            return rename(model, toOriginalName);
+        }
+
+        private static Map<String, Object> rename(Map<String, Object> model, Map<String, String> names) {
+            Map<String, Object> renamed = new HashMap<>();
+            for (Map.Entry<String, Object> entry : model.entrySet()) {
+                String name = names.get(entry.getKey());
+                if (name != null) {
+                    renamed.put(name, entry.getValue());
+                }
+            }
+            return renamed;
+        }
+    }
+
+    /**
+     * Thrown while printing an expression that has no canonical form
+     */
+    private static final class UnsupportedExpressionException extends Exception {
+
+        private static final long serialVersionUID = -2286271733520112312L;
+
+        UnsupportedExpressionException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final String CANONICAL_VARIABLE_PREFIX = "v";
+
+    private final String key;
+
+    private final List<Component> components;
+
+    private CanonicalQuery(String key, List<Component> components) {
+        this.key = key;
+        this.components = components;
+    }
+
+    /**
+     * @return the key of the whole constraint system
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the independent sub-systems, sorted by key
+     */
+    List<Component> getComponents() {
+        return components;
+    }
+
+    /**
+     * Compute the canonical form of a constraint system
+     *
+     * @param constraints the constraint system
+     * @return the canonical form, or null if the constraints contain
+     * expressions that are not supported
+     */
+    static CanonicalQuery canonicalize(Collection<Constraint<?>> constraints) {
+        try {
+            List<Component> components = new ArrayList<>();
+            for (List<Constraint<?>> group : splitIndependent(constraints)) {
+                components.add(canonicalizeComponent(group));
+            }
+            components.sort(Comparator.comparing(Component::getKey));
+
+            StringBuilder key = new StringBuilder();
+            for (Component component : components) {
+                if (key.length() > 0) {
+                    key.append("\n--\n");
+                }
+                key.append(component.getKey());
+            }
+            return new CanonicalQuery(key.toString(), components);
+        } catch (UnsupportedExpressionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Group the constraints that share variables (union-find over the
+     * variable names). Constraints without variables end up in one group.
+     */
+    private static Collection<List<Constraint<?>>> splitIndependent(Collection<Constraint<?>> constraints) {
+        Map<String, String> parent = new HashMap<>();
+        for (Constraint<?> c : constraints) {
+            String first = null;
+            for (Variable<?> v : c.getVariables()) {
+                parent.putIfAbsent(v.getName(), v.getName());
+                if (first == null) {
+                    first = v.getName();
+                } else {
+                    parent.put(find(parent, v.getName()), find(parent, first));
+                }
+            }
+        }
+
+        Map<String, List<Constraint<?>>> groups = new LinkedHashMap<>();
+        for (Constraint<?> c : constraints) {
+            Iterator<Variable<?>> variables = c.getVariables().iterator();
+            String root = variables.hasNext() ? find(parent, variables.next().getName()) : "";
+            groups.computeIfAbsent(root, r -> new ArrayList<>()).add(c);
+        }
+        return groups.values();
+    }
+
+    private static String find(Map<String, String> parent, String name) {
+        String root = name;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        parent.put(name, root);
+        return root;
+    }
+
+    private static Component canonicalizeComponent(List<Constraint<?>> constraints)
+            throws UnsupportedExpressionException {
+        // Sort by structure first (variables without names), so that the
+        // renaming does not depend on the original names
+        List<Constraint<?>> sorted = new ArrayList<>(constraints);
+        Map<Constraint<?>, String> shapes = new IdentityHashMap<>();
+        for (Constraint<?> c : sorted) {
+            StringBuilder shape = new StringBuilder();
+            print(c, shape, null);
+            shapes.put(c, shape.toString());
+        }
+        sorted.sort(Comparator.comparing(shapes::get));
+
+        Map<String, String> names = new LinkedHashMap<>();
+        StringBuilder key = new StringBuilder();
+        for (Constraint<?> c : sorted) {
+            if (key.length() > 0) {
+                key.append('\n');
+            }
+            print(c, key, names);
+        }
+        return new Component(key.toString(), names);
+    }
+
+    private static void print(Constraint<?> c, StringBuilder out, Map<String, String> names)
+            throws UnsupportedExpressionException {
+        out.append('(').append(c.getClass().getSimpleName()).append(' ').append(c.getComparator().name()).append(' ');
+        print(c.getLeftOperand(), out, names);
+        out.append(' ');
+        print(c.getRightOperand(), out, names);
+        out.append(')');
+    }
+
+    /**
+     * Print the expression in prefix notation. If names is null, variables are
+     * printed without their name, otherwise they are renamed in order of
+     * appearance.
+     */
+    private static void print(Expression<?> e, StringBuilder out, Map<String, String> names)
+            throws UnsupportedExpressionException {
+        out.append('(').append(e.getClass().getSimpleName());
+
+        if (e instanceof IntegerVariable) {
+            IntegerVariable v = (IntegerVariable) e;
+            out.append(" [").append(v.getMinValue()).append(',').append(v.getMaxValue()).append(']');
+            printName(v, out, names);
+        } else if (e instanceof RealVariable) {
+            RealVariable v = (RealVariable) e;
+            out.append(" [").append(v.getMinValue()).append(',').append(v.getMaxValue()).append(']');
+            printName(v, out, names);
+        } else if (e instanceof StringVariable) {
+            printName((StringVariable) e, out, names);
+        } else if (e instanceof IntegerConstant) {
+            out.append(' ').append(((IntegerConstant) e).getConcreteValue());
+        } else if (e instanceof RealConstant) {
+            out.append(' ').append(((RealConstant) e).getConcreteValue());
+        } else if (e instanceof StringConstant) {
+            out.append(' ');
+            printString(((StringConstant) e).getConcreteValue(), out);
+        } else if (e instanceof IntegerComparison) {
+            IntegerComparison cmp = (IntegerComparison) e;
+            printOperands(out, names, cmp.getLeftOperant(), cmp.getRightOperant());
+        } else if (e instanceof RealComparison) {
+            RealComparison cmp = (RealComparison) e;
+            printOperands(out, names, cmp.getLeftOperant(), cmp.getRightOperant());
+        } else if (e instanceof StringBinaryComparison) {
+            StringBinaryComparison cmp = (StringBinaryComparison) e;
+            out.append(' ').append(cmp.getOperator().name());
+            printOperands(out, names, cmp.getLeftOperand(), cmp.getRightOperand());
+        } else if (e instanceof MultipleExpression) {
+            MultipleExpression<?> m = (MultipleExpression<?>) e;
+            out.append(' ').append(m.getOperator().name());
+            printOperands(out, names, m.getLeftOperand(), m.getRightOperand());
+            for (Expression<?> other : m.getOther()) {
+                printOperands(out, names, other);
+            }
+        } else if (e instanceof BinaryExpression) {
+            BinaryExpression<?> b = (BinaryExpression<?>) e;
+            out.append(' ').append(b.getOperator().name());
+            printOperands(out, names, b.getLeftOperand(), b.getRightOperand());
+        } else if (e instanceof UnaryExpression) {
+            UnaryExpression<?> u = (UnaryExpression<?>) e;
+            out.append(' ').append(u.getOperator().name());
+            printOperands(out, names, u.getOperand());
+        } else if (e instanceof Cast) {
+            printOperands(out, names, ((Cast<?>) e).getArgument());
+        } else {
+            throw new UnsupportedExpressionException();
+        }
+
+        out.append(')');
+    }
+
+    private static void printOperands(StringBuilder out, Map<String, String> names, Expression<?>... operands)
+            throws UnsupportedExpressionException {
+        for (Expression<?> operand : operands) {
+            out.append(' ');
+            print(operand, out, names);
+        }
+    }
+
+    private static void printName(Variable<?> v, StringBuilder out, Map<String, String> names) {
+        if (names != null) {
+            String name = names.computeIfAbsent(v.getName(), n -> CANONICAL_VARIABLE_PREFIX + names.size());
+            out.append(' ').append(name);
+        }
+    }
+
+    private static void printString(String str, StringBuilder out) {
+        out.append('"');
+        for (char c : str.toCharArray()) {
+            switch (c) {
+                case '"':
+                case '\\':
+                    out.append('\\').append(c);
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -20,15 +20,25 @@
 package org.evosuite.symbolic.solver;
 
 import org.apache.commons.exec.ExecuteException;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
 import org.evosuite.utils.ProcessLauncher;
 import org.evosuite.utils.ProcessTimeoutException;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class SmtSolver extends Solver {
 
+    /**
+     * Running solver sessions, by solver command
+     */
+    private static final Map<String, SmtSolverSession> sessions = new HashMap<>();
+
+    private static boolean shutdownHookAdded = false;
+
     public SmtSolver(boolean addMissingVariables) {
         super(addMissingVariables);
     }
@@ -37,6 +47,15 @@ public abstract class SmtSolver extends Solver {
         super();
     }
 
+    /**
+     * Each query is solved by an external process (or by a session, which
+     * serializes its queries)
+     */
+    @Override
+    public boolean supportsConcurrentQueries() {
+        return true;
+    }
+
     /**
      * @param solverCmd
      * @param smtQueryStr
@@ -81,4 +100,60 @@ public abstract class SmtSolver extends Solver {
 
     }
 
+    /**
+     * Solves the query in a solver process that is kept running between
+     * queries (see {@link SmtSolverSession}). A new process is started if
+     * there is none for the command, or if the running one cannot take the
+     * query.
+     *
+     * @param solverCmd   command that starts the solver in incremental mode
+     * @param query       the query to solve
+     * @param hardTimeout maximum time to wait for the solver, in milliseconds
+     * @return the output of the solver, in the same format as the output of a
+     * batch execution of the query
+     * @throws IOException
+     * @throws SolverTimeoutException
+     * @throws SolverErrorException
+     */
+    protected static String solveInSession(String solverCmd, SmtQuery query, int hardTimeout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+
+        SmtSolverSession session;
+        synchronized (sessions) {
+            session = sessions.get(solverCmd);
+            if (session != null && !session.accepts(query)) {
+                session.close();
+                session = null;
+            }
+            if (session == null) {
+                session = new SmtSolverSession(solverCmd, query);
+                sessions.put(solverCmd, session);
+                if (!shutdownHookAdded) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(SmtSolver::closeSessions));
+                    shutdownHookAdded = true;
+                }
+            }
+        }
+
+        long solver_start_time_millis = System.currentTimeMillis();
+        try {
+            return session.solve(query, hardTimeout);
+        } finally {
+            long solver_end_time_millis = System.currentTimeMillis();
+            logger.debug("Solver session answered in {}ms", solver_end_time_millis - solver_start_time_millis);
+        }
+    }
+
+    /**
+     * Terminates all running solver sessions
+     */
+    public static void closeSessions() {
+        synchronized (sessions) {
+            for (SmtSolverSession session : sessions.values()) {
+                session.close();
+            }
+            sessions.clear();
+        }
+    }
+
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.symbolic.solver.smt.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solver process that is kept running between queries and talks SMT-LIB
+ * incrementally.
+ * <p>
+ * Every assertion is made in its own context level ({@code push}), and the
+ * assertions currently on the stack are remembered. A new query only pops the
+ * levels that are not a prefix of its own assertions and pushes the rest, so
+ * queries sharing a prefix (as the ones derived from the same path condition)
+ * do not resend nor make the solver re-process the shared assertions.
+ * Declarations are global ({@code :global-declarations}) and sent only once.
+ * <p>
+ * The output of a query has the same format as the output of a batch
+ * execution of the query printed by {@link SmtQueryPrinter}, so it can be
+ * parsed by {@link SmtModelParser}.
+ */
+public final class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    private static final String END_OF_RESPONSE = "evosuite-end-of-response";
+
+    /**
+     * Put in the output queue when the process closes its output
+     */
+    private static final String END_OF_STREAM = new String("end-of-stream");
+
+    /**
+     * Time given to the solver to answer on top of the query timeout, as the
+     * solver is expected to give up by itself
+     */
+    private static final long RESPONSE_GRACE_MILLIS = 500;
+
+    private static final String SAT = "sat";
+
+    private final SmtQueryPrinter printer = new SmtQueryPrinter();
+
+    private final String setup;
+
+    private final Process process;
+
+    private final Writer input;
+
+    private final BlockingQueue<String> output = new LinkedBlockingQueue<>();
+
+    /**
+     * Declared name -> declaration
+     */
+    private final Map<String, String> declarations = new HashMap<>();
+
+    private final Set<String> definitions = new HashSet<>();
+
+    /**
+     * One assertion per context level, bottom first
+     */
+    private final List<String> assertionStack = new ArrayList<>();
+
+    private boolean alive = true;
+
+    private int sentAssertions = 0;
+
+    /**
+     * Start the solver process and configure it as required by the query
+     *
+     * @param solverCmd command that starts the solver reading SMT-LIB from its
+     *                  standard input
+     * @param query     options and logic of the query are used for the session
+     * @throws IOException if the process could not be started
+     */
+    public SmtSolverSession(String solverCmd, SmtQuery query) throws IOException {
+        this.setup = printSetup(query);
+
+        logger.debug("Starting solver session: " + solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(CommandLine.parse(solverCmd).toStrings());
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        Thread reader = new Thread(this::readOutput, "EvoSuite_Solver_Session_Reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        send(setup);
+    }
+
+    private static String printSetup(SmtQuery query) {
+        StringBuilder buff = new StringBuilder();
+        if (query.hasLogic()) {
+            buff.append("(set-logic ").append(query.getLogic()).append(")\n");
+        }
+        buff.append("(set-option :global-declarations true)\n");
+        for (String optionName : new TreeSet<>(query.getOptions())) {
+            buff.append(String.format("(set-option %s %s)%n", optionName, query.getOptionValue(optionName)));
+        }
+        return buff.toString();
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+            }
+        } catch (IOException e) {
+            logger.debug("Solver session output closed: " + e.getMessage());
+        } finally {
+            output.add(END_OF_STREAM);
+        }
+    }
+
+    /**
+     * @param query a query of the same solver
+     * @return true if the query can be solved in this session, i.e., the
+     * session is running with the same options and logic, and no name
+     * is declared with a different sort
+     */
+    public boolean accepts(SmtQuery query) {
+        if (!alive || !setup.equals(printSetup(query))) {
+            return false;
+        }
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            if (!isCompatible(declaration.getConstantName(), printer.print(declaration))) {
+                return false;
+            }
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            if (!isCompatible(declaration.getFunctionName(), printer.print(declaration))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isCompatible(String name, String declaration) {
+        String previous = declarations.get(name);
+        return previous == null || previous.equals(declaration);
+    }
+
+    /**
+     * Solve the query, reusing the assertions it shares with the previous one
+     *
+     * @param query         a query accepted by this session
+     * @param timeoutMillis maximum time to wait for the answer of the solver
+     * @return the output of the solver: the check-sat answer, followed by the
+     * model if the answer is sat
+     * @throws SolverTimeoutException if the solver did not answer in time. The
+     *                                session is closed.
+     * @throws SolverErrorException   if the solver reported an error or
+     *                                terminated. The session is closed.
+     * @throws IOException            if the query could not be sent. The session
+     *                                is closed.
+     */
+    public synchronized String solve(SmtQuery query, long timeoutMillis)
+            throws SolverTimeoutException, SolverErrorException, IOException {
+        if (!alive) {
+            throw new SolverErrorException("Solver session is closed");
+        }
+
+        List<String> assertions = new ArrayList<>();
+        for (SmtAssertion assertion : query.getAssertions()) {
+            assertions.add(printer.print(assertion));
+        }
+
+        int shared = 0;
+        while (shared < assertionStack.size() && shared < assertions.size()
+                && assertionStack.get(shared).equals(assertions.get(shared))) {
+            shared++;
+        }
+
+        StringBuilder commands = new StringBuilder();
+        int levelsToPop = assertionStack.size() - shared;
+        if (levelsToPop > 0) {
+            commands.append("(pop ").append(levelsToPop).append(")\n");
+            assertionStack.subList(shared, assertionStack.size()).clear();
+        }
+
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            declare(declaration.getConstantName(), printer.print(declaration), commands);
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            declare(declaration.getFunctionName(), printer.print(declaration), commands);
+        }
+        for (SmtFunctionDefinition definition : query.getFunctionDefinitions()) {
+            String str = printer.print(definition);
+            if (definitions.add(str)) {
+                commands.append(str).append("\n");
+            }
+        }
+
+        for (String assertion : assertions.subList(shared, assertions.size())) {
+            commands.append("(push 1)\n").append(assertion).append("\n");
+            assertionStack.add(assertion);
+            sentAssertions++;
+        }
+        commands.append("(check-sat)\n");
+
+        String answer = request(commands.toString(), timeoutMillis);
+        if (!answer.trim().startsWith(SAT)) {
+            return answer;
+        }
+
+        String model = request("(get-model)\n", timeoutMillis);
+        return answer + model;
+    }
+
+    private void declare(String name, String declaration, StringBuilder commands) {
+        if (!declarations.containsKey(name)) {
+            declarations.put(name, declaration);
+            commands.append(declaration).append("\n");
+        }
+    }
+
+    /**
+     * Send the commands followed by an echo of a marker, and collect the
+     * output up to the marker
+     */
+    private String request(String commands, long timeoutMillis)
+            throws SolverTimeoutException, SolverErrorException, IOException {
+        send(commands + "(echo \"" + END_OF_RESPONSE + "\")\n");
+
+        long deadline = System.currentTimeMillis() + timeoutMillis + RESPONSE_GRACE_MILLIS;
+        StringBuilder response = new StringBuilder();
+        while (true) {
+            String line;
+            try {
+                line = output.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new SolverTimeoutException();
+            }
+
+            if (line == null) {
+                logger.debug("Solver session did not answer in time");
+                close();
+                throw new SolverTimeoutException();
+            }
+            if (line == END_OF_STREAM) {
+                close();
+                throw new SolverErrorException("Solver session terminated unexpectedly");
+            }
+            if (isEndOfResponse(line)) {
+                break;
+            }
+            response.append(line).append("\n");
+        }
+
+        String str = response.toString();
+        if (str.contains("(error")) {
+            logger.debug("Solver session reported an error: " + str);
+            close();
+            throw new SolverErrorException("An error occurred in the solver session");
+        }
+        return str;
+    }
+
+    private static boolean isEndOfResponse(String line) {
+        String str = line.trim();
+        if (str.startsWith("\"") && str.endsWith("\"") && str.length() > 1) {
+            str = str.substring(1, str.length() - 1);
+        }
+        return str.equals(END_OF_RESPONSE);
+    }
+
+    private void send(String commands) throws IOException {
+        try {
+            input.write(commands);
+            input.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return false once the session was closed, e.g. due to a timeout
+     */
+    public boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * @return how many assertions were sent to the solver so far
+     */
+    public int getNumberOfSentAssertions() {
+        return sentAssertions;
+    }
+
+    /**
+     * Terminate the solver process
+     */
+    public void close() {
+        alive = false;
+        try {
+            input.close();
+        } catch (IOException e) {
+            // the process is destroyed anyway
+        }
+        process.destroy();
+    }
+}
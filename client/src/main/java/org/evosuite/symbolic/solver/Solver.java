@@ -70,22 +70,63 @@ public abstract class Solver {
      * @throws SolverErrorException      the solver reported an error after its execution
      */
     public SolverResult solve(Collection<Constraint<?>> constraints) throws SolverTimeoutException, SolverParseException, SolverEmptyQueryException, SolverErrorException, IOException {
-        if (solverCache.hasCachedResult(constraints)) {
-            return solverCache.getCachedResult();
+        SolverResult cachedResult = getCachedResult(constraints);
+        if (cachedResult != null) {
+            return cachedResult;
         }
 
-        SolverResult solverResult;
-        try {
-            solverResult = executeSolver(constraints);
+        SolverResult solverResult = solveWithoutCache(constraints);
+        saveResult(constraints, solverResult);
+        return solverResult;
+    }
 
-            if (solverResult != null && !solverResult.isUnknown()) {
-                solverCache.saveSolverResult(constraints, solverResult);
+    /**
+     * Returns the result of an earlier query that also solves the given constraint system, if any
+     *
+     * @param constraints a constraint system
+     * @return the cached result, or {@code null} if there is none
+     */
+    public SolverResult getCachedResult(Collection<Constraint<?>> constraints) {
+        synchronized (solverCache) {
+            if (solverCache.hasCachedResult(constraints)) {
+                return solverCache.getCachedResult();
             }
+        }
+        return null;
+    }
+
+    /**
+     * Executes the solver without looking into or updating the cache. Together with
+     * {@link #getCachedResult} and {@link #saveResult}, this allows solving queries
+     * concurrently while the cache is still accessed in a fixed order.
+     *
+     * @param constraints a constraint system to be solved
+     * @return the result, or {@code null} if the solver failed
+     * @throws SolverTimeoutException    a timeout occurred while executing the solver
+     * @throws SolverParseException      the solver's result could not be parsed into a valid SolverResult
+     * @throws SolverEmptyQueryException the solver
+     * @throws SolverErrorException      the solver reported an error after its execution
+     */
+    public SolverResult solveWithoutCache(Collection<Constraint<?>> constraints) throws SolverTimeoutException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+        try {
+            return executeSolver(constraints);
         } catch (IllegalArgumentException | IOException e) {
-            solverResult = null;
+            return null;
         }
+    }
 
-        return solverResult;
+    /**
+     * Saves the result of solving the given constraint system into the cache, unless it is unknown
+     *
+     * @param constraints  a constraint system
+     * @param solverResult the result of solving it, can be {@code null}
+     */
+    public void saveResult(Collection<Constraint<?>> constraints, SolverResult solverResult) {
+        if (solverResult != null && !solverResult.isUnknown()) {
+            synchronized (solverCache) {
+                solverCache.saveSolverResult(constraints, solverResult);
+            }
+        }
     }
 
     /**
@@ -104,13 +145,25 @@ public abstract class Solver {
         return addMissingVariables;
     }
 
+    /**
+     * Returns true if queries can be solved concurrently, i.e., if the solver
+     * does not assign concrete values to the variables of the query while
+     * solving it (it only does it in {@link #checkSAT}, which is
+     * synchronized).
+     *
+     * @return
+     */
+    public boolean supportsConcurrentQueries() {
+        return false;
+    }
+
     /**
      * Returns a mapping from variables to their current concrete values.
      *
      * @param variables
      * @return a mapping from variables to their current concrete values.
      */
-    protected static Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
+    protected static synchronized Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
 
         Map<String, Object> concrete_values = new HashMap<>();
         for (Variable<?> v : variables) {
@@ -183,7 +236,7 @@ public abstract class Solver {
         }
     }
 
-    protected static boolean checkSAT(Collection<Constraint<?>> constraints, SolverResult satResult) {
+    protected static synchronized boolean checkSAT(Collection<Constraint<?>> constraints, SolverResult satResult) {
 
         if (satResult == null) {
             throw new NullPointerException("satResult should be non-null");
@@ -19,13 +19,37 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Cache of solver results.
+ * <p>
+ * Results are looked up by the exact constraint system first. If
+ * {@link Properties#DSE_SOLVER_CACHE_CANONICAL} is set, they are also looked up
+ * by the canonical form of the constraint system (see {@link CanonicalQuery}),
+ * which finds results of systems that only differ in variable names or in the
+ * order of the constraints, and combines the results of independent
+ * sub-systems. A solution found this way is checked against the constraints
+ * before being returned.
+ * <p>
+ * The canonical results can be stored in {@link Properties#DSE_SOLVER_CACHE_FILE}
+ * by {@link #persist()}, and are then reused by later runs.
+ */
 public final class SolverCache {
 
+    private static final Logger logger = LoggerFactory.getLogger(SolverCache.class);
+
     private static final SolverCache instance = new SolverCache();
     private static final String CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE = "The constraint is not cached!";
     private static final String SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE = "Unable to save solver result as its null.";
@@ -39,6 +63,17 @@ public final class SolverCache {
     private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
     private SolverResult cached_solution = null;
 
+    private final HashMap<String, SolverResult> canonical_solver_results = new HashMap<>();
+    private boolean unsaved_canonical_results = false;
+    private String loaded_cache_file = null;
+
+    /**
+     * Canonical form of the last constraint system that was looked up, reused
+     * when the result for the same system is saved right after
+     */
+    private Collection<Constraint<?>> last_constraints = null;
+    private CanonicalQuery last_query = null;
+
     public int getNumberOfUNSATs() {
         return cached_unsat_result_count;
     }
@@ -67,18 +102,170 @@ public final class SolverCache {
 
     public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
         number_of_accesses++;
+        last_constraints = null;
+        last_query = null;
 
         if (this.cached_solver_results.containsKey(constraints)) {
             valid_cached_solution = true;
             cached_solution = this.cached_solver_results.get(constraints);
             number_of_hits++;
             return true;
+        }
+
+        SolverResult canonicalResult = getCanonicalResult(constraints);
+        if (canonicalResult != null) {
+            valid_cached_solution = true;
+            cached_solution = canonicalResult;
+            number_of_hits++;
+            return true;
         } else {
             valid_cached_solution = false;
             return false;
         }
     }
 
+    private SolverResult getCanonicalResult(Collection<Constraint<?>> constraints) {
+        if (!Properties.DSE_SOLVER_CACHE_CANONICAL) {
+            return null;
+        }
+        loadPersistedResults();
+        if (canonical_solver_results.isEmpty()) {
+            return null;
+        }
+
+        CanonicalQuery query = CanonicalQuery.canonicalize(constraints);
+        last_constraints = constraints;
+        last_query = query;
+        if (query == null) {
+            return null;
+        }
+
+        SolverResult result = canonical_solver_results.get(query.getKey());
+        if (result != null && result.isUNSAT()) {
+            return result;
+        }
+
+        Map<String, Object> model = new HashMap<>();
+        for (CanonicalQuery.Component component : query.getComponents()) {
+            SolverResult componentResult = canonical_solver_results.get(component.getKey());
+            if (componentResult == null) {
+                return null;
+            }
+            if (componentResult.isUNSAT()) {
+                // one unsatisfiable sub-system makes the whole system unsatisfiable
+                return componentResult;
+            }
+            model.putAll(component.toOriginalModel(componentResult.getModel()));
+        }
+
+        SolverResult satResult = SolverResult.newSAT(model);
+        try {
+            if (!Solver.checkSAT(constraints, satResult)) {
+                return null;
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not check cached solution: " + e.getMessage());
+            return null;
+        }
+        return satResult;
+    }
+
+    private void saveCanonicalResult(Collection<Constraint<?>> constraints, SolverResult solverResult) {
+        CanonicalQuery query = constraints == last_constraints ? last_query : CanonicalQuery.canonicalize(constraints);
+        last_constraints = null;
+        last_query = null;
+        if (query == null) {
+            return;
+        }
+
+        if (solverResult.isUNSAT()) {
+            canonical_solver_results.put(query.getKey(), solverResult);
+        } else if (solverResult.isSAT()) {
+            // a solution of the system is a solution of each of its sub-systems
+            Map<String, Object> model = solverResult.getModel();
+            for (CanonicalQuery.Component component : query.getComponents()) {
+                canonical_solver_results.put(component.getKey(),
+                        SolverResult.newSAT(component.toCanonicalModel(model)));
+            }
+        }
+        unsaved_canonical_results = true;
+    }
+
+    private void loadPersistedResults() {
+        String cacheFile = Properties.DSE_SOLVER_CACHE_FILE;
+        if (cacheFile == null || cacheFile.equals(loaded_cache_file)) {
+            return;
+        }
+        loaded_cache_file = cacheFile;
+        for (Map.Entry<String, SolverResult> entry : readResults(new File(cacheFile)).entrySet()) {
+            canonical_solver_results.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, SolverResult> readResults(File file) {
+        if (!file.exists()) {
+            return new HashMap<>();
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (Map<String, SolverResult>) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Could not read solver cache " + file + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Stores the canonical results in {@link Properties#DSE_SOLVER_CACHE_FILE},
+     * if set. Results written to the file by other runs in the meantime are
+     * kept.
+     */
+    public void persist() {
+        String cacheFile = Properties.DSE_SOLVER_CACHE_FILE;
+        if (cacheFile == null || !unsaved_canonical_results) {
+            return;
+        }
+
+        File file = new File(cacheFile).getAbsoluteFile();
+        Map<String, SolverResult> results = readResults(file);
+        results.putAll(canonical_solver_results);
+
+        try {
+            file.getParentFile().mkdirs();
+            File tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeObject(new HashMap<>(results));
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            unsaved_canonical_results = false;
+        } catch (IOException e) {
+            logger.warn("Could not write solver cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops all cached results and statistics, e.g. between two runs in the same JVM
+     */
+    public void reset() {
+        number_of_hits = 0;
+        number_of_accesses = 0;
+        cached_sat_result_count = 0;
+        cached_unsat_result_count = 0;
+        valid_cached_solution = false;
+        cached_solver_results.clear();
+        cached_solution = null;
+        canonical_solver_results.clear();
+        unsaved_canonical_results = false;
+        loaded_cache_file = null;
+        last_constraints = null;
+        last_query = null;
+    }
+
     public double getHitRate() {
         return (double) this.number_of_hits / (double) this.number_of_accesses;
     }
@@ -114,6 +301,10 @@ public final class SolverCache {
         } else {
             addSAT(constraints, solverResult);
         }
+
+        if (Properties.DSE_SOLVER_CACHE_CANONICAL) {
+            saveCanonicalResult(constraints, solverResult);
+        }
     }
 
 }
@@ -109,8 +109,13 @@ public final class CVC4Solver extends SmtSolver {
 
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         try {
-            launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
-            String output = stdout.toString("UTF-8");
+            String output;
+            if (Properties.DSE_SOLVER_INCREMENTAL) {
+                output = solveInSession(buildIncrementalCVC4cmd(cvcTimeout), query, (int) cvcTimeout);
+            } else {
+                launchNewSolvingProcess(cmd, smtQueryStr, (int) cvcTimeout, stdout);
+                output = stdout.toString("UTF-8");
+            }
 
             if (output.startsWith("unknown")) {
                 logger.debug("timeout reached when using cvc4");
@@ -267,6 +272,20 @@ public final class CVC4Solver extends SmtSolver {
         return cmd;
     }
 
+    /**
+     * The same options, but the time limit applies to each query instead of
+     * the whole process
+     */
+    private static String buildIncrementalCVC4cmd(long cvcTimeout) {
+        String cmd = Properties.CVC4_PATH;
+        cmd += "  --rewrite-divk";
+        cmd += " --lang smt";
+        cmd += " --finite-model-find";
+        cmd += " --incremental";
+        cmd += " --tlimit-per=" + cvcTimeout;
+        return cmd;
+    }
+
     private static boolean hasNonLinearConstraints(Collection<Constraint<?>> constraints) {
         NonLinearConstraintVisitor v = new NonLinearConstraintVisitor();
         for (Constraint<?> constraint : constraints) {
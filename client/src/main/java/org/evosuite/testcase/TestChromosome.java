@@ -73,6 +73,11 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
      */
     protected MutationHistory<TestMutationHistoryEntry> mutationHistory = new MutationHistory<>();
 
+    /**
+     * Execution result inherited through crossover, valid until the test is changed again
+     */
+    private transient ExecutionResult reusableExecutionResult = null;
+
     /**
      * Secondary objectives used during ranking
      */
@@ -100,6 +105,20 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         if (changed) {
             clearCachedResults();
         }
+        reusableExecutionResult = null;
+    }
+
+    /**
+     * Returns an execution result that is valid for the current test, even though the
+     * test is marked as changed. This is the case after a crossover that only replaced
+     * statements that were never executed (see {@link #crossOver(TestChromosome, int, int)}),
+     * as long as the test is not changed any further.
+     *
+     * @return the result to use instead of executing the test again, or {@code null}
+     * if the test needs to be executed
+     */
+    public ExecutionResult getReusableExecutionResult() {
+        return reusableExecutionResult;
     }
 
     @Override
@@ -186,9 +205,44 @@ public final class TestChromosome extends AbstractTestChromosome<TestChromosome>
         }
         if (!Properties.CHECK_MAX_LENGTH
                 || offspring.test.size() <= Properties.CHROMOSOME_LENGTH) {
+            ExecutionResult reusableResult = getResultOfUnchangedPrefix(position1);
             test = offspring.test;
+            // the offspring is a new individual, even if its execution result can be reused
             setChanged(true);
+            if (reusableResult != null) {
+                reusableResult.setTest(test);
+                reusableExecutionResult = reusableResult;
+            }
+        }
+    }
+
+    /**
+     * If the last execution of this test was stopped by an exception thrown at a position
+     * before the given one, then the statements from that position on were never executed.
+     * Replacing them therefore does not change the outcome of the execution, and the last
+     * execution result can be reused instead of running the test again.
+     *
+     * @param position the first position of the test that is going to be changed
+     * @return a copy of the last execution result, or {@code null} if the test needs to be
+     * executed again
+     */
+    private ExecutionResult getResultOfUnchangedPrefix(int position) {
+        if (!Properties.REUSE_EXECUTION_PREFIX || !Properties.BREAK_ON_EXCEPTION) {
+            return null;
         }
+
+        final ExecutionResult result = isChanged() ? reusableExecutionResult : getLastExecutionResult();
+        if (result == null || result.hasTimeout() || result.hasTestException()
+                || result.noThrownExceptions()) {
+            return null;
+        }
+
+        final Integer exceptionPosition = result.getFirstPositionOfThrownException();
+        if (exceptionPosition == null || exceptionPosition >= position) {
+            return null;
+        }
+
+        return result.clone();
     }
 
 
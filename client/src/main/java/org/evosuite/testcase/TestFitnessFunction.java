@@ -58,7 +58,10 @@ public abstract class TestFitnessFunction
         logger.trace("Executing test case on original");
         ExecutionResult origResult = individual.getLastExecutionResult();
         if (origResult == null || individual.isChanged()) {
-            origResult = runTest(individual.test);
+            origResult = individual.getReusableExecutionResult();
+            if (origResult == null) {
+                origResult = runTest(individual.test);
+            }
             individual.setLastExecutionResult(origResult);
             individual.setChanged(false);
         }
@@ -154,7 +157,10 @@ public abstract class TestFitnessFunction
 
         ExecutionResult result = tc.getLastExecutionResult();
         if (result == null || tc.isChanged()) {
-            result = runTest(tc.test);
+            result = tc.getReusableExecutionResult();
+            if (result == null) {
+                result = runTest(tc.test);
+            }
             tc.setLastExecutionResult(result);
             tc.setChanged(false);
         }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.branch.BranchPool;
+
+import java.util.*;
+
+/**
+ * Execution trace that keeps the per-branch data (execution counts, covered
+ * sides, minimum and summed distances) in dense primitive arrays indexed by the
+ * branch ids assigned by {@link BranchPool}, rather than in synchronized maps
+ * of boxed values.
+ * <p>
+ * Recording a passed branch does not allocate once the arrays are large enough
+ * for the branch id, and does not synchronize: a trace is only written by the
+ * thread executing the test (see
+ * {@link ExecutionTracer#isThreadNeqCurrentThread()}). The map based views
+ * required by {@link ExecutionTrace} are built on demand and cached until the
+ * next branch is passed.
+ * <p>
+ * Everything else (method calls, lines, def-use, mutants, contexts) is handled
+ * by {@link ExecutionTraceImpl}.
+ */
+public class ArrayExecutionTraceImpl extends ExecutionTraceImpl {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Number of times each predicate was executed (only if coverage is traced)
+     */
+    private int[] predicateCount;
+
+    private double[] minTrueDistance;
+
+    private double[] minFalseDistance;
+
+    private double[] sumTrueDistance;
+
+    private double[] sumFalseDistance;
+
+    /**
+     * Predicates for which there is a distance
+     */
+    private BitSet reached;
+
+    /**
+     * Predicates that were executed at least once while coverage was traced
+     */
+    private BitSet counted;
+
+    private BitSet coveredTrueSides;
+
+    private BitSet coveredFalseSides;
+
+    // Lazily built views, reset whenever a branch is passed
+    private Map<Integer, Integer> predicateCountView = null;
+    private Map<Integer, Double> trueDistanceView = null;
+    private Map<Integer, Double> falseDistanceView = null;
+    private Map<Integer, Double> trueDistanceSumView = null;
+    private Map<Integer, Double> falseDistanceSumView = null;
+
+    /**
+     * <p>
+     * Constructor for ArrayExecutionTraceImpl.
+     * </p>
+     */
+    public ArrayExecutionTraceImpl() {
+        this(BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+                .getBranchCounter() + 1);
+    }
+
+    /**
+     * @param capacity initial number of branch ids that can be stored without
+     *                 growing the arrays
+     */
+    public ArrayExecutionTraceImpl(int capacity) {
+        super();
+        allocate(Math.max(capacity, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        predicateCount = new int[capacity];
+        minTrueDistance = new double[capacity];
+        minFalseDistance = new double[capacity];
+        sumTrueDistance = new double[capacity];
+        sumFalseDistance = new double[capacity];
+        reached = new BitSet(capacity);
+        counted = new BitSet(capacity);
+        coveredTrueSides = new BitSet(capacity);
+        coveredFalseSides = new BitSet(capacity);
+    }
+
+    private void ensureCapacity(int branch) {
+        if (branch < predicateCount.length)
+            return;
+
+        int capacity = Math.max(branch + 1, predicateCount.length * 2);
+        predicateCount = Arrays.copyOf(predicateCount, capacity);
+        minTrueDistance = Arrays.copyOf(minTrueDistance, capacity);
+        minFalseDistance = Arrays.copyOf(minFalseDistance, capacity);
+        sumTrueDistance = Arrays.copyOf(sumTrueDistance, capacity);
+        sumFalseDistance = Arrays.copyOf(sumFalseDistance, capacity);
+    }
+
+    private void invalidateViews() {
+        predicateCountView = null;
+        trueDistanceView = null;
+        falseDistanceView = null;
+        trueDistanceSumView = null;
+        falseDistanceSumView = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+        ensureCapacity(branch);
+        predicateCount[branch]++;
+        counted.set(branch);
+        if (true_distance == 0.0)
+            coveredTrueSides.set(branch);
+        if (false_distance == 0.0)
+            coveredFalseSides.set(branch);
+        predicateCountView = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
+        ensureCapacity(branch);
+        if (reached.get(branch)) {
+            if (true_distance < minTrueDistance[branch])
+                minTrueDistance[branch] = true_distance;
+            if (false_distance < minFalseDistance[branch])
+                minFalseDistance[branch] = false_distance;
+            sumTrueDistance[branch] += true_distance;
+            sumFalseDistance[branch] += false_distance;
+        } else {
+            reached.set(branch);
+            minTrueDistance[branch] = true_distance;
+            minFalseDistance[branch] = false_distance;
+            sumTrueDistance[branch] = true_distance;
+            sumFalseDistance[branch] = false_distance;
+        }
+        invalidateViews();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isCoveredTrue(int branch) {
+        return coveredTrueSides.get(branch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isCoveredFalse(int branch) {
+        return coveredFalseSides.get(branch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        int capacity = predicateCount.length;
+        Arrays.fill(predicateCount, 0);
+        Arrays.fill(minTrueDistance, 0.0);
+        Arrays.fill(minFalseDistance, 0.0);
+        Arrays.fill(sumTrueDistance, 0.0);
+        Arrays.fill(sumFalseDistance, 0.0);
+        reached = new BitSet(capacity);
+        counted = new BitSet(capacity);
+        coveredTrueSides = new BitSet(capacity);
+        coveredFalseSides = new BitSet(capacity);
+        invalidateViews();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ExecutionTraceImpl newInstance() {
+        return new ArrayExecutionTraceImpl(predicateCount.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Create a deep copy
+     */
+    @Override
+    public ArrayExecutionTraceImpl clone() {
+        ArrayExecutionTraceImpl copy = (ArrayExecutionTraceImpl) super.clone();
+        copy.predicateCount = predicateCount.clone();
+        copy.minTrueDistance = minTrueDistance.clone();
+        copy.minFalseDistance = minFalseDistance.clone();
+        copy.sumTrueDistance = sumTrueDistance.clone();
+        copy.sumFalseDistance = sumFalseDistance.clone();
+        copy.reached = (BitSet) reached.clone();
+        copy.counted = (BitSet) counted.clone();
+        copy.coveredTrueSides = (BitSet) coveredTrueSides.clone();
+        copy.coveredFalseSides = (BitSet) coveredFalseSides.clone();
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getTrueDistance(int branchId) {
+        if (!hasTrueDistance(branchId))
+            throw new IllegalArgumentException("No distance for branch " + branchId);
+        return minTrueDistance[branchId];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFalseDistance(int branchId) {
+        if (!hasFalseDistance(branchId))
+            throw new IllegalArgumentException("No distance for branch " + branchId);
+        return minFalseDistance[branchId];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasTrueDistance(int predicateId) {
+        return predicateId >= 0 && reached.get(predicateId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasFalseDistance(int predicateId) {
+        return predicateId >= 0 && reached.get(predicateId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getCoveredTrueBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1)) {
+            if (minTrueDistance[i] == 0.0)
+                covered.add(i);
+        }
+        return covered;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getCoveredFalseBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1)) {
+            if (minFalseDistance[i] == 0.0)
+                covered.add(i);
+        }
+        return covered;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getCoveredPredicates() {
+        return getPredicateExecutionCount().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Integer> getPredicateExecutionCount() {
+        if (predicateCountView == null) {
+            Map<Integer, Integer> view = new LinkedHashMap<>();
+            for (int i = counted.nextSetBit(0); i >= 0; i = counted.nextSetBit(i + 1)) {
+                view.put(i, predicateCount[i]);
+            }
+            predicateCountView = Collections.unmodifiableMap(view);
+        }
+        return predicateCountView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getTrueDistances() {
+        if (trueDistanceView == null)
+            trueDistanceView = createDistanceView(minTrueDistance);
+        return trueDistanceView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getFalseDistances() {
+        if (falseDistanceView == null)
+            falseDistanceView = createDistanceView(minFalseDistance);
+        return falseDistanceView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getTrueDistancesSum() {
+        if (trueDistanceSumView == null)
+            trueDistanceSumView = createDistanceView(sumTrueDistance);
+        return trueDistanceSumView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, Double> getFalseDistancesSum() {
+        if (falseDistanceSumView == null)
+            falseDistanceSumView = createDistanceView(sumFalseDistance);
+        return falseDistanceSumView;
+    }
+
+    private Map<Integer, Double> createDistanceView(double[] distances) {
+        Map<Integer, Double> view = new LinkedHashMap<>();
+        for (int i = reached.nextSetBit(0); i >= 0; i = reached.nextSetBit(i + 1)) {
+            view.put(i, distances[i]);
+        }
+        return Collections.unmodifiableMap(view);
+    }
+}
@@ -284,6 +284,18 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
     }
 
+    /**
+     * Create a new trace with the backend selected by
+     * {@link Properties#EXECUTION_TRACE_TYPE}
+     *
+     * @return a new, empty trace
+     */
+    public static ExecutionTraceImpl createTrace() {
+        if (Properties.EXECUTION_TRACE_TYPE == Properties.ExecutionTraceType.ARRAY)
+            return new ArrayExecutionTraceImpl();
+        return new ExecutionTraceImpl();
+    }
+
     /**
      * <p>
      * addProxy
@@ -321,32 +333,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         }
 
         if (traceCoverage) {
-            if (!coveredPredicates.containsKey(branch))
-                coveredPredicates.put(branch, 1);
-            else
-                coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-            if (true_distance == 0.0) {
-                if (!coveredTrue.containsKey(branch))
-                    coveredTrue.put(branch, 1);
-                else
-                    coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-            }
-
-            if (false_distance == 0.0) {
-                if (!coveredFalse.containsKey(branch))
-                    coveredFalse.put(branch, 1);
-                else
-                    coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-            }
+            updateBranchCoverage(branch, true_distance, false_distance);
         }
 
         if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
             if (gradientBranches.contains(branch)) {
-                if ((coveredTrue.containsKey(branch)))
+                if (isCoveredTrue(branch))
                     gradientBranchesCoveredTrue.add(branch);
-                if ((coveredFalse.containsKey(branch)))
+                if (isCoveredFalse(branch))
                     gradientBranchesCoveredFalse.add(branch);
             }
         }
@@ -359,8 +353,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                     .getInstruction().getASMNode().getPrevious() != null)
                 previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
                         .getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-            boolean cTrue = coveredTrue.containsKey(branch);
-            boolean cFalse = coveredFalse.containsKey(branch);
+            boolean cTrue = isCoveredTrue(branch);
+            boolean cFalse = isCoveredFalse(branch);
             switch (previousOpcode) {
                 case Opcodes.LCMP:
                     trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -447,6 +441,59 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
 
+        updateBranchDistances(branch, true_distance, false_distance);
+
+        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+            updateBranchContextMaps(branch, true_distance, false_distance);
+        }
+
+        // This requires a lot of memory and should not really be used
+        if (Properties.BRANCH_EVAL) {
+            branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
+        }
+    }
+
+    /**
+     * Count the execution of the given predicate and of the sides of it that
+     * were taken
+     *
+     * @param branch
+     * @param true_distance
+     * @param false_distance
+     */
+    protected void updateBranchCoverage(int branch, double true_distance, double false_distance) {
+        if (!coveredPredicates.containsKey(branch))
+            coveredPredicates.put(branch, 1);
+        else
+            coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+
+        if (true_distance == 0.0) {
+            if (!coveredTrue.containsKey(branch))
+                coveredTrue.put(branch, 1);
+            else
+                coveredTrue.put(branch, coveredTrue.get(branch) + 1);
+
+        }
+
+        if (false_distance == 0.0) {
+            if (!coveredFalse.containsKey(branch))
+                coveredFalse.put(branch, 1);
+            else
+                coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+        }
+    }
+
+    /**
+     * Keep the minimum and the sum of the true/false distances of the given
+     * predicate
+     *
+     * @param branch
+     * @param true_distance
+     * @param false_distance
+     */
+    protected void updateBranchDistances(int branch, double true_distance, double false_distance) {
         if (!trueDistances.containsKey(branch))
             trueDistances.put(branch, true_distance);
         else
@@ -466,17 +513,22 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             falseDistancesSum.put(branch, false_distance);
         else
             falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
+    }
 
-        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
-            updateBranchContextMaps(branch, true_distance, false_distance);
-        }
+    /**
+     * @param branch
+     * @return true if the true side of the given predicate was taken
+     */
+    protected boolean isCoveredTrue(int branch) {
+        return coveredTrue.containsKey(branch);
+    }
 
-        // This requires a lot of memory and should not really be used
-        if (Properties.BRANCH_EVAL) {
-            branchesTrace.add(new BranchEval(branch, true_distance, false_distance));
-        }
+    /**
+     * @param branch
+     * @return true if the false side of the given predicate was taken
+     */
+    protected boolean isCoveredFalse(int branch) {
+        return coveredFalse.containsKey(branch);
     }
 
     /**
@@ -575,7 +627,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     @Override
     public ExecutionTraceImpl clone() {
 
-        ExecutionTraceImpl copy = new ExecutionTraceImpl();
+        ExecutionTraceImpl copy = newInstance();
         for (MethodCall call : finishedCalls) {
             copy.finishedCalls.add(call.clone());
         }
@@ -623,6 +675,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         return copy;
     }
 
+    /**
+     * Create an empty trace of the same kind as this one
+     *
+     * @return a new, empty trace
+     */
+    protected ExecutionTraceImpl newInstance() {
+        return new ExecutionTraceImpl();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -1657,15 +1718,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nCovered predicates: ");
-        for (Entry<Integer, Integer> entry : coveredPredicates.entrySet()) {
+        for (Entry<Integer, Integer> entry : getPredicateExecutionCount().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nTrue distances: ");
-        for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : getTrueDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nFalse distances: ");
-        for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : getFalseDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         return ret.toString();
@@ -46,7 +46,7 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
      * </p>
      */
     public ExecutionTraceProxy() {
-        this.trace = new ExecutionTraceImpl();
+        this.trace = ExecutionTraceImpl.createTrace();
     }
 
     /**
@@ -19,16 +19,19 @@
  */
 package org.evosuite.testcase.execution;
 
+import org.evosuite.Properties;
 import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.instrumentation.testability.BooleanHelper;
+import org.evosuite.runtime.LoopCounter;
 import org.evosuite.seeding.ConstantPoolManager;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -237,6 +240,17 @@ public class ExecutionTracer {
         // return copy;
     }
 
+    /**
+     * Return the mutants touched so far in the current execution. Unlike
+     * {@link #getTrace()}, this does not close the calls that are still open,
+     * and so it can be used while a test is being executed
+     *
+     * @return a {@link java.util.Set} object.
+     */
+    public Set<Integer> getTouchedMutants() {
+        return trace.getTouchedMutants();
+    }
+
     /**
      * Return the last explicitly thrown exception
      *
@@ -376,6 +390,10 @@ public class ExecutionTracer {
     }
 
     private static boolean isInStaticInit() {
+        if (Properties.MAX_LOOP_ITERATIONS >= 0) {
+            // static initializers are then instrumented to keep track of this
+            return LoopCounter.getInstance().isInStaticInit();
+        }
         for (StackTraceElement elem : Thread.currentThread().getStackTrace()) {
             if (elem.getMethodName().equals("<clinit>"))
                 return true;
@@ -25,6 +25,7 @@
 package org.evosuite.testcase.execution;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class MethodCall implements Cloneable {
@@ -39,6 +40,13 @@ public class MethodCall implements Cloneable {
     public int callingObjectID;
     public int callDepth;
 
+    /**
+     * Minimal distances of each branch in branchTrace, built on first use as
+     * the distances to all branch goals of a method are computed on the same
+     * calls
+     */
+    private BranchDistances branchDistances = null;
+
     /**
      * <p>Constructor for MethodCall.</p>
      *
@@ -62,6 +70,62 @@ public class MethodCall implements Cloneable {
         this.callDepth = callDepth;
     }
 
+    /**
+     * Returns the minimal true (if value is true) or false distance traced for
+     * the branch with the given id in this call, or -1 if the branch was not
+     * traced.
+     *
+     * @param branchId a int.
+     * @param value    a boolean.
+     * @return a double.
+     */
+    public double getMinBranchDistance(int branchId, boolean value) {
+        BranchDistances distances = branchDistances;
+        if (distances == null || distances.traceLength != branchTrace.size()) {
+            distances = new BranchDistances(branchTrace, trueDistanceTrace, falseDistanceTrace);
+            branchDistances = distances;
+        }
+        int index = Arrays.binarySearch(distances.branchIds, branchId);
+        if (index < 0)
+            return -1;
+        return value ? distances.minTrueDistances[index] : distances.minFalseDistances[index];
+    }
+
+    /**
+     * The distinct ids of a branch trace in ascending order, with the minimal
+     * true and false distance traced for each of them
+     */
+    private static final class BranchDistances {
+        private final int traceLength;
+        private final int[] branchIds;
+        private final double[] minTrueDistances;
+        private final double[] minFalseDistances;
+
+        private BranchDistances(List<Integer> branchTrace, List<Double> trueDistanceTrace,
+                                List<Double> falseDistanceTrace) {
+            traceLength = branchTrace.size();
+            int[] ids = new int[traceLength];
+            for (int i = 0; i < traceLength; i++)
+                ids[i] = branchTrace.get(i);
+            Arrays.sort(ids);
+            int distinct = 0;
+            for (int i = 0; i < traceLength; i++) {
+                if (distinct == 0 || ids[distinct - 1] != ids[i])
+                    ids[distinct++] = ids[i];
+            }
+            branchIds = Arrays.copyOf(ids, distinct);
+            minTrueDistances = new double[distinct];
+            minFalseDistances = new double[distinct];
+            Arrays.fill(minTrueDistances, Double.MAX_VALUE);
+            Arrays.fill(minFalseDistances, Double.MAX_VALUE);
+            for (int i = 0; i < traceLength; i++) {
+                int index = Arrays.binarySearch(branchIds, branchTrace.get(i));
+                minTrueDistances[index] = Math.min(minTrueDistances[index], trueDistanceTrace.get(i));
+                minFalseDistances[index] = Math.min(minFalseDistances[index], falseDistanceTrace.get(i));
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
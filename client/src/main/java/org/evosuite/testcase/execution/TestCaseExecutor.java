@@ -260,11 +260,17 @@ public class TestCaseExecutor implements ThreadFactory {
 
     /**
      * Execute a test case on a new scope
+     * <p>
+     * Executions are serialized: the instrumented code reports to global state
+     * (e.g. {@link ExecutionTracer}), so only one test may run at a time even if
+     * several threads request executions (see {@link TestExecutionPipeline}).
+     * Callers that need to read global observers after the execution should
+     * synchronize on this executor for the whole sequence.
      *
      * @param tc a {@link org.evosuite.testcase.TestCase} object.
      * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
      */
-    public ExecutionResult execute(TestCase tc, int timeout) {
+    public synchronized ExecutionResult execute(TestCase tc, int timeout) {
         Scope scope = new Scope();
         ExecutionResult result = execute(tc, scope, timeout);
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.testcase.TestChromosome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Executes the tests of a batch of individuals ahead of their fitness
+ * evaluation, on a background thread and in the order in which they will be
+ * evaluated. While the search thread computes the fitness of individual i
+ * from its cached {@link ExecutionResult}, individual i+1 is already being
+ * executed.
+ * <p>
+ * The instrumented code reports to process-wide singletons
+ * ({@link ExecutionTracer}, the mocked runtime, the static state of the CUT),
+ * so at most one test can be executing at any time: every execution still goes
+ * through {@link TestCaseExecutor}, which serializes them. What runs in parallel
+ * is the execution of one test and the fitness computation of another.
+ * <p>
+ * Results are stored in the individuals exactly as a fitness function would
+ * do it ({@link TestChromosome#setLastExecutionResult(ExecutionResult)} and
+ * clearing the changed flag), hence the fitness values do not depend on
+ * whether the pipeline is used or not.
+ */
+public class TestExecutionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestExecutionPipeline.class);
+
+    private static final String THREAD_NAME = "EvoSuite_Execution_Pipeline";
+
+    private ExecutorService worker = null;
+
+    private ExecutorService getWorker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, THREAD_NAME);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return worker;
+    }
+
+    /**
+     * Schedule the execution of all individuals in the batch that do not have
+     * an up-to-date execution result
+     *
+     * @param batch individuals in the order in which they will be evaluated
+     * @return one future per individual, in the same order as the batch
+     */
+    public List<Future<ExecutionResult>> submit(List<TestChromosome> batch) {
+        List<Future<ExecutionResult>> executions = new ArrayList<>(batch.size());
+        for (TestChromosome individual : batch) {
+            if (individual.getReusableExecutionResult() != null) {
+                // the fitness function takes it over, there is nothing to execute
+                executions.add(CompletableFuture.completedFuture(individual.getReusableExecutionResult()));
+            } else if (individual.isChanged() || individual.getLastExecutionResult() == null) {
+                executions.add(getWorker().submit(() -> execute(individual)));
+            } else {
+                executions.add(CompletableFuture.completedFuture(individual.getLastExecutionResult()));
+            }
+        }
+        return executions;
+    }
+
+    private ExecutionResult execute(TestChromosome individual) {
+        ExecutionResult result = TestCaseExecutor.runTest(individual.getTestCase());
+        individual.setLastExecutionResult(result);
+        individual.setChanged(false);
+        return result;
+    }
+
+    /**
+     * Wait until the given execution is done. If it failed, the individual
+     * keeps its changed flag and will be executed again by the fitness
+     * function on the search thread.
+     *
+     * @param execution a future returned by {@link #submit(List)}
+     */
+    public void await(Future<ExecutionResult> execution) {
+        try {
+            execution.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException | ExecutionException e) {
+            logger.debug("Pipelined execution failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cancel all executions of a batch that have not started yet, and wait
+     * for the one that is currently running. After this method returns no test
+     * of the batch is being executed anymore.
+     *
+     * @param executions the futures returned by {@link #submit(List)}
+     */
+    public void cancel(List<Future<ExecutionResult>> executions) {
+        for (Future<ExecutionResult> execution : executions) {
+            execution.cancel(false);
+        }
+        if (worker != null) {
+            // The queue is FIFO, so once this marker has run, nothing submitted before is running
+            await(worker.<ExecutionResult>submit(() -> null));
+        }
+    }
+
+    /**
+     * Stop the background thread
+     */
+    public void shutdown() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+}
@@ -31,11 +31,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This class implements the actual invocation to the __STATIC_RESET() method
- * when a class is decided to be re-initialized
+ * when a class is decided to be re-initialized, or the restoring of the
+ * static state captured after that invocation
  *
  * @author galeotti
  */
@@ -45,6 +50,17 @@ class ClassReInitializeExecutor {
 
     private static final ClassReInitializeExecutor instance = new ClassReInitializeExecutor();
 
+    /**
+     * Static state of the classes captured right after their re-initialization,
+     * used with {@link Properties.StaticResetMode#SNAPSHOT}
+     */
+    private final Map<Class<?>, StaticFieldSnapshot> snapshots = new HashMap<>();
+
+    /**
+     * Classes whose static state cannot be captured, and are thus always re-initialized
+     */
+    private final Set<Class<?>> classesWithoutSnapshot = new HashSet<>();
+
     private ClassReInitializeExecutor() {
     }
 
@@ -52,6 +68,16 @@ class ClassReInitializeExecutor {
         return instance;
     }
 
+    /**
+     * Forgets the captured static state. The snapshots refer to the classes and
+     * to objects of the SUT, so they must not outlive the class loader that
+     * loaded them
+     */
+    public void clearSnapshots() {
+        snapshots.clear();
+        classesWithoutSnapshot.clear();
+    }
+
     /**
      * Resets the classes in the list using the Class Loader from the current
      * Test Generation context
@@ -110,7 +136,10 @@ class ClassReInitializeExecutor {
             Method resetMethod = ClassResetter.getInstance().getResetMethod(className);
             if (resetMethod != null) {
                 LoopCounter.getInstance().setActive(false);
-                resetMethod.invoke(null, (Object[]) null);
+                if (!restoreSnapshot(resetMethod.getDeclaringClass())) {
+                    resetMethod.invoke(null, (Object[]) null);
+                    captureSnapshot(resetMethod.getDeclaringClass());
+                }
             }
         } catch (Throwable e) {
             ClassResetter.getInstance().logWarn(className,
@@ -123,4 +152,44 @@ class ClassReInitializeExecutor {
             LoopCounter.getInstance().setActive(wasLoopCheckOn);
         }
     }
+
+    /**
+     * @return {@code true} if the static state of the class was restored from a snapshot
+     */
+    private boolean restoreSnapshot(Class<?> clazz) {
+        if (Properties.STATIC_RESET_MODE != Properties.StaticResetMode.SNAPSHOT) {
+            return false;
+        }
+        StaticFieldSnapshot snapshot = snapshots.get(clazz);
+        if (snapshot == null) {
+            return false;
+        }
+        try {
+            snapshot.restore();
+            return true;
+        } catch (Throwable e) {
+            logger.debug("Cannot restore static state of class " + clazz.getName() + ": " + e);
+            snapshots.remove(clazz);
+            classesWithoutSnapshot.add(clazz);
+            return false;
+        }
+    }
+
+    private void captureSnapshot(Class<?> clazz) {
+        if (Properties.STATIC_RESET_MODE != Properties.StaticResetMode.SNAPSHOT
+                || classesWithoutSnapshot.contains(clazz)) {
+            return;
+        }
+        StaticFieldSnapshot snapshot = null;
+        try {
+            snapshot = StaticFieldSnapshot.capture(clazz);
+        } catch (Throwable e) {
+            logger.debug("Cannot capture static state of class " + clazz.getName() + ": " + e);
+        }
+        if (snapshot == null) {
+            classesWithoutSnapshot.add(clazz);
+        } else {
+            snapshots.put(clazz, snapshot);
+        }
+    }
 }
@@ -54,6 +54,7 @@ public class ClassReInitializer {
 
     public static void resetSingleton() {
         instance = null;
+        ClassReInitializeExecutor.getInstance().clearSnapshots();
     }
 
     public static ClassReInitializer getInstance() {
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The values of the static fields of a class right after its initialization,
+ * which can be restored instead of executing the class initializer again.
+ * <p>
+ * Immutable values (including unmodifiable collections of immutable values)
+ * are restored by assignment. Arrays and the standard collections and maps are
+ * restored in place, so that other references to them (eg unmodifiable views)
+ * see the restored content as well. Classes with static fields of any other
+ * mutable type are not supported.
+ */
+final class StaticFieldSnapshot {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, Class.class));
+
+    /**
+     * Prefixes of the names of the JDK collections that cannot be modified
+     * (eg Collections.unmodifiableList())
+     */
+    private static final String[] UNMODIFIABLE_TYPE_PREFIXES = {
+            "java.util.Collections$Unmodifiable", "java.util.Collections$Empty",
+            "java.util.Collections$Singleton", "java.util.ImmutableCollections$"};
+
+    private static final Set<Class<?>> COLLECTION_TYPES = new HashSet<>(Arrays.asList(
+            ArrayList.class, LinkedList.class, Vector.class, ArrayDeque.class,
+            HashSet.class, LinkedHashSet.class, TreeSet.class, CopyOnWriteArrayList.class));
+
+    private static final Set<Class<?>> MAP_TYPES = new HashSet<>(Arrays.asList(
+            HashMap.class, LinkedHashMap.class, TreeMap.class, Hashtable.class, ConcurrentHashMap.class));
+
+    private final Field[] fields;
+
+    /**
+     * The object each field referred to
+     */
+    private final Object[] values;
+
+    /**
+     * A copy of the content of each array, collection or map, null for immutable values
+     */
+    private final Object[] contents;
+
+    private StaticFieldSnapshot(Field[] fields, Object[] values, Object[] contents) {
+        this.fields = fields;
+        this.values = values;
+        this.contents = contents;
+    }
+
+    /**
+     * @param clazz an initialized class
+     * @return the snapshot of the static fields of the class, or {@code null}
+     * if some field refers to a mutable object that cannot be restored
+     * @throws IllegalAccessException if a field cannot be read
+     */
+    public static StaticFieldSnapshot capture(Class<?> clazz) throws IllegalAccessException {
+        List<Field> fields = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<Object> contents = new ArrayList<>();
+
+        for (Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            Object value = field.get(null);
+
+            Object content;
+            if (isImmutable(value)) {
+                if (Modifier.isFinal(field.getModifiers())) {
+                    // can neither be assigned nor modified
+                    continue;
+                }
+                content = null;
+            } else if (value.getClass().isArray()) {
+                if (!value.getClass().getComponentType().isPrimitive()
+                        && !areImmutable(Arrays.asList((Object[]) value))) {
+                    return null;
+                }
+                int length = Array.getLength(value);
+                content = Array.newInstance(value.getClass().getComponentType(), length);
+                System.arraycopy(value, 0, content, 0, length);
+            } else if (COLLECTION_TYPES.contains(value.getClass())) {
+                Collection<?> collection = (Collection<?>) value;
+                if (!areImmutable(collection)) {
+                    return null;
+                }
+                content = new ArrayList<Object>(collection);
+            } else if (MAP_TYPES.contains(value.getClass())) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                if (!areImmutable(map.keySet()) || !areImmutable(map.values())) {
+                    return null;
+                }
+                List<Map.Entry<?, ?>> entries = new ArrayList<>(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+                }
+                content = entries;
+            } else {
+                return null;
+            }
+
+            fields.add(field);
+            values.add(value);
+            contents.add(content);
+        }
+
+        return new StaticFieldSnapshot(fields.toArray(new Field[0]), values.toArray(), contents.toArray());
+    }
+
+    /**
+     * Set the static fields back to the captured objects, and these objects back
+     * to the captured content
+     *
+     * @throws IllegalAccessException if a field cannot be written
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void restore() throws IllegalAccessException {
+        for (int i = 0; i < fields.length; i++) {
+            Object value = values[i];
+            if (!Modifier.isFinal(fields[i].getModifiers())) {
+                fields[i].set(null, value);
+            }
+
+            Object content = contents[i];
+            if (content == null) {
+                continue;
+            }
+            if (value.getClass().isArray()) {
+                System.arraycopy(content, 0, value, 0, Array.getLength(content));
+            } else if (value instanceof Collection) {
+                Collection collection = (Collection) value;
+                collection.clear();
+                collection.addAll((Collection) content);
+            } else {
+                Map map = (Map) value;
+                map.clear();
+                for (Map.Entry<?, ?> entry : (List<Map.Entry<?, ?>>) content) {
+                    map.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        if (value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass())) {
+            return true;
+        }
+        if (!isUnmodifiable(value.getClass())) {
+            return false;
+        }
+        if (value instanceof Collection) {
+            return areImmutable((Collection<?>) value);
+        }
+        if (value instanceof Map) {
+            return areImmutable(((Map<?, ?>) value).keySet()) && areImmutable(((Map<?, ?>) value).values());
+        }
+        return false;
+    }
+
+    private static boolean isUnmodifiable(Class<?> type) {
+        for (String prefix : UNMODIFIABLE_TYPE_PREFIXES) {
+            if (type.getName().startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean areImmutable(Collection<?> values) {
+        for (Object value : values) {
+            if (!isImmutable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
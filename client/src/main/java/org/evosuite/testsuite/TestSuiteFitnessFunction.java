@@ -92,7 +92,10 @@ public abstract class TestSuiteFitnessFunction extends FitnessFunction<TestSuite
         for (TestChromosome chromosome : suite.getTestChromosomes()) {
             // Only execute test if it hasn't been changed
             if (chromosome.isChanged() || chromosome.getLastExecutionResult() == null) {
-                ExecutionResult result = chromosome.executeForFitnessFunction(this);
+                ExecutionResult result = chromosome.getReusableExecutionResult();
+                if (result == null) {
+                    result = chromosome.executeForFitnessFunction(this);
+                }
 
                 if (result != null) {
                     results.add(result);
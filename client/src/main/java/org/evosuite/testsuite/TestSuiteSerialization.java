@@ -21,6 +21,7 @@ package org.evosuite.testsuite;
 
 import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.util.Inputs;
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.utils.DebuggingObjectOutputStream;
@@ -30,53 +31,71 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Created by Andrea Arcuri on 08/06/15.
+ * <p>
+ * Tests are written in a versioned container: a header ({@link #MAGIC} and
+ * {@link #FORMAT_VERSION}) followed by one block per test. A block is the
+ * varint-encoded length of its content, followed by the content: the
+ * serialized {@link TestCase} (without the fitness values, mutation history
+ * and other search data of its chromosome), deflated. Blocks are written and
+ * read one at a time, and each test is decoded on its own, so a test that
+ * cannot be decoded anymore (e.g., because the CUT changed) does not prevent
+ * loading the following ones.
+ * <p>
+ * Files in the previous format (a plain object stream of chromosomes) can
+ * still be loaded.
  */
 public class TestSuiteSerialization {
 
     private static final Logger logger = LoggerFactory.getLogger(TestSuiteSerialization.class);
 
+    /**
+     * First bytes of a file in the block format: "EVST"
+     */
+    private static final int MAGIC = 0x45565354;
 
-    public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException {
-        Inputs.checkNull(list, target);
+    private static final int FORMAT_VERSION = 1;
 
-        File parent = target.getParentFile();
-        if (!parent.exists()) {
-            parent.mkdirs();
-        }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
-            for (TestSuiteChromosome ts : list) {
-                for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
-                }
-            }
+    public static boolean saveTests(List<TestSuiteChromosome> list, File target) throws IllegalArgumentException {
+        Inputs.checkNull(list, target);
 
-            out.flush();
-            out.close();
-        } catch (IOException e) {
-            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
-            return false;
+        List<TestChromosome> tests = new ArrayList<>();
+        for (TestSuiteChromosome ts : list) {
+            tests.addAll(ts.getTestChromosomes());
         }
-
-        return true;
+        return writeTests(tests, target);
     }
 
     public static boolean saveTests(TestSuiteChromosome ts, File target) throws IllegalArgumentException {
+        return writeTests(ts.getTestChromosomes(), target);
+    }
+
+    private static boolean writeTests(List<TestChromosome> tests, File target) {
         File parent = target.getParentFile();
         if (!parent.exists()) {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
-            for (TestChromosome tc : ts.getTestChromosomes()) {
-                out.writeObject(tc);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            writeVarInt(out, FORMAT_VERSION);
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            for (TestChromosome tc : tests) {
+                block.reset();
+                try (ObjectOutputStream blockOut = new DebuggingObjectOutputStream(new DeflaterOutputStream(block))) {
+                    blockOut.writeObject(tc.getTestCase());
+                }
+                writeVarInt(out, block.size());
+                block.writeTo(out);
             }
 
             out.flush();
-            out.close();
         } catch (IOException e) {
             logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
             return false;
@@ -85,7 +104,6 @@ public class TestSuiteSerialization {
         return true;
     }
 
-
     public static boolean saveTests(List<TestSuiteChromosome> ts, File folder, String fileName) throws IllegalArgumentException {
         Inputs.checkNull(ts, folder, fileName);
 
@@ -112,7 +130,67 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(target))) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(target)))) {
+            in.mark(Integer.BYTES);
+            int magic;
+            try {
+                magic = in.readInt();
+            } catch (EOFException e) {
+                return list;
+            }
+
+            if (magic == MAGIC) {
+                readBlocks(in, target, list);
+            } else {
+                in.reset();
+                readObjectStream(in, target, list);
+            }
+        } catch (FileNotFoundException e) {
+            logger.warn("Cannot load tests because file does not exist: " + target.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
+        }
+
+        return list;
+    }
+
+    private static void readBlocks(DataInputStream in, File target, List<TestChromosome> list) throws IOException {
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            logger.warn("Unsupported version " + version + " of serialized tests in " + target.getAbsolutePath());
+            return;
+        }
+
+        byte[] block = new byte[0];
+        while (true) {
+            int length;
+            try {
+                length = readVarInt(in);
+            } catch (EOFException e) {
+                break;
+            }
+            if (block.length < length) {
+                block = new byte[length];
+            }
+            in.readFully(block, 0, length);
+
+            try (ObjectInputStream blockIn = new ObjectInputStream(
+                    new InflaterInputStream(new ByteArrayInputStream(block, 0, length)))) {
+                TestCase test = (TestCase) blockIn.readObject();
+                list.add(toChromosome(test));
+            } catch (Exception e) {
+                //this might fail if old version is used, and EvoSuite got updated, or the CUT changed
+                logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Format used before the block format: chromosomes written to a single
+     * object stream
+     */
+    private static void readObjectStream(InputStream input, File target, List<TestChromosome> list) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(input)) {
 
             try {
                 Object obj = in.readObject();
@@ -133,14 +211,38 @@ public class TestSuiteSerialization {
             } catch (Exception e) {
                 logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
             }
+        }
+    }
 
-            in.close();
-        } catch (FileNotFoundException e) {
-            logger.warn("Cannot load tests because file does not exist: " + target.getAbsolutePath());
-        } catch (IOException e) {
-            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
+    private static TestChromosome toChromosome(TestCase test) {
+        for (Statement st : test) {
+            st.changeClassLoader(TestGenerationContext.getInstance().getClassLoaderForSUT());
         }
+        TestChromosome tc = new TestChromosome();
+        tc.setTestCase(test);
+        return tc;
+    }
 
-        return list;
+    /**
+     * Unsigned LEB128: 7 bits per byte, least significant first
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed length of serialized test");
     }
 }
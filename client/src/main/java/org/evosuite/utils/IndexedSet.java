@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * A set that keeps its elements in insertion order (like a {@link LinkedHashSet}), and that
+ * also gives access to them by position in constant time. This is useful for sets from which
+ * random elements are sampled often, see {@link Randomness#choice(Collection)}.
+ *
+ * <p>
+ * Removing single elements takes linear time, as the insertion order is preserved.
+ * The iterator does not detect concurrent modifications.
+ *
+ * @param <E> the type of the elements
+ */
+public class IndexedSet<E> extends AbstractSet<E> {
+
+    private final List<E> elements = new ArrayList<>();
+
+    private final Set<E> index = new HashSet<>();
+
+    public IndexedSet() {
+    }
+
+    public IndexedSet(Collection<? extends E> collection) {
+        addAll(collection);
+    }
+
+    /**
+     * @param position a position between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the element at the given position, in insertion order
+     */
+    public E get(int position) {
+        return elements.get(position);
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (!index.add(e)) {
+            return false;
+        }
+        elements.add(e);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!index.remove(o)) {
+            return false;
+        }
+        elements.remove(o);
+        return true;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return elements.removeIf(e -> {
+            if (filter.test(e)) {
+                index.remove(e);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return index.contains(o);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        index.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int cursor = 0;
+
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < elements.size();
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = cursor;
+                return elements.get(cursor++);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                index.remove(elements.remove(last));
+                cursor = last;
+                last = -1;
+            }
+        };
+    }
+}
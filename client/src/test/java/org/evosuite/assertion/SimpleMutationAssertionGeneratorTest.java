@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.Properties;
+import org.evosuite.TimeController;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class SimpleMutationAssertionGeneratorTest {
+
+    private static final int INFECTED = 1;
+
+    private static final int UNINFECTED = 2;
+
+    private final boolean skipUninfectedMutants = Properties.SKIP_UNINFECTED_MUTANTS;
+
+    private final int maxMutantsPerTest = Properties.MAX_MUTANTS_PER_TEST;
+
+    @Before
+    public void setUp() {
+        TimeController.resetSingleton();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.SKIP_UNINFECTED_MUTANTS = skipUninfectedMutants;
+        Properties.MAX_MUTANTS_PER_TEST = maxMutantsPerTest;
+        clearMutantFailures();
+    }
+
+    /**
+     * Mutants that raised exceptions too often are no longer executed
+     */
+    private static void clearMutantFailures() {
+        MutationAssertionGenerator.timedOutMutations.clear();
+        MutationAssertionGenerator.exceptionMutations.clear();
+        MutationTimeoutStoppingCondition.resetStatic();
+    }
+
+    @Test
+    public void testUninfectedMutantIsNotExecuted() throws NoSuchMethodException {
+        Properties.SKIP_UNINFECTED_MUTANTS = true;
+        // the skipped mutant must not use up the budget of the infected one
+        Properties.MAX_MUTANTS_PER_TEST = 1;
+
+        for (long seed = 0; seed < 10; seed++) {
+            Randomness.setSeed(seed);
+            clearMutantFailures();
+            FakeMutationAssertionGenerator generator = new FakeMutationAssertionGenerator();
+            Set<Integer> killed = new HashSet<>();
+            generator.addAssertions(createTest(), killed);
+
+            assertEquals(Collections.singletonList(INFECTED), generator.executedMutants);
+            assertEquals(Collections.singleton(INFECTED), killed);
+        }
+    }
+
+    @Test
+    public void testSkippingUninfectedMutantDoesNotChangeKilledMutants() throws NoSuchMethodException {
+        Properties.SKIP_UNINFECTED_MUTANTS = false;
+        FakeMutationAssertionGenerator generator = new FakeMutationAssertionGenerator();
+        Set<Integer> killedWithoutSkipping = new HashSet<>();
+        generator.addAssertions(createTest(), killedWithoutSkipping);
+        assertEquals(new HashSet<>(Arrays.asList(INFECTED, UNINFECTED)), new HashSet<>(generator.executedMutants));
+
+        Properties.SKIP_UNINFECTED_MUTANTS = true;
+        clearMutantFailures();
+        generator = new FakeMutationAssertionGenerator();
+        Set<Integer> killedWithSkipping = new HashSet<>();
+        generator.addAssertions(createTest(), killedWithSkipping);
+        assertEquals(Collections.singletonList(INFECTED), generator.executedMutants);
+
+        assertEquals(killedWithoutSkipping, killedWithSkipping);
+    }
+
+    private static TestCase createTest() throws NoSuchMethodException {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        builder.appendConstructor(Object.class.getConstructor());
+        return builder.getDefaultTestCase();
+    }
+
+    private static Mutation createMutation(int id) {
+        BytecodeInstruction original = new BytecodeInstruction(SimpleMutationAssertionGeneratorTest.class.getClassLoader(),
+                "Foo", "bar()V", id, id, new InsnNode(Opcodes.NOP), 1);
+        return new Mutation("Foo", "bar()V", "Mutant" + id, id, original, new InsnList(), new InsnList());
+    }
+
+    /**
+     * Both mutants are reached by the test, but only the first one changes the
+     * state, and then makes the test throw an exception
+     */
+    private static class FakeMutationAssertionGenerator extends SimpleMutationAssertionGenerator {
+
+        private final List<Integer> executedMutants = new ArrayList<>();
+
+        FakeMutationAssertionGenerator() {
+            mutants.clear();
+            mutants.put(INFECTED, createMutation(INFECTED));
+            mutants.put(UNINFECTED, createMutation(UNINFECTED));
+        }
+
+        @Override
+        protected ExecutionResult runTest(TestCase test, Mutation mutant) {
+            ExecutionResult result = new ExecutionResult(test, mutant);
+            ExecutionTraceImpl trace = new ExecutionTraceImpl();
+            trace.mutationPassed(INFECTED, 0.0);
+            trace.mutationPassed(UNINFECTED, 1.0);
+            result.setTrace(trace);
+
+            if (mutant != null) {
+                executedMutants.add(mutant.getId());
+                if (mutant.getId() == INFECTED) {
+                    result.reportNewThrownException(0, new IllegalStateException());
+                }
+            }
+            return result;
+        }
+    }
+}
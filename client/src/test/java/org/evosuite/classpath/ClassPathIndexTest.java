@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.jar.JarFile;
+
+public class ClassPathIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final String defaultIndexDir = Properties.CLASSPATH_INDEX_DIR;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        File localJar = new File("local_test_data" + File.separator + "water-simulator.jar");
+        Assert.assertTrue("ERROR: file " + localJar + " should be avaialable on local file system", localJar.exists());
+        jar = new File(folder.newFolder("lib"), localJar.getName());
+        Files.copy(localJar.toPath(), jar.toPath());
+
+        Properties.CLASSPATH_INDEX_DIR = folder.newFolder("index").getAbsolutePath();
+        ClassPathIndex.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.CLASSPATH_INDEX_DIR = defaultIndexDir;
+        ClassPathIndex.reset();
+    }
+
+    @Test
+    public void testNoIndexDir() {
+        Properties.CLASSPATH_INDEX_DIR = null;
+        Assert.assertNull(ClassPathIndex.getClassNames(jar.getAbsolutePath()));
+        Assert.assertNull(ClassPathIndex.getClassHeader(jar.getAbsolutePath(), "simulator.DAWN"));
+    }
+
+    @Test
+    public void testIndexIsPersisted() throws Exception {
+        List<String> scanned = ClassPathIndex.getClassNames(jar.getAbsolutePath());
+        Assert.assertNotNull(scanned);
+        Assert.assertTrue(scanned.contains("simulator.DAWN"));
+        Assert.assertEquals(1, new File(Properties.CLASSPATH_INDEX_DIR).list().length);
+
+        ClassPathIndex.reset();
+        List<String> loaded = ClassPathIndex.getClassNames(jar.getAbsolutePath());
+        Assert.assertNotSame(scanned, loaded);
+        Assert.assertEquals(scanned, loaded);
+
+        ClassHeader expected;
+        try (JarFile jarFile = new JarFile(jar)) {
+            expected = ClassHeader.read(jarFile.getInputStream(jarFile.getJarEntry("simulator/DAWN.class")));
+        }
+        ClassHeader header = ClassPathIndex.getClassHeader(jar.getAbsolutePath(), "simulator.DAWN");
+        Assert.assertEquals(expected.getName(), header.getName());
+        Assert.assertEquals(expected.getAccess(), header.getAccess());
+        Assert.assertEquals(expected.getSuperName(), header.getSuperName());
+        Assert.assertEquals(expected.getInterfaces(), header.getInterfaces());
+        Assert.assertEquals(expected.getNumberOfMethods(), header.getNumberOfMethods());
+        for (int i = 0; i < expected.getNumberOfMethods(); i++) {
+            Assert.assertEquals(expected.getMethodName(i), header.getMethodName(i));
+            Assert.assertEquals(expected.getMethodDescriptor(i), header.getMethodDescriptor(i));
+        }
+    }
+
+    @Test
+    public void testIndexOfModifiedJarIsRebuilt() throws Exception {
+        ClassPathIndex.getClassNames(jar.getAbsolutePath());
+        File indexFile = new File(Properties.CLASSPATH_INDEX_DIR).listFiles()[0];
+        long indexModified = indexFile.lastModified();
+
+        Assert.assertTrue(jar.setLastModified(jar.lastModified() - 60_000));
+        Assert.assertTrue(indexFile.setLastModified(indexModified - 60_000));
+        ClassPathIndex.reset();
+        List<String> classNames = ClassPathIndex.getClassNames(jar.getAbsolutePath());
+
+        Assert.assertTrue(classNames.contains("simulator.DAWN"));
+        Assert.assertTrue(indexFile.lastModified() > indexModified - 60_000);
+    }
+
+    @Test
+    public void testReleaseHeadersKeepsClassNames() {
+        String jarPath = jar.getAbsolutePath();
+        List<String> classNames = ClassPathIndex.getClassNames(jarPath);
+        ClassHeader header = ClassPathIndex.getClassHeader(jarPath, "simulator.DAWN");
+        Assert.assertNotNull(header);
+
+        ClassPathIndex.releaseHeaders();
+        Assert.assertSame(classNames, ClassPathIndex.getClassNames(jarPath));
+
+        // the headers are read again from the index file
+        ClassHeader reloaded = ClassPathIndex.getClassHeader(jarPath, "simulator.DAWN");
+        Assert.assertNotSame(header, reloaded);
+        Assert.assertEquals(header.getName(), reloaded.getName());
+    }
+}
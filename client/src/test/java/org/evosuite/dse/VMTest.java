@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class VMTest {
+
+    /**
+     * Only implements NEW, all the other callbacks are inherited from AbstractVM
+     */
+    private static class NewListener extends AbstractVM {
+
+        protected final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void NEW(String typeName) {
+            calls.add("NEW " + typeName);
+        }
+    }
+
+    /**
+     * Adds IADD to the callbacks of its superclass
+     */
+    private static class NewAndAddListener extends NewListener {
+
+        @Override
+        public void IADD() {
+            calls.add("IADD");
+        }
+    }
+
+    @Before
+    public void setUp() {
+        VM.getInstance().prepareConcolicExecution();
+    }
+
+    @After
+    public void tearDown() {
+        VM.getInstance().setListeners(Collections.emptyList());
+    }
+
+    @Test
+    public void testOnlyImplementedCallbacksAreDispatched() {
+        NewListener newListener = new NewListener();
+        NewAndAddListener newAndAddListener = new NewAndAddListener();
+        VM.getInstance().setListeners(Arrays.<IVM>asList(newListener, newAndAddListener));
+
+        assertArrayEquals(new IVM[]{newListener, newAndAddListener},
+                VM.getInstance().getListeners(VMCallback.NEW));
+        assertArrayEquals(new IVM[]{newAndAddListener},
+                VM.getInstance().getListeners(VMCallback.IADD));
+        assertEquals(0, VM.getInstance().getListeners(VMCallback.ISUB).length);
+
+        VM.NEW("Foo");
+        VM.IADD();
+        VM.ISUB();
+
+        assertEquals(Collections.singletonList("NEW Foo"), newListener.calls);
+        assertEquals(Arrays.asList("NEW Foo", "IADD"), newAndAddListener.calls);
+    }
+}
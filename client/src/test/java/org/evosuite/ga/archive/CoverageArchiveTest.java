@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CoverageArchiveTest {
+
+    private static final Properties.Criterion[] defaultCriteria = Properties.CRITERION;
+
+    private CoverageArchive archive;
+
+    @Before
+    public void setUp() {
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.LINE};
+        archive = new CoverageArchive();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.CRITERION = defaultCriteria;
+    }
+
+    private static List<TestFitnessFunction> createTargets(int n) {
+        List<TestFitnessFunction> targets = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            targets.add(new LineCoverageTestFitness("Foo", "bar()V", i));
+        }
+        return targets;
+    }
+
+    private static TestChromosome createSolution(int value) {
+        TestChromosome solution = new TestChromosome();
+        solution.getTestCase().addStatement(new IntPrimitiveStatement(solution.getTestCase(), value));
+        return solution;
+    }
+
+    @Test
+    public void testCoveredAndUncoveredTargets() {
+        List<TestFitnessFunction> targets = createTargets(4);
+        archive.addTargets(targets);
+
+        Assert.assertTrue(archive.isArchiveEmpty());
+        Assert.assertEquals(4, archive.getNumberOfUncoveredTargets());
+
+        TestChromosome solution = new TestChromosome();
+        archive.updateArchive(targets.get(2), solution, 1.0);
+        Assert.assertTrue(archive.isArchiveEmpty());
+
+        archive.updateArchive(targets.get(2), solution, 0.0);
+        archive.updateArchive(targets.get(0), solution, 0.0);
+
+        Assert.assertEquals(2, archive.getNumberOfCoveredTargets());
+        Assert.assertEquals(2, archive.getNumberOfUncoveredTargets());
+        Assert.assertEquals(4, archive.getNumberOfTargets());
+        Assert.assertTrue(archive.getCoveredTargets().contains(targets.get(0)));
+        Assert.assertFalse(archive.getUncoveredTargets().contains(targets.get(0)));
+        Assert.assertTrue(archive.getUncoveredTargets().contains(targets.get(1)));
+
+        // covered targets are listed in the order they were covered
+        List<TestFitnessFunction> covered = new ArrayList<>(archive.getCoveredTargets());
+        Assert.assertEquals(targets.get(2), covered.get(0));
+        Assert.assertEquals(targets.get(0), covered.get(1));
+
+        Assert.assertSame(solution, archive.getSolution(targets.get(2)));
+        Assert.assertEquals(1, archive.getSolutions().size());
+        Assert.assertNotNull(archive.getRandomSolution());
+    }
+
+    @Test
+    public void testSolutionsInCoverageOrder() {
+        List<TestFitnessFunction> targets = createTargets(3);
+        archive.addTargets(targets);
+
+        TestChromosome first = createSolution(1);
+        TestChromosome second = createSolution(2);
+        archive.updateArchive(targets.get(2), first, 0.0);
+        archive.updateArchive(targets.get(0), second, 0.0);
+        archive.updateArchive(targets.get(1), first, 0.0);
+
+        List<TestChromosome> solutions = new ArrayList<>(archive.getSolutions());
+        Assert.assertEquals(2, solutions.size());
+        Assert.assertSame(first, solutions.get(0));
+        Assert.assertSame(second, solutions.get(1));
+    }
+
+    @Test
+    public void testSolutionsAreUpdatedWhenArchiveChanges() {
+        List<TestFitnessFunction> targets = createTargets(2);
+        archive.addTargets(targets);
+
+        TestChromosome first = createSolution(1);
+        archive.updateArchive(targets.get(0), first, 0.0);
+        Assert.assertEquals(1, archive.getSolutions().size());
+        Assert.assertEquals(first.getTestCase(), archive.getRandomSolution().getTestCase());
+
+        TestChromosome second = createSolution(2);
+        archive.updateArchive(targets.get(1), second, 0.0);
+        List<TestChromosome> solutions = new ArrayList<>(archive.getSolutions());
+        Assert.assertEquals(2, solutions.size());
+        Assert.assertSame(second, solutions.get(1));
+
+        archive.reset();
+        Assert.assertTrue(archive.getSolutions().isEmpty());
+        Assert.assertNull(archive.getRandomSolution());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSolutionsCannotBeModified() {
+        List<TestFitnessFunction> targets = createTargets(1);
+        archive.addTargets(targets);
+        archive.updateArchive(targets.get(0), createSolution(1), 0.0);
+
+        archive.getSolutions().add(createSolution(2));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        final int numberOfThreads = 4;
+        final int targetsPerThread = 250;
+        List<TestFitnessFunction> targets = createTargets(numberOfThreads * targetsPerThread);
+        archive.addTargets(targets);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numberOfThreads; t++) {
+                final int offset = t * targetsPerThread;
+                futures.add(executor.submit(() -> {
+                    TestChromosome solution = new TestChromosome();
+                    for (int i = 0; i < targetsPerThread; i++) {
+                        archive.updateArchive(targets.get(offset + i), solution, 0.0);
+                        // every thread also competes for the same target
+                        archive.updateArchive(targets.get(0), new TestChromosome(), 0.0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(targets.size(), archive.getNumberOfCoveredTargets());
+        Assert.assertEquals(0, archive.getNumberOfUncoveredTargets());
+        Assert.assertEquals(targets.size(), archive.getCoveredTargets().size());
+        for (TestFitnessFunction target : targets) {
+            Assert.assertTrue(archive.hasSolution(target));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.ConstructionFailedException;
+import org.evosuite.ga.operators.crossover.CrossOverFunction;
+import org.evosuite.ga.operators.selection.SelectionFunction;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class AbstractMOSATest {
+
+    @Before
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = Object.class.getCanonicalName();
+        Properties.POPULATION = 2;
+        Properties.CROSSOVER_RATE = 1.0;
+        Properties.P_TEST_INSERTION = 0.0;
+        // mutation does not change anything
+        Properties.P_TEST_DELETE = 0.0;
+        Properties.P_TEST_CHANGE = 0.0;
+        Properties.P_TEST_INSERT = 0.0;
+        Properties.PIPELINED_EVALUATION = false;
+        Properties.REUSE_EXECUTION_PREFIX = true;
+        Properties.BREAK_ON_EXCEPTION = true;
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    /**
+     * A test with three constructor calls, whose execution stopped with an exception
+     * thrown by the second one
+     */
+    private static TestChromosome createExecutedChromosome() throws NoSuchMethodException {
+        GenericConstructor constructor = new GenericConstructor(Object.class.getConstructor(), Object.class);
+        TestChromosome chromosome = new TestChromosome();
+        TestCase test = chromosome.getTestCase();
+        for (int i = 0; i < 3; i++) {
+            test.addStatement(new ConstructorStatement(test, constructor, Collections.emptyList()));
+        }
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(new ExecutionTraceImpl());
+        result.reportNewThrownException(1, new IllegalStateException());
+        chromosome.setLastExecutionResult(result);
+        chromosome.setChanged(false);
+        return chromosome;
+    }
+
+    @Test
+    public void testCrossOverOnlyOffspringIsKept() throws Exception {
+        TestChromosome parent = createExecutedChromosome();
+        MOSA mosa = new MOSA(null);
+        mosa.setSelectionFunction(new SelectionFunction<TestChromosome>() {
+            @Override
+            public TestChromosome select(List<TestChromosome> population) {
+                return parent;
+            }
+
+            @Override
+            public int getIndex(List<TestChromosome> population) {
+                return 0;
+            }
+        });
+        // only drop the last statement, which was never executed
+        mosa.setCrossOverFunction(new CrossOverFunction<TestChromosome>() {
+            @Override
+            public void crossOver(TestChromosome parent1, TestChromosome parent2)
+                    throws ConstructionFailedException {
+                parent1.crossOver(parent2, 2, parent2.size());
+                parent2.crossOver(parent1, 2, parent1.size());
+            }
+        });
+        TestFitnessFunction goal = new TestFitnessFunction() {
+            @Override
+            public double getFitness(TestChromosome individual, ExecutionResult result) {
+                return 1.0;
+            }
+
+            @Override
+            public int compareTo(TestFitnessFunction other) {
+                return 0;
+            }
+
+            @Override
+            public int hashCode() {
+                return 0;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other;
+            }
+
+            @Override
+            public String getTargetClass() {
+                return Properties.TARGET_CLASS;
+            }
+
+            @Override
+            public String getTargetMethod() {
+                return "<init>()V";
+            }
+        };
+        mosa.addFitnessFunction(goal);
+
+        List<TestChromosome> offspring = mosa.breedNextGeneration();
+
+        assertEquals(2, offspring.size());
+        for (TestChromosome child : offspring) {
+            assertEquals(2, child.size());
+            // the result inherited from the parent was used instead of executing the test
+            ExecutionResult result = child.getLastExecutionResult();
+            assertSame(child.getTestCase(), result.test);
+            assertEquals(Integer.valueOf(1), result.getFirstPositionOfThrownException());
+            assertFalse(child.isChanged());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.comparators.DominanceComparator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class DominanceMatrixTest {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            return 0;
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    private static void checkSameAsComparator(int populationSize, int numberOfGoals, boolean parallel) {
+        Random random = new Random(populationSize * 31L + numberOfGoals);
+        Set<Goal> goals = new LinkedHashSet<>();
+        for (int i = 0; i < numberOfGoals; i++)
+            goals.add(new Goal());
+
+        List<DummyChromosome> population = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            DummyChromosome individual = new DummyChromosome(i);
+            for (Goal goal : goals) {
+                // few distinct values, so that there are ties
+                individual.setFitness(goal, random.nextInt(3) * 0.5);
+            }
+            population.add(individual);
+        }
+
+        DominanceComparator<DummyChromosome> comparator = new DominanceComparator<>(goals);
+        DominanceMatrix matrix = new DominanceMatrix(population, goals, parallel);
+        for (int p = 0; p < populationSize; p++) {
+            for (int q = 0; q < populationSize; q++) {
+                int expected = comparator.compare(population.get(p), population.get(q));
+                Assert.assertEquals(expected, matrix.compare(p, q));
+                Assert.assertEquals(expected < 0, matrix.dominates(p, q));
+            }
+        }
+    }
+
+    @Test
+    public void testSameAsDominanceComparator() {
+        checkSameAsComparator(1, 3, false);
+        checkSameAsComparator(10, 2, false);
+        checkSameAsComparator(64, 3, false);
+        checkSameAsComparator(70, 4, false);
+    }
+
+    @Test
+    public void testSameAsDominanceComparatorInParallel() {
+        checkSameAsComparator(70, 4, true);
+        checkSameAsComparator(130, 16, true);
+    }
+
+    @Test
+    public void testNoGoals() {
+        checkSameAsComparator(5, 0, false);
+    }
+}
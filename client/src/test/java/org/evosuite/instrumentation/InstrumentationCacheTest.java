@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class InstrumentationCacheTest {
+
+    private static final byte[] ORIGINAL = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 1};
+
+    private static final byte[] INSTRUMENTED = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 2};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final String defaultCacheDir = Properties.INSTRUMENTATION_CACHE_DIR;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.newFolder("cache").getAbsolutePath();
+        InstrumentationCache.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.INSTRUMENTATION_CACHE_DIR = defaultCacheDir;
+        InstrumentationCache.reset();
+    }
+
+    @Test
+    public void testKeyDependsOnAllInputs() {
+        String key = InstrumentationCache.getKey("a", "org/some/Foo", ORIGINAL);
+        Assert.assertEquals(key, InstrumentationCache.getKey("a", "org/some/Foo", ORIGINAL.clone()));
+        Assert.assertNotEquals(key, InstrumentationCache.getKey("b", "org/some/Foo", ORIGINAL));
+        Assert.assertNotEquals(key, InstrumentationCache.getKey("a", "org/some/Bar", ORIGINAL));
+        Assert.assertNotEquals(key, InstrumentationCache.getKey("a", "org/some/Foo", INSTRUMENTED));
+    }
+
+    @Test
+    public void testInstrumentedClassIsPersisted() {
+        String key = InstrumentationCache.getKey("a", "org/some/Foo", ORIGINAL);
+        Assert.assertNull(InstrumentationCache.get(key));
+
+        InstrumentationCache.put(key, INSTRUMENTED);
+        InstrumentationCache.reset();
+
+        Assert.assertArrayEquals(INSTRUMENTED, InstrumentationCache.get(key));
+    }
+
+    @Test
+    public void testInvalidClassIsIgnored() throws Exception {
+        String key = InstrumentationCache.getKey("a", "org/some/Foo", ORIGINAL);
+        InstrumentationCache.put(key, INSTRUMENTED);
+        InstrumentationCache.reset();
+
+        File subDir = new File(Properties.INSTRUMENTATION_CACHE_DIR, key.substring(0, 2));
+        Files.write(new File(subDir, key + ".class").toPath(), new byte[]{1, 2});
+
+        Assert.assertNull(InstrumentationCache.get(key));
+    }
+}
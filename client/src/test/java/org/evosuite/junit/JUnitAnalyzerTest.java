@@ -20,22 +20,24 @@
 package org.evosuite.junit;
 
 import com.examples.with.different.packagename.sandbox.OpenStream;
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.utils.generic.GenericConstructor;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class JUnitAnalyzerTest {
@@ -50,6 +52,8 @@ public class JUnitAnalyzerTest {
     private static final boolean DEFAULT_SANDBOX = Properties.SANDBOX;
     private static final boolean DEFAULT_ASSERTS_FOR_EVO = Properties.ENABLE_ASSERTS_FOR_EVOSUITE;
     private static final boolean DEFAULT_SCAFFOLDING = Properties.TEST_SCAFFOLDING;
+    private static final String DEFAULT_TARGET_CLASS = Properties.TARGET_CLASS;
+    private static final String DEFAULT_CLASS_PREFIX = Properties.CLASS_PREFIX;
 
     private File file = new File(OpenStream.FILE_NAME);
 
@@ -75,6 +79,8 @@ public class JUnitAnalyzerTest {
         Properties.SANDBOX = DEFAULT_SANDBOX;
         Properties.ENABLE_ASSERTS_FOR_EVOSUITE = DEFAULT_ASSERTS_FOR_EVO;
         Properties.TEST_SCAFFOLDING = DEFAULT_SCAFFOLDING;
+        Properties.TARGET_CLASS = DEFAULT_TARGET_CLASS;
+        Properties.CLASS_PREFIX = DEFAULT_CLASS_PREFIX;
     }
 
     @Test
@@ -151,14 +157,33 @@ public class JUnitAnalyzerTest {
     }
 
     @Test
-    public void testCreationOfTmpDir() throws IOException {
+    public void testRemoveOnlyTestThatDoesNotCompile() throws Exception {
+        Properties.TARGET_CLASS = OpenStream.class.getCanonicalName();
+        Properties.CLASS_PREFIX = OpenStream.class.getPackage().getName();
+        Properties.TEST_SCAFFOLDING = false;
+
+        TestCase first = createConstructorCall(Object.class);
+        // Math has a private constructor, so this test cannot be compiled
+        TestCase second = createConstructorCall(Math.class);
+        TestCase third = createConstructorCall(Object.class);
+
+        List<TestCase> list = new ArrayList<>();
+        list.add(first);
+        list.add(second);
+        list.add(third);
 
-        File dir = JUnitAnalyzer.createNewTmpDir();
-        Assert.assertNotNull(dir);
-        Assert.assertTrue(dir.exists());
+        JUnitAnalyzer.removeTestsThatDoNotCompile(list);
+
+        Assert.assertEquals(2, list.size());
+        Assert.assertSame(first, list.get(0));
+        Assert.assertSame(third, list.get(1));
+    }
 
-        FileUtils.deleteDirectory(dir);
-        Assert.assertFalse(dir.exists());
+    private static TestCase createConstructorCall(Class<?> clazz) throws NoSuchMethodException {
+        TestCase test = new DefaultTestCase();
+        GenericConstructor constructor = new GenericConstructor(clazz.getDeclaredConstructor(), clazz);
+        test.addStatement(new ConstructorStatement(test, constructor, Collections.emptyList()));
+        return test;
     }
 
 
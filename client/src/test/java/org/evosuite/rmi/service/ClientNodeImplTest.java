@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.Properties;
+import org.evosuite.TimeController;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.result.TestGenerationResult;
+import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClientNodeImplTest {
+
+    private long flushInterval;
+
+    @Before
+    public void init() {
+        flushInterval = Properties.STATISTICS_FLUSH_INTERVAL;
+        TimeController.resetSingleton();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.STATISTICS_FLUSH_INTERVAL = flushInterval;
+        TimeController.resetSingleton();
+    }
+
+    @Test
+    public void testCoalescedOutputVariablesAreFlushedOnStop() {
+        // long enough for nothing to be sent before the client is stopped
+        Properties.STATISTICS_FLUSH_INTERVAL = 60_000;
+
+        FakeMasterNode master = new FakeMasterNode();
+        ClientNodeImpl<TestSuiteChromosome> client = new ClientNodeImpl<>(new FakeRegistry(master), "ClientNode0");
+        assertTrue(client.init());
+
+        client.trackOutputVariable(RuntimeVariable.Coverage, 0.1);
+        client.trackOutputVariable(RuntimeVariable.Size, 3);
+        client.trackOutputVariable(RuntimeVariable.Coverage, 0.5);
+        client.stop();
+
+        assertEquals(1, master.batches.size());
+        Map<RuntimeVariable, Object> batch = master.batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(0.5, batch.get(RuntimeVariable.Coverage));
+        assertEquals(3, batch.get(RuntimeVariable.Size));
+
+        // the variables reach master before the client is reported as finished
+        assertEquals(ClientState.FINISHED, master.states.get(master.states.size() - 1));
+        assertEquals(1, master.batchesBeforeLastState);
+    }
+
+    @Test
+    public void testLatestValueReachesMaster() throws InterruptedException {
+        Properties.STATISTICS_FLUSH_INTERVAL = 10;
+
+        FakeMasterNode master = new FakeMasterNode();
+        ClientNodeImpl<TestSuiteChromosome> client = new ClientNodeImpl<>(new FakeRegistry(master), "ClientNode0");
+        assertTrue(client.init());
+
+        client.trackOutputVariable(RuntimeVariable.Coverage, 0.1);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (master.batches.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, master.batches.size());
+
+        client.trackOutputVariable(RuntimeVariable.Coverage, 0.7);
+        client.trackOutputVariable(RuntimeVariable.Coverage, 0.9);
+        client.stop();
+
+        Map<RuntimeVariable, Object> received = new EnumMap<>(RuntimeVariable.class);
+        for (Map<RuntimeVariable, Object> batch : master.batches) {
+            received.putAll(batch);
+        }
+        assertEquals(0.9, received.get(RuntimeVariable.Coverage));
+    }
+
+    private static class FakeRegistry implements Registry {
+
+        private final MasterNodeRemote master;
+
+        FakeRegistry(MasterNodeRemote master) {
+            this.master = master;
+        }
+
+        @Override
+        public Remote lookup(String name) throws NotBoundException {
+            if (!MasterNodeRemote.RMI_SERVICE_NAME.equals(name)) {
+                throw new NotBoundException(name);
+            }
+            return master;
+        }
+
+        @Override
+        public void bind(String name, Remote obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unbind(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void rebind(String name, Remote obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String[] list() {
+            return new String[]{MasterNodeRemote.RMI_SERVICE_NAME};
+        }
+    }
+
+    private static class FakeMasterNode implements MasterNodeRemote {
+
+        final List<Map<RuntimeVariable, Object>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        final List<ClientState> states = Collections.synchronizedList(new ArrayList<>());
+
+        volatile int batchesBeforeLastState = 0;
+
+        @Override
+        public void evosuite_registerClientNode(String clientRmiIdentifier) {
+        }
+
+        @Override
+        public void evosuite_informChangeOfStateInClient(String clientRmiIdentifier, ClientState state,
+                                                         ClientStateInformation information) {
+            states.add(state);
+            batchesBeforeLastState = batches.size();
+        }
+
+        @Override
+        public void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome<?> individual) {
+        }
+
+        @Override
+        public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) {
+            batches.add(Collections.singletonMap(variable, value));
+        }
+
+        @Override
+        public void evosuite_collectStatistics(String clientRmiIdentifier, Map<RuntimeVariable, Object> variables) {
+            batches.add(new EnumMap<>(variables));
+        }
+
+        @Override
+        public void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) {
+        }
+
+        @Override
+        public void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) {
+        }
+
+        @Override
+        public void evosuite_updateProperty(String clientRmiIdentifier, String propertyName, Object value) {
+        }
+
+        @Override
+        public void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants) {
+        }
+
+        @Override
+        public void evosuite_collectBestSolutions(String clientRmiIdentifier, Set<? extends Chromosome<?>> solutions) {
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.seeding;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+public class IntRingPoolTest {
+
+    private final int defaultPoolSize = Properties.DYNAMIC_POOL_SIZE;
+
+    @After
+    public void tearDown() {
+        Properties.DYNAMIC_POOL_SIZE = defaultPoolSize;
+    }
+
+    @Test
+    public void testDistinctValuesAreAddedOnce() {
+        Properties.DYNAMIC_POOL_SIZE = 3;
+        IntRingPool pool = new IntRingPool(true);
+        for (int i = 0; i < 10; i++) {
+            pool.add(1);
+        }
+        pool.add(2);
+        pool.add(1);
+        Assert.assertArrayEquals(new int[]{1, 2}, pool.toArray());
+
+        pool.add(3);
+        pool.add(4);
+        Assert.assertArrayEquals(new int[]{2, 3, 4}, pool.toArray());
+    }
+
+    @Test
+    public void testOldestValuesAreReplaced() {
+        Properties.DYNAMIC_POOL_SIZE = 3;
+        IntRingPool pool = new IntRingPool(false);
+        for (int i = 0; i < 5; i++) {
+            pool.add(i);
+        }
+        pool.add(4);
+        Assert.assertArrayEquals(new int[]{3, 4, 4}, pool.toArray());
+        for (int i = 0; i < 100; i++) {
+            int value = pool.getRandomValue();
+            Assert.assertTrue(value == 3 || value == 4);
+        }
+    }
+
+    @Test
+    public void testResize() {
+        Properties.DYNAMIC_POOL_SIZE = 4;
+        IntRingPool pool = new IntRingPool(false);
+        for (int i = 0; i < 6; i++) {
+            pool.add(i);
+        }
+        Properties.DYNAMIC_POOL_SIZE = 2;
+        pool.add(6);
+        Assert.assertArrayEquals(new int[]{5, 6}, pool.toArray());
+
+        Properties.DYNAMIC_POOL_SIZE = 3;
+        pool.add(7);
+        Assert.assertArrayEquals(new int[]{5, 6, 7}, pool.toArray());
+    }
+
+    @Test
+    public void testDistinctValuesAfterManyReplacements() {
+        Properties.DYNAMIC_POOL_SIZE = 7;
+        IntRingPool pool = new IntRingPool(true);
+        Deque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(20) - 10;
+            if (!expected.contains(value)) {
+                if (expected.size() == Properties.DYNAMIC_POOL_SIZE) {
+                    expected.removeFirst();
+                }
+                expected.addLast(value);
+            }
+            pool.add(value);
+
+            int[] values = new int[expected.size()];
+            int j = 0;
+            for (int v : expected) {
+                values[j++] = v;
+            }
+            Assert.assertArrayEquals(values, pool.toArray());
+        }
+    }
+
+    @Test
+    public void testFloatString() {
+        IntRingPool pool = new IntRingPool(true);
+        pool.add(Float.floatToIntBits(1.5f));
+        pool.add(Float.floatToIntBits(-2f));
+        Assert.assertEquals("[1.5, -2.0]", pool.toFloatString());
+    }
+}
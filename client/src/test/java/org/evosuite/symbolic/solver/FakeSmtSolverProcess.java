@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Stands in for an SMT solver in interactive mode: keeps the stack of
+ * assertions, answers unsat if one of them is false and sat otherwise, with
+ * an empty model.
+ */
+public class FakeSmtSolverProcess {
+
+    public static void main(String[] args) throws IOException {
+        LinkedList<List<String>> levels = new LinkedList<>();
+        levels.push(new ArrayList<>());
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = in.readLine()) != null) {
+            line = line.trim();
+            if (line.startsWith("(push")) {
+                levels.push(new ArrayList<>());
+            } else if (line.startsWith("(pop")) {
+                int n = Integer.parseInt(line.substring("(pop".length(), line.length() - 1).trim());
+                for (int i = 0; i < n; i++) {
+                    levels.pop();
+                }
+            } else if (line.startsWith("(assert")) {
+                levels.peek().add(line);
+            } else if (line.equals("(check-sat)")) {
+                boolean unsat = levels.stream().flatMap(List::stream).anyMatch(a -> a.contains("false"));
+                System.out.println(unsat ? "unsat" : "sat");
+            } else if (line.equals("(get-model)")) {
+                System.out.println("(model");
+                System.out.println(")");
+            } else if (line.startsWith("(echo")) {
+                System.out.println(line.substring(line.indexOf('"') + 1, line.lastIndexOf('"')));
+            } else if (line.equals("(exit)")) {
+                return;
+            }
+            System.out.flush();
+        }
+    }
+}
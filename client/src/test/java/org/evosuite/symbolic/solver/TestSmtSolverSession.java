@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class TestSmtSolverSession {
+
+    private SmtSolverSession session;
+
+    private static String fakeSolverCmd() throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        File classes = new File(FakeSmtSolverProcess.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return "\"" + java + "\" -cp \"" + classes.getAbsolutePath() + "\" " + FakeSmtSolverProcess.class.getName();
+    }
+
+    private static SmtQuery query(SmtExpr... assertions) {
+        SmtQuery query = new SmtQuery();
+        query.addOption(":timeout", "1000");
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("x"));
+        for (SmtExpr assertion : assertions) {
+            query.addAssertion(new SmtAssertion(assertion));
+        }
+        return query;
+    }
+
+    @Before
+    public void startSession() throws Exception {
+        session = new SmtSolverSession(fakeSolverCmd(), query());
+    }
+
+    @After
+    public void closeSession() {
+        session.close();
+    }
+
+    @Test
+    public void testSharedPrefixIsNotResent() throws Exception {
+        SmtIntVariable x = SmtExprBuilder.mkIntVariable("x");
+        SmtExpr positive = SmtExprBuilder.mkGt(x, SmtExprBuilder.ZERO_INT);
+        SmtExpr greaterThanOne = SmtExprBuilder.mkGt(x, SmtExprBuilder.ONE_INT);
+
+        String output = session.solve(query(positive, SmtExprBuilder.FALSE), 10000);
+        assertTrue(output, output.startsWith("unsat"));
+        assertEquals(2, session.getNumberOfSentAssertions());
+
+        // the false assertion must be popped, the first one is kept
+        output = session.solve(query(positive, greaterThanOne), 10000);
+        assertTrue(output, output.startsWith("sat"));
+        assertTrue(output, output.contains("(model"));
+        assertEquals(3, session.getNumberOfSentAssertions());
+
+        output = session.solve(query(positive), 10000);
+        assertTrue(output, output.startsWith("sat"));
+        assertEquals(3, session.getNumberOfSentAssertions());
+    }
+
+    @Test
+    public void testIncompatibleQueries() throws Exception {
+        session.solve(query(SmtExprBuilder.TRUE), 10000);
+
+        SmtQuery realX = new SmtQuery();
+        realX.addOption(":timeout", "1000");
+        realX.addConstantDeclaration(SmtExprBuilder.mkRealConstantDeclaration("x"));
+        assertFalse(session.accepts(realX));
+
+        SmtQuery otherTimeout = query();
+        otherTimeout.addOption(":timeout", "2000");
+        assertFalse(session.accepts(otherTimeout));
+
+        assertTrue(session.accepts(query()));
+    }
+
+    @Test
+    public void testClosedSession() throws Exception {
+        session.close();
+        assertFalse(session.isAlive());
+        assertFalse(session.accepts(query()));
+        try {
+            session.solve(query(), 10000);
+            fail();
+        } catch (SolverErrorException e) {
+            // expected
+        }
+    }
+}
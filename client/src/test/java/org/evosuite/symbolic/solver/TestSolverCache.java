@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Operator;
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestSolverCache {
+
+    private static final String DEFAULT_SOLVER_CACHE_FILE = Properties.DSE_SOLVER_CACHE_FILE;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void restoreProperties() {
+        Properties.DSE_SOLVER_CACHE_FILE = DEFAULT_SOLVER_CACHE_FILE;
+    }
+
+    private static IntegerVariable var(String name) {
+        return new IntegerVariable(name, 0, -1000, 1000);
+    }
+
+    /**
+     * x + k == y
+     */
+    private static Constraint<?> sum(IntegerVariable x, long k, IntegerVariable y) {
+        IntegerBinaryExpression plus = new IntegerBinaryExpression(x, Operator.PLUS, new IntegerConstant(k), 0L);
+        return new IntegerConstraint(plus, Comparator.EQ, y);
+    }
+
+    private static Constraint<?> greater(IntegerVariable x, long k) {
+        return new IntegerConstraint(x, Comparator.GT, new IntegerConstant(k));
+    }
+
+    @Test
+    public void testRenamingAndReordering() {
+        List<Constraint<?>> first = new ArrayList<>();
+        first.add(sum(var("a"), 1, var("b")));
+        first.add(greater(var("a"), 5));
+
+        List<Constraint<?>> second = new ArrayList<>();
+        second.add(greater(var("z"), 5));
+        second.add(sum(var("z"), 1, var("w")));
+
+        assertEquals(CanonicalQuery.canonicalize(first).getKey(), CanonicalQuery.canonicalize(second).getKey());
+    }
+
+    @Test
+    public void testDifferentConstantsAndBounds() {
+        List<Constraint<?>> first = Collections.singletonList(greater(var("a"), 5));
+        List<Constraint<?>> second = Collections.singletonList(greater(var("a"), 6));
+        List<Constraint<?>> third = Collections.singletonList(
+                new IntegerConstraint(new IntegerVariable("a", 0, 0, 10), Comparator.GT, new IntegerConstant(5)));
+
+        String key = CanonicalQuery.canonicalize(first).getKey();
+        assertNotEquals(key, CanonicalQuery.canonicalize(second).getKey());
+        assertNotEquals(key, CanonicalQuery.canonicalize(third).getKey());
+    }
+
+    @Test
+    public void testIndependentComponents() {
+        List<Constraint<?>> constraints = new ArrayList<>();
+        constraints.add(greater(var("a"), 5));
+        constraints.add(greater(var("b"), 7));
+        constraints.add(sum(var("a"), 1, var("c")));
+
+        CanonicalQuery query = CanonicalQuery.canonicalize(constraints);
+        assertEquals(2, query.getComponents().size());
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("a", 6L);
+        model.put("b", 8L);
+        model.put("c", 7L);
+        for (CanonicalQuery.Component component : query.getComponents()) {
+            Map<String, Object> canonical = component.toCanonicalModel(model);
+            assertEquals(canonical.size(), component.toOriginalModel(canonical).size());
+            for (Map.Entry<String, Object> entry : component.toOriginalModel(canonical).entrySet()) {
+                assertEquals(model.get(entry.getKey()), entry.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void testCachedModuloRenaming() {
+        SolverCache cache = SolverCache.getInstance();
+
+        List<Constraint<?>> solved = new ArrayList<>();
+        solved.add(greater(var("p"), 123456));
+        solved.add(greater(var("q"), 654321));
+        Map<String, Object> model = new HashMap<>();
+        model.put("p", 123457L);
+        model.put("q", 654322L);
+        cache.saveSolverResult(solved, SolverResult.newSAT(model));
+
+        // same constraints, renamed and reordered
+        List<Constraint<?>> renamed = new ArrayList<>();
+        renamed.add(greater(var("s"), 654321));
+        renamed.add(greater(var("r"), 123456));
+        assertTrue(cache.hasCachedResult(renamed));
+        SolverResult result = cache.getCachedResult();
+        assertTrue(result.isSAT());
+        assertEquals(123457L, result.getValue("r"));
+        assertEquals(654322L, result.getValue("s"));
+
+        // one independent sub-system only
+        List<Constraint<?>> part = Collections.singletonList(greater(var("t"), 654321));
+        assertTrue(cache.hasCachedResult(part));
+        assertEquals(654322L, cache.getCachedResult().getValue("t"));
+    }
+
+    @Test
+    public void testUnsatSubSystem() {
+        SolverCache cache = SolverCache.getInstance();
+
+        cache.saveSolverResult(Collections.singletonList(greater(var("u"), 424242)), SolverResult.newUNSAT());
+
+        List<Constraint<?>> constraints = new ArrayList<>();
+        constraints.add(greater(var("x"), 424242));
+        constraints.add(greater(var("y"), 31));
+        assertTrue(cache.hasCachedResult(constraints));
+        assertTrue(cache.getCachedResult().isUNSAT());
+    }
+
+    @Test
+    public void testPersist() throws Exception {
+        File file = new File(folder.getRoot(), "solver.cache");
+        Properties.DSE_SOLVER_CACHE_FILE = file.getAbsolutePath();
+
+        SolverCache cache = SolverCache.getInstance();
+        cache.saveSolverResult(Collections.singletonList(greater(var("m"), 777777)), SolverResult.newUNSAT());
+        cache.persist();
+        assertTrue(file.exists());
+        assertTrue(file.length() > 0);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestChromosomeTest {
+
+    private final boolean reuseExecutionPrefix = Properties.REUSE_EXECUTION_PREFIX;
+
+    @After
+    public void restoreProperties() {
+        Properties.REUSE_EXECUTION_PREFIX = reuseExecutionPrefix;
+    }
+
+    private static TestChromosome createExecutedChromosome(int length, Integer exceptionPosition) {
+        TestChromosome chromosome = new TestChromosome();
+        TestCase test = chromosome.getTestCase();
+        for (int i = 0; i < length; i++) {
+            test.addStatement(new IntPrimitiveStatement(test, i));
+        }
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(new ExecutionTraceImpl());
+        if (exceptionPosition != null) {
+            result.reportNewThrownException(exceptionPosition, new IllegalStateException());
+        }
+        chromosome.setLastExecutionResult(result);
+        chromosome.setChanged(false);
+        return chromosome;
+    }
+
+    @Test
+    public void testCrossOverAfterExceptionReusesResult() throws Exception {
+        Properties.REUSE_EXECUTION_PREFIX = true;
+        TestChromosome parent = createExecutedChromosome(5, 1);
+        TestChromosome other = createExecutedChromosome(4, null);
+
+        TestChromosome offspring = parent.clone();
+        offspring.crossOver(other, 3, 2);
+
+        Assert.assertEquals(5, offspring.size());
+        Assert.assertTrue(offspring.isChanged());
+        ExecutionResult result = offspring.getReusableExecutionResult();
+        Assert.assertNotNull(result);
+        Assert.assertSame(offspring.getTestCase(), result.test);
+        Assert.assertEquals(Integer.valueOf(1), result.getFirstPositionOfThrownException());
+    }
+
+    @Test
+    public void testChangeAfterCrossOverNeedsExecution() throws Exception {
+        Properties.REUSE_EXECUTION_PREFIX = true;
+        TestChromosome parent = createExecutedChromosome(5, 1);
+        TestChromosome other = createExecutedChromosome(4, null);
+
+        TestChromosome offspring = parent.clone();
+        offspring.crossOver(other, 3, 2);
+        Assert.assertNotNull(offspring.getReusableExecutionResult());
+
+        offspring.setChanged(true);
+        Assert.assertNull(offspring.getReusableExecutionResult());
+    }
+
+    @Test
+    public void testCrossOverBeforeExceptionNeedsExecution() throws Exception {
+        Properties.REUSE_EXECUTION_PREFIX = true;
+        TestChromosome parent = createExecutedChromosome(5, 3);
+        TestChromosome other = createExecutedChromosome(4, null);
+
+        TestChromosome offspring = parent.clone();
+        offspring.crossOver(other, 3, 2);
+
+        Assert.assertTrue(offspring.isChanged());
+        Assert.assertNull(offspring.getLastExecutionResult());
+        Assert.assertNull(offspring.getReusableExecutionResult());
+    }
+
+    @Test
+    public void testCrossOverWithoutExceptionNeedsExecution() throws Exception {
+        Properties.REUSE_EXECUTION_PREFIX = true;
+        TestChromosome parent = createExecutedChromosome(5, null);
+        TestChromosome other = createExecutedChromosome(4, null);
+
+        TestChromosome offspring = parent.clone();
+        offspring.crossOver(other, 3, 2);
+
+        Assert.assertTrue(offspring.isChanged());
+        Assert.assertNull(offspring.getLastExecutionResult());
+        Assert.assertNull(offspring.getReusableExecutionResult());
+    }
+
+    @Test
+    public void testCrossOverWithReuseDisabled() throws Exception {
+        Properties.REUSE_EXECUTION_PREFIX = false;
+        TestChromosome parent = createExecutedChromosome(5, 1);
+        TestChromosome other = createExecutedChromosome(4, null);
+
+        TestChromosome offspring = parent.clone();
+        offspring.crossOver(other, 3, 2);
+
+        Assert.assertTrue(offspring.isChanged());
+        Assert.assertNull(offspring.getLastExecutionResult());
+        Assert.assertNull(offspring.getReusableExecutionResult());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArrayExecutionTraceImplTest {
+
+    private static void passBranches(ExecutionTrace trace) {
+        trace.branchPassed(1, 10, 3.0, 0.0);
+        trace.branchPassed(1, 10, 0.0, 1.0);
+        trace.branchPassed(2, 11, 5.0, 0.0);
+        // larger than the initial capacity, forces the arrays to grow
+        trace.branchPassed(40, 12, 0.0, 2.0);
+        trace.branchPassed(2, 11, 4.0, 0.0);
+    }
+
+    @Test
+    public void testSameDataAsMapTrace() {
+        ExecutionTraceImpl expected = new ExecutionTraceImpl();
+        ExecutionTraceImpl actual = new ArrayExecutionTraceImpl(4);
+        passBranches(expected);
+        passBranches(actual);
+
+        Assert.assertEquals(expected.getTrueDistances(), actual.getTrueDistances());
+        Assert.assertEquals(expected.getFalseDistances(), actual.getFalseDistances());
+        Assert.assertEquals(expected.getTrueDistancesSum(), actual.getTrueDistancesSum());
+        Assert.assertEquals(expected.getFalseDistancesSum(), actual.getFalseDistancesSum());
+        Assert.assertEquals(expected.getPredicateExecutionCount(), actual.getPredicateExecutionCount());
+        Assert.assertEquals(expected.getCoveredPredicates(), actual.getCoveredPredicates());
+        Assert.assertEquals(expected.getCoveredTrueBranches(), actual.getCoveredTrueBranches());
+        Assert.assertEquals(expected.getCoveredFalseBranches(), actual.getCoveredFalseBranches());
+
+        Assert.assertEquals(4.0, actual.getTrueDistance(2), 0.0);
+        Assert.assertEquals(0.0, actual.getFalseDistance(2), 0.0);
+        Assert.assertTrue(actual.hasTrueDistance(40));
+        Assert.assertFalse(actual.hasTrueDistance(3));
+        Assert.assertFalse(actual.hasFalseDistance(1000));
+    }
+
+    @Test
+    public void testViewsAreUpdated() {
+        ExecutionTraceImpl trace = new ArrayExecutionTraceImpl(4);
+        trace.branchPassed(1, 10, 3.0, 0.0);
+        Assert.assertEquals(3.0, trace.getTrueDistances().get(1), 0.0);
+
+        trace.branchPassed(1, 10, 0.0, 1.0);
+        Assert.assertEquals(0.0, trace.getTrueDistances().get(1), 0.0);
+        Assert.assertEquals(2, (int) trace.getPredicateExecutionCount().get(1));
+    }
+
+    @Test
+    public void testCloneIsDeep() {
+        ExecutionTraceImpl trace = new ArrayExecutionTraceImpl(4);
+        trace.branchPassed(1, 10, 3.0, 0.0);
+
+        ExecutionTraceImpl copy = trace.clone();
+        Assert.assertTrue(copy instanceof ArrayExecutionTraceImpl);
+        copy.branchPassed(1, 10, 0.0, 1.0);
+        copy.branchPassed(2, 11, 0.0, 1.0);
+
+        Assert.assertEquals(3.0, trace.getTrueDistance(1), 0.0);
+        Assert.assertFalse(trace.hasTrueDistance(2));
+        Assert.assertEquals(0.0, copy.getTrueDistance(1), 0.0);
+        Assert.assertTrue(copy.hasTrueDistance(2));
+    }
+
+    @Test
+    public void testClear() {
+        ExecutionTraceImpl trace = new ArrayExecutionTraceImpl(4);
+        passBranches(trace);
+        trace.clear();
+
+        Assert.assertTrue(trace.getTrueDistances().isEmpty());
+        Assert.assertTrue(trace.getPredicateExecutionCount().isEmpty());
+        Assert.assertTrue(trace.getCoveredTrueBranches().isEmpty());
+        Assert.assertFalse(trace.hasTrueDistance(1));
+    }
+}
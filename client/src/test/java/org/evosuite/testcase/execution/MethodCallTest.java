@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodCallTest {
+
+    private static void passBranch(MethodCall call, int branchId, double trueDistance, double falseDistance) {
+        call.branchTrace.add(branchId);
+        call.trueDistanceTrace.add(trueDistance);
+        call.falseDistanceTrace.add(falseDistance);
+    }
+
+    @Test
+    public void testMinBranchDistance() {
+        MethodCall call = new MethodCall("Foo", "bar()V", 0, 0, 0);
+        passBranch(call, 7, 3.0, 0.0);
+        passBranch(call, 2, 0.0, 1.0);
+        passBranch(call, 7, 1.5, 0.0);
+
+        Assert.assertEquals(1.5, call.getMinBranchDistance(7, true), 0.0);
+        Assert.assertEquals(0.0, call.getMinBranchDistance(7, false), 0.0);
+        Assert.assertEquals(0.0, call.getMinBranchDistance(2, true), 0.0);
+        Assert.assertEquals(1.0, call.getMinBranchDistance(2, false), 0.0);
+        Assert.assertEquals(-1, call.getMinBranchDistance(5, true), 0.0);
+    }
+
+    @Test
+    public void testMinBranchDistanceAfterTraceGrows() {
+        MethodCall call = new MethodCall("Foo", "bar()V", 0, 0, 0);
+        passBranch(call, 7, 3.0, 0.0);
+        Assert.assertEquals(-1, call.getMinBranchDistance(5, false), 0.0);
+
+        passBranch(call, 5, 0.0, 2.0);
+        passBranch(call, 7, 1.0, 0.0);
+        Assert.assertEquals(2.0, call.getMinBranchDistance(5, false), 0.0);
+        Assert.assertEquals(1.0, call.getMinBranchDistance(7, true), 0.0);
+        Assert.assertEquals(-1, call.clone().getMinBranchDistance(8, true), 0.0);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution.reset;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StaticFieldSnapshotTest {
+
+    private static class Supported {
+        static int counter = 1;
+        static String name = "foo";
+        static final List<String> NAMES = new ArrayList<>(Collections.singletonList("a"));
+        static final List<String> NAMES_VIEW = Collections.unmodifiableList(NAMES);
+        static Map<String, Integer> map = new HashMap<>();
+        static int[] values = {1, 2};
+    }
+
+    private static class Unsupported {
+        static StringBuilder builder = new StringBuilder();
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+        StaticFieldSnapshot snapshot = StaticFieldSnapshot.capture(Supported.class);
+        Assert.assertNotNull(snapshot);
+
+        Map<String, Integer> map = Supported.map;
+        Supported.counter = 42;
+        Supported.name = null;
+        Supported.NAMES.add("b");
+        Supported.map = new HashMap<>();
+        map.put("x", 1);
+        Supported.values[1] = 3;
+
+        snapshot.restore();
+
+        Assert.assertEquals(1, Supported.counter);
+        Assert.assertEquals("foo", Supported.name);
+        Assert.assertEquals(Collections.singletonList("a"), Supported.NAMES);
+        Assert.assertEquals(Collections.singletonList("a"), Supported.NAMES_VIEW);
+        Assert.assertSame(map, Supported.map);
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertArrayEquals(new int[]{1, 2}, Supported.values);
+    }
+
+    @Test
+    public void testUnsupportedMutableType() throws Exception {
+        Assert.assertNotNull(Unsupported.builder);
+        Assert.assertNull(StaticFieldSnapshot.capture(Unsupported.class));
+    }
+}
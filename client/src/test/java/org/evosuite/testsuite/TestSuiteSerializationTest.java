@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSuiteSerializationTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static TestCase createTest(int... values) {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int value : values) {
+            test.addStatement(new IntPrimitiveStatement(test, value));
+        }
+        return test;
+    }
+
+    private static TestSuiteChromosome createSuite() {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.addTest(createTest(1, 2, 3));
+        suite.addTest(createTest(42));
+        return suite;
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        TestSuiteChromosome suite = createSuite();
+        File target = folder.newFile("Foo.seed");
+
+        assertEquals(true, TestSuiteSerialization.saveTests(suite, target));
+        List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+
+        assertEquals(2, tests.size());
+        assertEquals(suite.getTestChromosome(0).getTestCase().toCode(), tests.get(0).getTestCase().toCode());
+        assertEquals(suite.getTestChromosome(1).getTestCase().toCode(), tests.get(1).getTestCase().toCode());
+    }
+
+    @Test
+    public void testLoadPreviousFormat() throws Exception {
+        TestSuiteChromosome suite = createSuite();
+        File target = folder.newFile("Foo.seed");
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(target))) {
+            for (TestChromosome tc : suite.getTestChromosomes()) {
+                out.writeObject(tc);
+            }
+        }
+
+        List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+        assertEquals(2, tests.size());
+        assertEquals(suite.getTestChromosome(1).getTestCase().toCode(), tests.get(1).getTestCase().toCode());
+    }
+
+    @Test
+    public void testBrokenTestIsSkipped() throws Exception {
+        TestSuiteChromosome suite = createSuite();
+        File target = folder.newFile("Foo.seed");
+        TestSuiteSerialization.saveTests(suite, target);
+
+        // header (4 bytes magic, 1 byte version), varint length of the first
+        // block, then the content of the first block
+        byte[] bytes = Files.readAllBytes(target.toPath());
+        int firstBlock = 4 + 1;
+        while ((bytes[firstBlock++] & 0x80) != 0) {
+            // skip the length
+        }
+        for (int i = firstBlock; i < firstBlock + 4; i++) {
+            bytes[i] = (byte) 0xFF;
+        }
+        Files.write(target.toPath(), bytes);
+
+        List<TestChromosome> tests = TestSuiteSerialization.loadTests(target);
+        assertEquals(1, tests.size());
+        assertEquals(suite.getTestChromosome(1).getTestCase().toCode(), tests.get(0).getTestCase().toCode());
+    }
+}
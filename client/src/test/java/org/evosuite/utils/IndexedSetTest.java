@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public class IndexedSetTest {
+
+    @Test
+    public void testInsertionOrder() {
+        IndexedSet<String> set = new IndexedSet<>(Arrays.asList("c", "a", "b", "a"));
+
+        Assert.assertEquals(3, set.size());
+        Assert.assertEquals(new ArrayList<>(new LinkedHashSet<>(Arrays.asList("c", "a", "b"))), new ArrayList<>(set));
+        Assert.assertEquals("c", set.get(0));
+        Assert.assertEquals("a", set.get(1));
+        Assert.assertEquals("b", set.get(2));
+        Assert.assertFalse(set.add("b"));
+    }
+
+    @Test
+    public void testRemove() {
+        IndexedSet<String> set = new IndexedSet<>(Arrays.asList("a", "b", "c", "d"));
+
+        Assert.assertTrue(set.remove("b"));
+        Assert.assertFalse(set.remove("b"));
+        Assert.assertFalse(set.contains("b"));
+        Assert.assertEquals("c", set.get(1));
+
+        set.removeIf(e -> e.equals("a"));
+        Assert.assertEquals(Arrays.asList("c", "d"), new ArrayList<>(set));
+
+        set.removeAll(Arrays.asList("d", "x"));
+        Assert.assertEquals(1, set.size());
+        Assert.assertTrue(set.add("d"));
+        Assert.assertEquals("d", set.get(1));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        IndexedSet<Integer> set = new IndexedSet<>(Arrays.asList(1, 2, 3, 4, 5));
+
+        Iterator<Integer> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        List<Integer> expected = Arrays.asList(1, 3, 5);
+        Assert.assertEquals(expected, new ArrayList<>(set));
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i), set.get(i));
+            Assert.assertTrue(set.contains(expected.get(i)));
+        }
+        Assert.assertFalse(set.contains(2));
+    }
+}
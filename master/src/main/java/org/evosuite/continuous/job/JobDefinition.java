@@ -194,6 +194,23 @@ public class JobDefinition {
                 configurationId, inputClasses, parentClasses);
     }
 
+    /**
+     * Create a copy of this job by adding extra memory
+     *
+     * @param moreMB
+     * @return
+     */
+    public JobDefinition getByAddingMemory(int moreMB)
+            throws IllegalArgumentException {
+
+        if (moreMB <= 0) {
+            throw new IllegalArgumentException("Invalid extra memory: " + moreMB);
+        }
+
+        return new JobDefinition(seconds, memoryInMB + moreMB, cut,
+                configurationId, inputClasses, parentClasses);
+    }
+
 
     /**
      * Does the execution of this job depend on the other?
@@ -231,6 +248,22 @@ public class JobDefinition {
             return true; // no dependencies to satisfy
         }
 
+        return areDependenciesSatisfied(getCUTs(schedule), done);
+    }
+
+    /**
+     * Check if all jobs this one depends on are finished
+     *
+     * @param scheduledCUTs the CUTs of all the jobs in the schedule, see {@link #getCUTs(List)}
+     * @param done
+     * @return
+     */
+    public boolean areDependenciesSatisfied(Set<String> scheduledCUTs, Set<String> done) {
+
+        if (dependentOnClasses == null) {
+            return true; // no dependencies to satisfy
+        }
+
         for (String name : dependentOnClasses) {
             /*
              * It could happen that a schedule is not complete, in the sense that
@@ -238,7 +271,7 @@ public class JobDefinition {
              * If A depends on B, but we have no job for B, then no point in postponing
              * a job for A
              */
-            if (!inTheSchedule(schedule, name)) {
+            if (!scheduledCUTs.contains(name)) {
                 continue;
             }
             if (!done.contains(name)) {
@@ -248,13 +281,16 @@ public class JobDefinition {
         return true;
     }
 
-    private boolean inTheSchedule(List<JobDefinition> jobs, String cut) {
+    /**
+     * @param jobs
+     * @return the names of the CUTs of the given jobs
+     */
+    public static Set<String> getCUTs(List<JobDefinition> jobs) {
+        Set<String> cuts = new HashSet<>();
         for (JobDefinition job : jobs) {
-            if (job.cut.equals(cut)) {
-                return true;
-            }
+            cuts.add(job.cut);
         }
-        return false;
+        return cuts;
     }
 
 
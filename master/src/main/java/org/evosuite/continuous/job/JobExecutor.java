@@ -30,6 +30,8 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Job executor will run EvoSuite on separate processes.
@@ -78,6 +80,53 @@ public class JobExecutor {
      */
     private Map<String, JobDefinition> finishedJobs;
 
+    /**
+     * Number of handlers pulling jobs from the queue
+     */
+    private volatile int numberOfHandlers;
+
+    /**
+     * Number of jobs in the current execution that no handler has pulled yet
+     */
+    private AtomicInteger jobsNotStarted;
+
+    /**
+     * Jobs currently executed by a handler, indexed by job id
+     */
+    private Map<Integer, RunningJob> runningJobs;
+
+    /**
+     * Time (in ms) that jobs were given but did not use, as they ended
+     * earlier than expected (eg, full coverage, or crash), and that is
+     * going to be shared among the jobs not started yet
+     */
+    private AtomicLong unusedBudgetInMs;
+
+    /**
+     * Number of jobs put on the queue that no handler has started yet
+     */
+    private AtomicInteger jobsOfferedNotStarted;
+
+    /**
+     * The longest budget given to a job once budgets were adapted
+     */
+    private AtomicLong longestStartedJobInMs;
+
+    /**
+     * When and with which resources a job was started
+     */
+    private static class RunningJob {
+        private final long startTimeInMs;
+        private final long expectedEndTimeInMs;
+        private final int memoryInMB;
+
+        private RunningJob(long startTimeInMs, JobDefinition job) {
+            this.startTimeInMs = startTimeInMs;
+            this.expectedEndTimeInMs = startTimeInMs + job.seconds * 1000L;
+            this.memoryInMB = job.memoryInMB;
+        }
+    }
+
     protected final CtgConfiguration configuration;
 
     private final String projectClassPath;
@@ -121,7 +170,7 @@ public class JobExecutor {
 
         logger.info("Going to execute " + jobs.size() + " jobs");
 
-        initExecution(jobs);
+        initExecution(jobs, cores);
 
         Thread mainThread = new Thread() {
             @Override
@@ -142,17 +191,17 @@ public class JobExecutor {
                     LoggingUtils.getEvoLogger().info("Estimated completion time: " + minutes + " minutes, by " + endBy);
 
                     longestJob = execute(jobs);
+                    longestJob = Math.max(longestJob, longestStartedJobInMs.get());
                 } catch (Exception e) {
                     logger.error("Error while trying to execute the " + jobs.size() + " jobs: " + e.getMessage(), e);
                 } finally {
                     /*
                      * When we arrive here, in the worst case each handler is still executing a job,
                      * plus one in the queue.
-                     * Note: this check is not precise
                      */
                     if (!this.isInterrupted() && longestJob > 0) {
                         try {
-                            latch.await((longestJob * 2) + (60000), TimeUnit.MILLISECONDS);
+                            waitForStartedJobs(longestJob);
                         } catch (InterruptedException e) {
                             this.interrupt();
                         }
@@ -176,6 +225,10 @@ public class JobExecutor {
     }
 
     protected void initExecution(final List<JobDefinition> jobs) {
+        initExecution(jobs, configuration.getNumberOfUsableCores());
+    }
+
+    protected void initExecution(final List<JobDefinition> jobs, final int cores) {
         executing = true;
         startTimeInMs = System.currentTimeMillis();
         latch = new CountDownLatch(jobs.size());
@@ -189,6 +242,13 @@ public class JobExecutor {
          */
         jobQueue = new ArrayBlockingQueue<>(1);
         finishedJobs = new ConcurrentHashMap<>();
+
+        numberOfHandlers = cores;
+        jobsNotStarted = new AtomicInteger(jobs.size());
+        jobsOfferedNotStarted = new AtomicInteger(0);
+        runningJobs = new ConcurrentHashMap<>();
+        unusedBudgetInMs = new AtomicLong(0);
+        longestStartedJobInMs = new AtomicLong(-1L);
     }
 
     protected long execute(List<JobDefinition> jobs) {
@@ -200,6 +260,8 @@ public class JobExecutor {
 
         List<JobDefinition> postponed = new LinkedList<>();
 
+        Set<String> scheduled = JobDefinition.getCUTs(jobs);
+
         mainLoop:
         while (!toExecute.isEmpty() || !postponed.isEmpty()) {
 
@@ -217,7 +279,7 @@ public class JobExecutor {
                 postponedLoop:
                 while (iterator.hasNext()) {
                     JobDefinition job = iterator.next();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
+                    if (job.areDependenciesSatisfied(scheduled, finishedJobs.keySet())) {
                         chosenJob = job;
                         iterator.remove();
                         break postponedLoop;
@@ -246,7 +308,7 @@ public class JobExecutor {
                 toExecuteLoop:
                 while (!toExecute.isEmpty()) {
                     JobDefinition job = toExecute.poll();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
+                    if (job.areDependenciesSatisfied(scheduled, finishedJobs.keySet())) {
                         chosenJob = job;
                         break toExecuteLoop;
                     } else {
@@ -271,7 +333,9 @@ public class JobExecutor {
             longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
 
             try {
-                jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
+                if (jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS)) {
+                    jobsOfferedNotStarted.incrementAndGet();
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); //important for check later
                 break mainLoop;
@@ -282,11 +346,138 @@ public class JobExecutor {
     }
 
 
+    /**
+     * Wait till all the jobs put on the queue are finished. As budgets are
+     * adapted when jobs are started, a job might be given more time than
+     * any job in the schedule. So, the waiting time is based on when the
+     * running jobs are expected to end, plus one extra minute, and it is
+     * recomputed each time a new job is started.
+     *
+     * <p>
+     * Adapted budgets never go beyond the end of the whole execution, so
+     * we never wait longer than that, or than twice the longest job.
+     *
+     * @param longestJob the longest budget (in ms) of the jobs that were put on the queue
+     * @throws InterruptedException
+     */
+    protected void waitForStartedJobs(long longestJob) throws InterruptedException {
+        final long slack = 60_000;
+        final long executionEnd = startTimeInMs + configuration.timeInMinutes * 60_000L;
+        final long hardDeadline = Math.max(executionEnd, System.currentTimeMillis() + longestJob * 2) + slack;
+
+        while (latch.getCount() > 0) {
+            long now = System.currentTimeMillis();
+            long deadline;
+            synchronized (runningJobs) {
+                if (runningJobs.isEmpty() && jobsOfferedNotStarted.get() <= 0) {
+                    return; //the remaining jobs were never put on the queue
+                }
+                deadline = runningJobs.isEmpty() ? now : Long.MIN_VALUE;
+                for (RunningJob running : runningJobs.values()) {
+                    deadline = Math.max(deadline, running.expectedEndTimeInMs);
+                }
+            }
+            deadline = Math.min(deadline + slack, hardDeadline);
+            if (now >= deadline) {
+                return;
+            }
+            //check again once in a while, as more jobs could be started in the meantime
+            if (latch.await(Math.min(deadline - now, 1000), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take the next job to execute, blocking until one is available.
+     * The budget of the job is adapted to the resources that are available
+     * at the time it is started.
+     *
+     * @return
+     * @throws InterruptedException
+     */
     public JobDefinition pollJob() throws InterruptedException {
-        return jobQueue.take();
+        JobDefinition job = jobQueue.take();
+        synchronized (runningJobs) {
+            int othersNotStarted = jobsNotStarted.decrementAndGet();
+            if (Properties.CTG_ADAPTIVE_BUDGET && Properties.CTG_TIME_PER_CLASS == null) {
+                job = adaptBudget(job, Math.max(0, othersNotStarted));
+            }
+            runningJobs.put(job.jobID, new RunningJob(System.currentTimeMillis(), job));
+            jobsOfferedNotStarted.decrementAndGet();
+        }
+        longestStartedJobInMs.accumulateAndGet(job.seconds * 1000L, Math::max);
+        return job;
+    }
+
+    /**
+     * The budgets of the schedule are computed up front, but jobs might end
+     * much earlier than expected (eg, when all the goals are covered). The time
+     * they did not use is shared among the jobs not started yet. Furthermore,
+     * once there are no more jobs waiting for a handler, the last jobs can run
+     * as long as the jobs still running would anyway (so that cores are not left
+     * idle at the end of the execution), and share the memory that is not in use.
+     *
+     * <p>
+     * Budgets can only increase, and never beyond the remaining time of the
+     * whole execution.
+     *
+     * @param job              the job that is going to be started
+     * @param othersNotStarted the number of jobs that will be started after this one
+     * @return the job with its adapted budget
+     */
+    protected JobDefinition adaptBudget(JobDefinition job, int othersNotStarted) {
+
+        long now = System.currentTimeMillis();
+        long remaining = getRemainingTimeInMs();
+        long budget = job.seconds * 1000L;
+
+        long share = unusedBudgetInMs.get() / (othersNotStarted + 1);
+        long target = budget + share;
+
+        int idleHandlers = numberOfHandlers - runningJobs.size() - 1;
+        boolean noneWaiting = othersNotStarted <= idleHandlers;
+
+        if (noneWaiting) {
+            for (RunningJob running : runningJobs.values()) {
+                target = Math.max(target, running.expectedEndTimeInMs - now);
+            }
+        }
+
+        target = Math.min(target, remaining);
+        int moreSeconds = (int) ((target - budget) / 1000);
+        if (moreSeconds > 0) {
+            unusedBudgetInMs.addAndGet(-Math.min(share, moreSeconds * 1000L));
+            logger.debug("Adding " + moreSeconds + " seconds to the budget of " + job.cut);
+            job = job.getByAddingBudget(moreSeconds);
+        }
+
+        if (noneWaiting) {
+            int usedMemory = 0;
+            for (RunningJob running : runningJobs.values()) {
+                usedMemory += running.memoryInMB;
+            }
+            int freeMemory = configuration.totalMemoryInMB - usedMemory;
+            int moreMB = freeMemory / (othersNotStarted + 1) - job.memoryInMB;
+            if (moreMB > 0) {
+                logger.debug("Adding " + moreMB + "MB to the memory of " + job.cut);
+                job = job.getByAddingMemory(moreMB);
+            }
+        }
+
+        return job;
     }
 
     public void doneWithJob(JobDefinition job) {
+        RunningJob running = runningJobs.remove(job.jobID);
+        if (running != null) {
+            long used = System.currentTimeMillis() - running.startTimeInMs;
+            long unused = job.seconds * 1000L - used;
+            if (unused > 0) {
+                unusedBudgetInMs.addAndGet(unused);
+            }
+        }
+
         finishedJobs.put(job.cut, job);
         latch.countDown();
         LoggingUtils.getEvoLogger().info("Completed job. Left: " + latch.getCount());
@@ -105,6 +105,7 @@ public class SeedingSchedule extends OneTimeSchedule {
 
         List<JobDefinition> out = new ArrayList<>(jobs.size());
         Set<String> assigned = new HashSet<>();
+        Set<String> scheduled = JobDefinition.getCUTs(jobs);
 
         /*
          * Note: the code here is similar to what done in JobExecutor
@@ -121,7 +122,7 @@ public class SeedingSchedule extends OneTimeSchedule {
                 postponedLoop:
                 while (iterator.hasNext()) {
                     JobDefinition job = iterator.next();
-                    if (job.areDependenciesSatisfied(jobs, assigned)) {
+                    if (job.areDependenciesSatisfied(scheduled, assigned)) {
                         chosenJob = job;
                         iterator.remove();
                         break postponedLoop;
@@ -144,7 +145,7 @@ public class SeedingSchedule extends OneTimeSchedule {
                 toExecuteLoop:
                 while (!toAssign.isEmpty()) {
                     JobDefinition job = toAssign.poll();
-                    if (job.areDependenciesSatisfied(jobs, assigned)) {
+                    if (job.areDependenciesSatisfied(scheduled, assigned)) {
                         chosenJob = job;
                         break toExecuteLoop;
                     } else {
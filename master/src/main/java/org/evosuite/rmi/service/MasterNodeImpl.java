@@ -169,6 +169,15 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
     }
 
+    @Override
+    public void evosuite_collectStatistics(String clientRmiIdentifier, Map<RuntimeVariable, Object> variables)
+            throws RemoteException {
+        SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+        for (Map.Entry<RuntimeVariable, Object> entry : variables.entrySet()) {
+            statistics.setOutputVariable(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public void evosuite_collectTestGenerationResult(
             String clientRmiIdentifier, List<TestGenerationResult> results)
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import com.examples.with.different.packagename.ExampleObserverClass;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.SystemTestBase;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.coverage.mutation.MutationPool;
+import org.evosuite.coverage.mutation.MutationTimeoutStoppingCondition;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that skipping the observations before a mutant is first reached
+ * ({@link Properties#SPLIT_STREAM_OBSERVATION}) does not change the generated
+ * assertions nor the mutants they kill
+ */
+public class SplitStreamObservationSystemTest extends SystemTestBase {
+
+    @Test
+    public void testSameAssertionsWithAndWithoutSplitStreamObservation() throws Exception {
+        Properties.TARGET_CLASS = ExampleObserverClass.class.getCanonicalName();
+        Properties.CRITERION = new Criterion[]{Criterion.MUTATION};
+
+        List<String> classpath = new ArrayList<>();
+        String cp = System.getProperty("user.dir") + "/target/test-classes";
+        classpath.add(cp);
+        ClassPathHandler.getInstance().addElementToTargetProjectClassPath(cp);
+        DependencyAnalysis.analyzeClass(Properties.TARGET_CLASS, classpath);
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+
+        Properties.SPLIT_STREAM_OBSERVATION = false;
+        Set<Integer> killedWithoutSplitStream = new TreeSet<>();
+        List<String> assertionsWithoutSplitStream = generateAssertions(sut, killedWithoutSplitStream);
+
+        Properties.SPLIT_STREAM_OBSERVATION = true;
+        Set<Integer> killedWithSplitStream = new TreeSet<>();
+        List<String> assertionsWithSplitStream = generateAssertions(sut, killedWithSplitStream);
+
+        assertFalse(assertionsWithoutSplitStream.isEmpty());
+        assertEquals(assertionsWithoutSplitStream, assertionsWithSplitStream);
+        assertEquals(killedWithoutSplitStream, killedWithSplitStream);
+
+        // the interesting mutants are the ones first reached by setMember, after several statements
+        Set<Integer> setMemberMutants = new HashSet<>();
+        for (Mutation m : MutationPool.getInstance(sut.getClassLoader()).getMutants()) {
+            if (m.getMethodName().startsWith("setMember")) {
+                setMemberMutants.add(m.getId());
+            }
+        }
+        setMemberMutants.retainAll(killedWithSplitStream);
+        assertFalse(setMemberMutants.isEmpty());
+    }
+
+    /**
+     * @return the assertions generated for the test, each with the ids of the mutants it kills
+     */
+    private List<String> generateAssertions(Class<?> sut, Set<Integer> killed) throws NoSuchMethodException {
+        MutationAssertionGenerator.timedOutMutations.clear();
+        MutationAssertionGenerator.exceptionMutations.clear();
+        MutationTimeoutStoppingCondition.resetStatic();
+        Randomness.setSeed(42);
+
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference observer = builder.appendConstructor(sut.getConstructor());
+        builder.appendIntPrimitive(5);
+        builder.appendIntPrimitive(7);
+        VariableReference member = builder.appendIntPrimitive(9);
+        builder.appendMethod(observer, sut.getMethod("setMember", int.class), member);
+        builder.appendMethod(observer, sut.getMethod("getMember"));
+        TestCase test = builder.getDefaultTestCase();
+
+        SimpleMutationAssertionGenerator generator = new SimpleMutationAssertionGenerator();
+        generator.addAssertions(test, killed);
+        assertTrue(test.hasAssertions());
+
+        List<String> assertions = new ArrayList<>();
+        for (Assertion assertion : test.getAssertions()) {
+            Set<Integer> killedByAssertion = new TreeSet<>();
+            for (Mutation m : assertion.getKilledMutations()) {
+                killedByAssertion.add(m.getId());
+            }
+            assertions.add(assertion.getStatement().getPosition() + ": " + assertion.getCode()
+                    + " kills " + killedByAssertion);
+        }
+        Collections.sort(assertions);
+        return assertions;
+    }
+}
@@ -207,4 +207,60 @@ public class JobExecutorIntTest {
 
         storage.clean();
     }
+
+    @Test
+    public void testBudgetOfLastJobs() throws InterruptedException {
+
+        boolean storageOK = storage.isStorageOk();
+        assertTrue(storageOK);
+
+        String classpath = System.getProperty("java.class.path");
+
+        int cores = 2;
+        int memory = 2000;
+        int minutes = 10000;
+
+        CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+        final JobExecutor exe = new JobExecutor(storage, classpath, conf);
+
+        JobDefinition simple = new JobDefinition(60, 500,
+                Simple.class.getName(), 0, null, null);
+
+        JobDefinition trivial = new JobDefinition(10, 500,
+                Trivial.class.getName(), 0, null, null);
+
+        final List<JobDefinition> jobs = Arrays.asList(simple, trivial);
+
+        exe.initExecution(jobs);
+
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                exe.execute(jobs);
+            }
+        };
+        try {
+            t.start();
+
+            JobDefinition first = exe.pollJob();
+            Assert.assertEquals(simple.cut, first.cut);
+            Assert.assertEquals(60, first.seconds);
+
+            /*
+             * no job is left waiting, so the last one can use the core
+             * till the first job ends, and all the memory not in use
+             */
+            JobDefinition last = exe.pollJob();
+            Assert.assertEquals(trivial.cut, last.cut);
+            assertTrue("" + last.seconds, last.seconds > 10 && last.seconds <= 60);
+            Assert.assertEquals(memory - first.memoryInMB, last.memoryInMB);
+
+            exe.doneWithJob(first);
+            exe.doneWithJob(last);
+        } finally {
+            t.interrupt();
+        }
+
+        storage.clean();
+    }
 }
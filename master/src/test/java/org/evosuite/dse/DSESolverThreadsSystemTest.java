@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ * <p>
+ * This file is part of EvoSuite.
+ * <p>
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import com.examples.with.different.packagename.dse.Max;
+import com.examples.with.different.packagename.dse.StringExample;
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.symbolic.dse.algorithm.DSEAlgorithms;
+import org.evosuite.symbolic.dse.algorithm.ExplorationAlgorithmBase;
+import org.evosuite.symbolic.solver.SolverCache;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks that solving the queries of the children in advance on several
+ * threads ({@link Properties#DSE_SOLVER_THREADS}) generates the same tests as
+ * solving them one at a time.
+ */
+public class DSESolverThreadsSystemTest extends DSESystemTestBase {
+
+    @Before
+    public void init() {
+        super.init();
+
+        Properties.DSE_EXPLORATION_ALGORITHM_TYPE = DSEAlgorithms.GENERATIONAL_SEARCH;
+        Properties.CURRENT_DSE_MODULE_VERSION = Properties.DSE_MODULE_VERSION.NEW;
+    }
+
+    @Test
+    public void testMaxSameTestsWithSeveralSolverThreads() {
+        checkSameTestsWithSeveralSolverThreads(Max.class);
+    }
+
+    @Test
+    public void testStringExampleSameTestsWithSeveralSolverThreads() {
+        checkSameTestsWithSeveralSolverThreads(StringExample.class);
+    }
+
+    private void checkSameTestsWithSeveralSolverThreads(Class<?> sut) {
+        TestSuiteChromosome sequential = generateTests(sut, 1);
+        TestSuiteChromosome concurrent = generateTests(sut, 4);
+
+        assertFalse(sequential.getTests().isEmpty());
+        assertEquals(sequential.toString(), concurrent.toString());
+        assertEquals(sequential.getNumOfCoveredGoals(), concurrent.getNumOfCoveredGoals());
+        assertEquals(sequential.getNumOfNotCoveredGoals(), concurrent.getNumOfNotCoveredGoals());
+    }
+
+    private TestSuiteChromosome generateTests(Class<?> sut, int solverThreads) {
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Archive.getArchiveInstance().reset();
+        SolverCache.getInstance().reset();
+        Randomness.setSeed(42);
+
+        Properties.DSE_SOLVER_THREADS = solverThreads;
+
+        EvoSuite evosuite = new EvoSuite();
+        String targetClass = sut.getCanonicalName();
+        Properties.TARGET_CLASS = targetClass;
+
+        String[] command = new String[]{"-generateSuiteUsingDSE", "-class", targetClass};
+
+        Object result = evosuite.parseCommandLine(command);
+        ExplorationAlgorithmBase dse = getDSEAFromResult(result);
+        TestSuiteChromosome generatedTestSuite = dse.getGeneratedTestSuite();
+        System.out.println("Generated Test Suite with " + solverThreads + " solver threads:\n" + generatedTestSuite);
+        return generatedTestSuite;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa;
+
+import com.examples.with.different.packagename.BMICalculator;
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.SystemTestBase;
+import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PipelinedEvaluationSystemTest extends SystemTestBase {
+
+    private void test(Properties.Algorithm algorithm) {
+        Properties.ALGORITHM = algorithm;
+        Properties.PIPELINED_EVALUATION = true;
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.BRANCH};
+
+        String targetClass = BMICalculator.class.getCanonicalName();
+        Properties.TARGET_CLASS = targetClass;
+
+        String[] command = new String[]{"-generateMOSuite", "-Dalgorithm=" + algorithm.name(),
+                "-Dstrategy=MOSuite", "-Dpipelined_evaluation=true", "-class", targetClass};
+
+        EvoSuite evoSuite = new EvoSuite();
+        Object result = evoSuite.parseCommandLine(command);
+        GeneticAlgorithm<TestSuiteChromosome> ga = getGAFromResult(result);
+
+        TestSuiteChromosome best = ga.getBestIndividual();
+        System.out.println("EvolvedTestSuite:\n" + best);
+        Assert.assertEquals(1d, best.getCoverage(), 0.001);
+    }
+
+    @Test
+    public void testMOSA() {
+        test(Properties.Algorithm.MOSA);
+    }
+
+    @Test
+    public void testDynaMOSA() {
+        test(Properties.Algorithm.DYNAMOSA);
+    }
+}
@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * In some cases, we can end up with infinite loops: eg due to a bug, a seeded mutation,
@@ -40,13 +39,24 @@ public class LoopCounter {
     private boolean activated = true;
 
     /**
-     * Number of iterations so far
+     * Number of iterations so far, for each loop index
      */
-    private final List<Long> counters;
+    private long[] counters;
+
+    /**
+     * Number of loop indexes given to the instrumentation so far
+     */
+    private int numberOfLoops;
+
+    /**
+     * Number of class initializers each thread is currently executing
+     */
+    private final ThreadLocal<int[]> staticInitDepth = ThreadLocal.withInitial(() -> new int[1]);
 
 
     private LoopCounter() {
-        counters = new ArrayList<>();
+        counters = new long[16];
+        numberOfLoops = 0;
     }
 
     public static LoopCounter getInstance() {
@@ -54,7 +64,7 @@ public class LoopCounter {
     }
 
     public void reset() {
-        counters.clear();
+        Arrays.fill(counters, 0L);
     }
 
     public void setActive(boolean active) {
@@ -71,12 +81,21 @@ public class LoopCounter {
      *
      * @return the next valid index for a new loop
      */
-    public int getNewIndex() {
-        int index = counters.size();
-        counters.add(0L);
+    public synchronized int getNewIndex() {
+        int index = numberOfLoops++;
+        ensureCapacity(numberOfLoops);
         return index;
     }
 
+    private long[] ensureCapacity(int size) {
+        long[] current = counters;
+        if (size > current.length) {
+            current = Arrays.copyOf(current, Math.max(size, current.length * 2));
+            counters = current;
+        }
+        return current;
+    }
+
 
     /**
      * This is added directly in the instrumented CUT after each loop statement
@@ -99,37 +118,45 @@ public class LoopCounter {
         }
 
         //first check initialization
-        int size = counters.size();
-        if (index >= size) {
-            for (int i = 0; i < 1 + (index - size); i++) {
-                counters.add(0L);
-            }
+        long[] current = counters;
+        if (index >= current.length) {
+            current = ensureCapacity(index + 1);
         }
-        assert index < counters.size();
 
         //do increment
-        try {
-            long value = counters.get(index) + 1L;
-            counters.set(index, value);
-
-            if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
-            }
-        } catch (NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
+        long value = ++current[index];
+
+        if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
+            this.reset();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    RuntimeSettings.maxNumberOfIterationsPerLoop);
         }
     }
 
+    /**
+     * This is added directly in the instrumented CUT at the beginning of each static initializer
+     */
+    public void enterStaticInit() {
+        staticInitDepth.get()[0]++;
+    }
 
-    private boolean isInStaticInit() {
-        for (StackTraceElement elem : new Throwable().getStackTrace()) {
-            if (elem.getMethodName().startsWith("<clinit>"))
-                return true;
+    /**
+     * This is added directly in the instrumented CUT wherever a static initializer
+     * is left, either normally or by an exception
+     */
+    public void exitStaticInit() {
+        int[] depth = staticInitDepth.get();
+        if (depth[0] > 0) {
+            depth[0]--;
         }
-        return false;
+    }
+
+    /**
+     * A static initializer should not be stopped, as the class would become unusable
+     *
+     * @return whether the current thread is executing the static initializer of an instrumented class
+     */
+    public boolean isInStaticInit() {
+        return staticInitDepth.get()[0] > 0;
     }
 }
@@ -45,8 +45,8 @@ public class LoopCounterClassAdapter extends ClassVisitor {
         }
 
         if (name.equals("<clinit>")) {
-            //should not stop a static initializer
-            return mv;
+            //should not stop a static initializer, but we need to know when we are in one
+            return new StaticInitMethodAdapter(mv);
         }
 
 
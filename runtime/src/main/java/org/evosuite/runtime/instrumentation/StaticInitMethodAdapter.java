@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import org.evosuite.runtime.LoopCounter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Keep track in {@link LoopCounter} of when a static initializer is executed,
+ * so that loop checks do not need to inspect the stack trace.
+ *
+ * <p>
+ * The counter is increased at the start of {@code <clinit>}, and decreased
+ * before each return and in a catch-all handler that rethrows
+ */
+public class StaticInitMethodAdapter extends MethodVisitor {
+
+    private static final String LOOP_COUNTER = Type.getInternalName(LoopCounter.class);
+
+    private final Label start = new Label();
+
+    private final Label handler = new Label();
+
+    public StaticInitMethodAdapter(MethodVisitor mv) {
+        super(Opcodes.ASM9, mv);
+    }
+
+    @Override
+    public void visitCode() {
+        super.visitCode();
+        addCall("enterStaticInit");
+        super.visitLabel(start);
+    }
+
+    @Override
+    public void visitInsn(int opcode) {
+        if (opcode == Opcodes.RETURN) {
+            addCall("exitStaticInit");
+        }
+        super.visitInsn(opcode);
+    }
+
+    @Override
+    public void visitMaxs(int maxStack, int maxLocals) {
+        /*
+         * The handler is registered last, so that any handler of the
+         * original code takes precedence over it
+         */
+        super.visitLabel(handler);
+        addCall("exitStaticInit");
+        super.visitInsn(Opcodes.ATHROW);
+        super.visitTryCatchBlock(start, handler, handler, null);
+        super.visitMaxs(maxStack + 2, maxLocals);
+    }
+
+    private void addCall(String methodName) {
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, LOOP_COUNTER,
+                "getInstance", "()L" + LOOP_COUNTER + ";", false);
+
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, LOOP_COUNTER,
+                methodName, "()V", false);
+    }
+}
@@ -20,6 +20,7 @@
 package org.evosuite.runtime.mock.java.io;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evosuite.runtime.vfs.FSObject;
@@ -60,6 +61,46 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+	/**
+	 * Read up to {@code len} bytes in a single copy, instead of one byte at a time
+	 * 
+	 * @return the number of bytes read, or -1 if the position is at the end of the file
+	 */
+	public static int read(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int n = vf.read(position.get(), b, off, len);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+		return n;
+	}
+
+	/**
+	 * Read as many bytes as fit in the remaining space of {@code dst}
+	 * 
+	 * @return the number of bytes read, or -1 if the position is at the end of the file
+	 */
+	public static int read(String path, AtomicInteger position, ByteBuffer dst) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+		
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		int n = vf.read(position.get(), dst);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+		return n;
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
@@ -87,6 +128,32 @@ public class NativeMockedIO {
 		position.addAndGet(written);
 	}
 
+	/**
+	 * Write all the remaining bytes of {@code src}
+	 * 
+	 * @return the number of bytes written
+	 */
+	public static int writeBytes(String path, AtomicInteger position, ByteBuffer src) throws IOException{
+		
+		VFile vf = NativeMockedIO.getFileForWriting(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+				
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+		
+		if(!src.hasRemaining()){
+			return 0;
+		}
+		
+		int written = vf.writeBytes(position.get(), src);
+		if(written==0){
+			throw new MockIOException("Error in writing to file");
+		}
+		position.addAndGet(written);
+		return written;
+	}
+
 	
 	public static int size(String path) throws IOException{
 		VFile vf = NativeMockedIO.getFileForReading(path);
@@ -49,6 +49,7 @@ import java.net.UnknownHostException;
 import java.security.*;
 import java.sql.SQLPermission;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -137,6 +138,8 @@ public class MSecurityManager extends SecurityManager {
          * is accessed during the security checks
          */
         boolean forceLoading = RuntimeSettings.mockJVMNonDeterminism;
+        // same for the keys of the decision cache
+        new DecisionKey(new RuntimePermission("getStackTrace"));
     }
 
     private final PermissionStatistics statistics = PermissionStatistics.getInstance();
@@ -177,6 +180,20 @@ public class MSecurityManager extends SecurityManager {
      */
     private final Set<Permission> unrecognizedPermissions;
 
+    /**
+     * Upper bound on the number of decisions that are cached, as the SUT can
+     * ask for an unbounded number of different permission names
+     */
+    private static final int MAX_CACHED_DECISIONS = 4096;
+
+    /**
+     * Decisions taken for non-privileged threads on permissions whose outcome
+     * only depends on the permission itself (ie, its class, name and actions).
+     * The SUT can easily ask for tens of thousands of permissions per test
+     * case (eg, when using reflection), most of them being the same.
+     */
+    private final Map<DecisionKey, Boolean> decisionCache;
+
     /**
      * Create a custom security manager for the SUT. The thread that create this
      * instance is automatically added as "privileged"
@@ -188,6 +205,7 @@ public class MSecurityManager extends SecurityManager {
         executingTestCase = false;
         privilegedThreadToIgnore = null;
         unrecognizedPermissions = new CopyOnWriteArraySet<>();
+        decisionCache = new ConcurrentHashMap<>();
 
         filesToDelete = new CopyOnWriteArraySet<>();
     }
@@ -420,10 +438,11 @@ public class MSecurityManager extends SecurityManager {
     public void checkPermission(Permission perm) throws SecurityException {
         // check access
         if (!allowPermission(perm)) {
-            String stack = "\n";
+            StringBuilder builder = new StringBuilder("\n");
             for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                stack += e + "\n";
+                builder.append(e).append("\n");
             }
+            String stack = builder.toString();
             if (executingTestCase) {
                 /*
                  * report statistics only during test case execution, although still log them. The reason is to avoid EvoSuite threads which might not
@@ -446,16 +465,34 @@ public class MSecurityManager extends SecurityManager {
     // ------------------------------------------------------------------------------------------
 
     private boolean isAWTThread() {
-        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-            if (e.getClassName().startsWith("java.awt"))
-                return true;
-
-            if (e.getClassName().startsWith("javax.swing"))
-                return true;
+        // Also treat the logmanager like AWT stuff, it is just as weird
+        return isOnCallStack("java.awt", "javax.swing", "java.util.logging.LogManager");
+    }
 
-            // Also treat the logmanager like AWT stuff, it is just as weird
-            if (e.getClassName().startsWith("java.util.logging.LogManager"))
-                return true;
+    /**
+     * Check if any class on the call stack of the current thread has a name
+     * starting with one of the given prefixes.
+     *
+     * <p>
+     * This is much cheaper than going through {@link Thread#getStackTrace()},
+     * as the class context does not need to create any
+     * {@link StackTraceElement}, and we stop at the first match
+     *
+     * @param prefixes
+     * @return
+     */
+    private boolean isOnCallStack(String... prefixes) {
+        Class<?>[] context = getClassContext();
+        if (context == null) {
+            return false;
+        }
+        for (Class<?> k : context) {
+            String name = k.getName();
+            for (String prefix : prefixes) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
         }
         return false;
     }
@@ -526,6 +563,55 @@ public class MSecurityManager extends SecurityManager {
 
             return true;
         }
+
+        if (!isDecisionCacheable(perm)) {
+            return checkUnprivilegedPermission(perm);
+        }
+
+        DecisionKey key = new DecisionKey(perm);
+        Boolean decision = decisionCache.get(key);
+        if (decision == null) {
+            decision = checkUnprivilegedPermission(perm);
+            if (decisionCache.size() < MAX_CACHED_DECISIONS) {
+                decisionCache.put(key, decision);
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * Only for testing
+     *
+     * @return the number of permission decisions currently cached
+     */
+    int getNumberOfCachedDecisions() {
+        return decisionCache.size();
+    }
+
+    /**
+     * Decisions on files and properties depend on the state of the sandbox (eg, VFS,
+     * system properties read so far, whether a test case is executing, or who is
+     * on the call stack), and so they cannot be cached. Same for the shutdown hooks,
+     * which depend on whether AWT is on the call stack
+     *
+     * @param perm
+     * @return
+     */
+    private boolean isDecisionCacheable(Permission perm) {
+        if (perm instanceof FilePermission || perm instanceof PropertyPermission) {
+            return false;
+        }
+        return !(perm instanceof RuntimePermission && "shutdownHooks".equals(perm.getName().trim()));
+    }
+
+    /**
+     * Check the given permission for a thread that has not been recognized as
+     * belonging to EvoSuite
+     *
+     * @param perm
+     * @return
+     */
+    private boolean checkUnprivilegedPermission(Permission perm) {
 		 
 		/*
 		 * Note: we had to remove this check, as some EvoSuite-RMI threads would be blocked by it 
@@ -710,18 +796,8 @@ public class MSecurityManager extends SecurityManager {
             return false;
         }
 
-        final String pattern = "sun.rmi.";
-        boolean foundRMI = false;
-
         //first check if there is any reference to RMI in the stack trace
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            if (element.toString().startsWith(pattern)) {
-                foundRMI = true;
-                break;
-            }
-        }
-
-        if (!foundRMI) {
+        if (!isOnCallStack("sun.rmi.")) {
             //found no reference to RMI
             return false;
         }
@@ -1200,7 +1276,7 @@ public class MSecurityManager extends SecurityManager {
     private boolean isFileHandlerCall(FilePermission fp) {
         if (fp.getName().contains(FILE_HANDLER_NAME_PATTERN))
             return true;
-        if (fp.getActions().equals("write")) {
+        if (fp.getActions().equals("write") && isOnCallStack(FileHandler.class.getName())) {
             for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
                 if (e.getClassName().equals(FileHandler.class.getName()) && e.getMethodName().equals("isParentWritable")) {
                     return true;
@@ -1287,10 +1363,8 @@ public class MSecurityManager extends SecurityManager {
                  * This is not 100% secure, but Jacoco support
                  * is important
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("org.jacoco.")) {
-                        return true;
-                    }
+                if (isOnCallStack("org.jacoco.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("gzoltar") || fp.getName().equals(System.getProperty("user.dir"))) {
                 // By default, GZoltar writes the gzoltar.ser file that holds the coverage
@@ -1298,20 +1372,16 @@ public class MSecurityManager extends SecurityManager {
                 // As user.dir might not exist, EvoSuite must grant access write access to
                 // GZoltar.
                 // Note: The following is not 100% secure, but GZoltar support is important.
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.gzoltar.")) {
-                        return true;
-                    }
+                if (isOnCallStack("com.gzoltar.")) {
+                    return true;
                 }
             } else if (fp.getName().contains("clover")) {
                 /*
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (isOnCallStack("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         } else if (action.equals("delete")) {
@@ -1320,14 +1390,47 @@ public class MSecurityManager extends SecurityManager {
                  * To make sure this is really clover trying to write a report
                  * we also check that this is invoked by clover
                  */
-                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                    if (e.getClassName().startsWith("com.atlassian.clover.")) {
-                        return true;
-                    }
+                if (isOnCallStack("com.atlassian.clover.")) {
+                    return true;
                 }
             }
         }
 
         return false;
     }
+
+    /**
+     * Key of a cached permission decision
+     */
+    private static final class DecisionKey {
+
+        /**
+         * Name rather than class of the permission, as the key must not keep
+         * the class loaders of permissions defined by the SUT alive
+         */
+        private final String type;
+        private final String name;
+        private final String actions;
+        private final int hash;
+
+        DecisionKey(Permission perm) {
+            type = perm.getClass().getName();
+            name = perm.getName();
+            actions = perm.getActions();
+            hash = Objects.hash(type, name, actions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DecisionKey that = (DecisionKey) o;
+            return type.equals(that.type) && Objects.equals(name, that.name) && Objects.equals(actions, that.actions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
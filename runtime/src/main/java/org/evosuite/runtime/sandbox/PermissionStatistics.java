@@ -26,6 +26,7 @@ import java.io.FilePermission;
 import java.security.Permission;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>
@@ -47,15 +48,20 @@ public class PermissionStatistics {
 
     private static final PermissionStatistics instance = new PermissionStatistics();
 
-    private final Map<String, Map<String, Integer>> allowedCount;
+    /*
+     * Note: counters are LongAdders, as these maps are updated on each permission check,
+     * possibly by several SUT threads at the same time
+     */
+
+    private final Map<String, Map<String, LongAdder>> allowedCount;
 
     /**
      * Keep track of the denied exceptions. Key -> name of the permission class
      * Value -> a map from type (name+action) to counter of times it was thrown
      */
-    private final Map<String, Map<String, Integer>> deniedCount;
+    private final Map<String, Map<String, LongAdder>> deniedCount;
 
-    private final Map<Class<?>, Integer> deniedClassCount;
+    private final Map<Class<?>, LongAdder> deniedClassCount;
     private final Set<String> recentAccess;
     private int maxThreads;
 
@@ -126,31 +132,52 @@ public class PermissionStatistics {
      */
     public void permissionAllowed(Permission permission) {
         rememberRecentReadFilePermissions(permission);
+        increment(allowedCount, permission);
+    }
+
+    private static void increment(Map<String, Map<String, LongAdder>> counts, Permission permission) {
         String name = permission.getClass().getName();
         String type = getPermissionType(permission);
-        if (!allowedCount.containsKey(name)) {
-            allowedCount.put(name, new HashMap<>());
+        /*
+         * Note: no lambda (eg, computeIfAbsent) here, as this is called from inside the
+         * security manager, and linking a lambda could lead to further permission checks
+         */
+        Map<String, LongAdder> byType = counts.get(name);
+        if (byType == null) {
+            Map<String, LongAdder> newMap = new ConcurrentHashMap<>();
+            byType = counts.putIfAbsent(name, newMap);
+            if (byType == null) {
+                byType = newMap;
+            }
         }
+        getOrCreate(byType, type).increment();
+    }
 
-        if (allowedCount.get(name).containsKey(type)) {
-            allowedCount.get(name).put(type, allowedCount.get(name).get(type) + 1);
-        } else {
-            allowedCount.get(name).put(type, 1);
+    private static <K> LongAdder getOrCreate(Map<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            LongAdder newCounter = new LongAdder();
+            counter = counters.putIfAbsent(key, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
         }
+        return counter;
     }
 
-    private int getCurrentCount(Class<?> permissionClass) {
-        if (!deniedClassCount.containsKey(permissionClass))
-            deniedClassCount.put(permissionClass, 0);
+    private LongAdder getCounter(Class<?> permissionClass) {
+        return getOrCreate(deniedClassCount, permissionClass);
+    }
 
-        return deniedClassCount.get(permissionClass);
+    private int getCurrentCount(Class<?> permissionClass) {
+        return getCounter(permissionClass).intValue();
     }
 
     private void incCurrentCount(Class<?> permissionClass) {
-        deniedClassCount.put(permissionClass, getCurrentCount(permissionClass) + 1);
+        getCounter(permissionClass).increment();
     }
 
-    private String getPermissionType(Permission permission) {
+    private static String getPermissionType(Permission permission) {
         String name = permission.getName();
         String actions = permission.getActions();
         String type = "";
@@ -173,20 +200,7 @@ public class PermissionStatistics {
     public void permissionDenied(Permission permission) {
         incCurrentCount(permission.getClass());
         rememberRecentReadFilePermissions(permission);
-
-        String permissionClassName = permission.getClass().getName();
-        String type = getPermissionType(permission);
-
-        if (!deniedCount.containsKey(permissionClassName)) {
-            deniedCount.put(permissionClassName, new HashMap<>());
-        }
-
-        if (deniedCount.get(permissionClassName).containsKey(type)) {
-            deniedCount.get(permissionClassName).put(type,
-                    deniedCount.get(permissionClassName).get(type) + 1);
-        } else {
-            deniedCount.get(permissionClassName).put(type, 1);
-        }
+        increment(deniedCount, permission);
         hasNewExceptions = true;
     }
 
@@ -199,9 +213,11 @@ public class PermissionStatistics {
     public int getPermissionDeniedCount(Permission permission) {
         String name = permission.getClass().getName();
         String type = getPermissionType(permission);
-        if (deniedCount.containsKey(name)) {
-            if (deniedCount.get(name).containsKey(type)) {
-                return deniedCount.get(name).get(type);
+        Map<String, LongAdder> counts = deniedCount.get(name);
+        if (counts != null) {
+            LongAdder counter = counts.get(type);
+            if (counter != null) {
+                return counter.intValue();
             }
         }
         return 0;
@@ -404,8 +420,8 @@ public class PermissionStatistics {
                 + getNumAuthPermission() + getNumAudioPermission();
 
         int total = 0;
-        for (int i : deniedClassCount.values())
-            total += i;
+        for (LongAdder counter : deniedClassCount.values())
+            total += counter.intValue();
 
         return total - sum;
     }
@@ -19,8 +19,8 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -29,46 +29,58 @@ import java.util.List;
  */
 public class VFile extends FSObject {
 
+    private static final int INITIAL_CAPACITY = 1024;
+
     /**
-     * the actual data contained in file as a list of bytes
+     * the actual data contained in file. Only the first {@code size} bytes are
+     * part of the file, the rest is spare capacity
      */
-    private final List<Byte> data;
+    private byte[] data;
+
+    private int size;
 
     public VFile(String path, VFolder parent) {
         super(path, parent);
 
-        //TODO might need a better type of data structure supporting multi-threading
-        data = new ArrayList<>(1024);
+        data = new byte[0];
+        size = 0;
     }
 
-    public void eraseData() {
-        data.clear();
+    public synchronized void eraseData() {
+        data = new byte[0];
+        size = 0;
     }
 
     public synchronized int getDataSize() {
-        return data.size();
+        return size;
     }
 
-
-    public synchronized void setLength(int newLength) {
-
-        /*
-         * Note: this implementation is not particularly efficient...
-         * but setLength is rarely called
-         */
-
-        while (newLength > data.size()) {
-            data.add((byte) 0);
+    private void ensureCapacity(int capacity) {
+        if (capacity <= data.length) {
+            return;
         }
+        // grow geometrically, so that appending is amortized constant time
+        int newCapacity = Math.max(capacity, Math.max(INITIAL_CAPACITY, data.length * 2));
+        if (newCapacity < 0) {
+            // overflow
+            newCapacity = Integer.MAX_VALUE;
+        }
+        data = Arrays.copyOf(data, newCapacity);
+    }
 
+    public synchronized void setLength(int newLength) {
         if (newLength == 0) {
-            data.clear();
+            eraseData();
             return;
         }
 
-        while (data.size() > newLength) {
-            data.remove(data.size() - 1);
+        if (newLength > size) {
+            ensureCapacity(newLength);
+        } else {
+            // so that the bytes read as 0 if the file is extended again
+            Arrays.fill(data, newLength, size, (byte) 0);
         }
+        size = newLength;
     }
 
     /**
@@ -80,15 +92,60 @@ public class VFile extends FSObject {
             throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             return -1; //this represent the end of the stream
         }
 
-        return data.get(position) & 0xFF;
+        return data[position] & 0xFF;
+    }
+
+    /**
+     * Copy up to {@code len} bytes starting at {@code position} into {@code b}
+     *
+     * @return the number of bytes copied, or -1 if {@code position} is at or
+     * after the end of the file and {@code len} is positive
+     */
+    public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+        if (len <= 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+
+        int n = Math.min(len, size - position);
+        System.arraycopy(data, position, b, off, n);
+        return n;
+    }
+
+    /**
+     * Copy bytes starting at {@code position} into the remaining space of
+     * {@code dst}
+     *
+     * @return the number of bytes copied, or -1 if {@code position} is at or
+     * after the end of the file and {@code dst} has remaining space
+     */
+    public synchronized int read(int position, ByteBuffer dst) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+
+        int n = Math.min(dst.remaining(), size - position);
+        dst.put(data, position, n);
+        return n;
     }
 
     public synchronized int writeBytes(byte[] b, int off, int len) {
-        return writeBytes(data.size(), b, off, len);
+        return writeBytes(size, b, off, len);
     }
 
 
@@ -102,26 +159,55 @@ public class VFile extends FSObject {
             return 0;
         }
 
-        if (position >= data.size()) {
-            setLength(position);
+        int written = Math.max(0, Math.min(len, b.length - off));
+        reserve(position, written);
+        System.arraycopy(b, off, data, position, written);
+
+        setLastModified(getCurrentTimeMillis());
+
+        return written;
+    }
+
+    /**
+     * Write all the remaining bytes of {@code src} at {@code position}
+     *
+     * @return the number of bytes written
+     */
+    public synchronized int writeBytes(int position, ByteBuffer src) throws IllegalArgumentException {
+
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        int written = 0;
-        for (int i = off; i < b.length & (i - off) < len; i++) {
-            if (position < data.size()) {
-                data.set(position, (b[i]));
-            } else {
-                data.add(b[i]);
-            }
-            position++;
-            written++;
+        if (deleted || !isWritePermission()) {
+            return 0;
         }
 
+        int written = src.remaining();
+        reserve(position, written);
+        src.get(data, position, written);
+
         setLastModified(getCurrentTimeMillis());
 
         return written;
     }
 
+    /**
+     * Make the file at least {@code position + len} bytes long, padding with 0
+     * if {@code position} is after the end of the file
+     */
+    private void reserve(int position, int len) {
+        int end = position + len;
+        if (end < 0) {
+            throw new IllegalArgumentException("Virtual file system does not handle files larger than "
+                    + Integer.MAX_VALUE + " bytes");
+        }
+        if (end > size) {
+            ensureCapacity(end);
+            size = end;
+        }
+    }
+
 
     @Override
     public synchronized boolean delete() {
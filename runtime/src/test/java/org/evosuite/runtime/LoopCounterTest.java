@@ -74,4 +74,27 @@ public class LoopCounterTest {
         LoopCounter.getInstance().checkLoop(5);
         LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testNoCheckInStaticInit() {
+        int index = LoopCounter.getInstance().getNewIndex();
+
+        LoopCounter.getInstance().enterStaticInit();
+        try {
+            Assert.assertTrue(LoopCounter.getInstance().isInStaticInit());
+            for (long i = 0; i <= RuntimeSettings.maxNumberOfIterationsPerLoop; i++) {
+                LoopCounter.getInstance().checkLoop(index);
+            }
+        } finally {
+            LoopCounter.getInstance().exitStaticInit();
+        }
+
+        Assert.assertFalse(LoopCounter.getInstance().isInStaticInit());
+        try {
+            LoopCounter.getInstance().checkLoop(index);
+            Assert.fail();
+        } catch (TooManyResourcesException e) {
+            //expected
+        }
+    }
 }
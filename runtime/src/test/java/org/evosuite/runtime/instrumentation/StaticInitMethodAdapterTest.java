@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import com.examples.with.different.packagename.instrumentation.StaticInitLoop;
+import com.examples.with.different.packagename.instrumentation.StaticInitThrows;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.TooManyResourcesException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public class StaticInitMethodAdapterTest {
+
+    private boolean loopCounterState;
+
+    private long maxIterations;
+
+    @Before
+    public void init() {
+        LoopCounter.getInstance().reset();
+        loopCounterState = LoopCounter.getInstance().isActivated();
+        LoopCounter.getInstance().setActive(true);
+        maxIterations = RuntimeSettings.maxNumberOfIterationsPerLoop;
+        RuntimeSettings.maxNumberOfIterationsPerLoop = 100;
+    }
+
+    @After
+    public void tearDown() {
+        RuntimeSettings.maxNumberOfIterationsPerLoop = maxIterations;
+        LoopCounter.getInstance().reset();
+        LoopCounter.getInstance().setActive(loopCounterState);
+    }
+
+    @Test
+    public void testLoopInStaticInitIsNotStopped() throws Exception {
+        Assert.assertTrue(StaticInitLoop.ITERATIONS > RuntimeSettings.maxNumberOfIterationsPerLoop);
+
+        // initializing the class links it, so a broken instrumentation would fail with a VerifyError
+        Class<?> klass = Class.forName(StaticInitLoop.class.getName(), true, new EvoClassLoader());
+
+        Assert.assertEquals(StaticInitLoop.ITERATIONS, klass.getField("counter").getInt(null));
+        Assert.assertFalse(LoopCounter.getInstance().isInStaticInit());
+
+        // the same loop outside of the static initializer is still stopped
+        Method loop = klass.getMethod("loop");
+        try {
+            loop.invoke(null);
+            Assert.fail();
+        } catch (InvocationTargetException e) {
+            Assert.assertTrue(e.getCause() instanceof TooManyResourcesException);
+        }
+    }
+
+    @Test
+    public void testExceptionInStaticInitIsPropagated() throws Exception {
+        try {
+            Class.forName(StaticInitThrows.class.getName(), true, new EvoClassLoader());
+            Assert.fail();
+        } catch (ExceptionInInitializerError e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            Assert.assertEquals(StaticInitThrows.MESSAGE, e.getCause().getMessage());
+        }
+
+        Assert.assertFalse(LoopCounter.getInstance().isInStaticInit());
+    }
+}
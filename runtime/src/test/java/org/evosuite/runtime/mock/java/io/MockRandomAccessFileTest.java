@@ -84,4 +84,25 @@ public class MockRandomAccessFileTest {
 
         Assert.assertEquals(LENGTH, size);
     }
+
+    @Test
+    public void testReadPastEndOfFile() throws IOException {
+
+        MockFramework.enable();
+        VirtualFileSystem.getInstance().resetSingleton();
+        VirtualFileSystem.getInstance().init();
+
+        RandomAccessFile ra = new MockRandomAccessFile("foo_partial_read.txt", "rw");
+        ra.write(new byte[]{1, 2, 3});
+        ra.seek(1);
+
+        byte[] buffer = new byte[10];
+        //as in RandomAccessFile, what is left in the file is read
+        Assert.assertEquals(2, ra.read(buffer));
+        Assert.assertEquals(2, buffer[0]);
+        Assert.assertEquals(3, buffer[1]);
+        //and -1 only once at the end of the file
+        Assert.assertEquals(-1, ra.read(buffer));
+        ra.close();
+    }
 }
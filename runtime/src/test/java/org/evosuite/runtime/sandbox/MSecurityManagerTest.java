@@ -24,6 +24,8 @@ import org.junit.*;
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.security.Permission;
+import java.util.PropertyPermission;
 import java.util.concurrent.*;
 import java.util.logging.LogManager;
 
@@ -303,6 +305,41 @@ public class MSecurityManagerTest {
         }
     }
 
+    @Test
+    public void testStateDependentDecisionsAreNotCached() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        File tmp = File.createTempFile("testFile_" + System.currentTimeMillis(), "txt");
+        tmp.deleteOnExit();
+        final String fileName = tmp.getAbsolutePath();
+
+        Future<?> future = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                int cached = securityManager.getNumberOfCachedDecisions();
+                for (int i = 0; i < 2; i++) {
+                    checkPermission(new FilePermission(fileName, "read"));
+                    checkPermission(new FilePermission(fileName, "write"));
+                    checkPermission(new PropertyPermission("user.dir", "read"));
+                    checkPermission(new PropertyPermission("user.dir", "write"));
+                    checkPermission(new RuntimePermission("shutdownHooks"));
+                }
+                Assert.assertEquals(cached, securityManager.getNumberOfCachedDecisions());
+
+                // other decisions only depend on the permission, and are cached
+                checkPermission(new RuntimePermission("accessClassInPackage.org.evosuite.cache" + System.nanoTime()));
+                Assert.assertEquals(cached + 1, securityManager.getNumberOfCachedDecisions());
+            }
+        });
+        future.get(1000, TimeUnit.MILLISECONDS);
+    }
+
+    private static void checkPermission(Permission perm) {
+        try {
+            securityManager.checkPermission(perm);
+        } catch (SecurityException e) {
+            // only the caching of the decision matters here
+        }
+    }
+
     @Test
     public void testCanLoadSwingStuff() throws InterruptedException, ExecutionException, TimeoutException {
 
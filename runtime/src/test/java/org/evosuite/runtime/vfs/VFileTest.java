@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vfs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class VFileTest {
+
+    private static byte[] sequence(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    public void testWriteAndReadBack() {
+        VFile file = new VFile("/foo", null);
+        // larger than the initial capacity, forces the data to grow
+        byte[] data = sequence(3000);
+
+        Assert.assertEquals(1000, file.writeBytes(data, 0, 1000));
+        Assert.assertEquals(2000, file.writeBytes(data, 1000, 2000));
+        Assert.assertEquals(3000, file.getDataSize());
+
+        byte[] read = new byte[4000];
+        Assert.assertEquals(3000, file.read(0, read, 0, read.length));
+        for (int i = 0; i < data.length; i++) {
+            Assert.assertEquals(data[i], read[i]);
+        }
+        Assert.assertEquals(-1, file.read(3000, read, 0, read.length));
+        Assert.assertEquals(255, file.read(255));
+        Assert.assertEquals(-1, file.read(3000));
+    }
+
+    @Test
+    public void testWriteAfterEndPadsWithZeros() {
+        VFile file = new VFile("/foo", null);
+        Assert.assertEquals(2, file.writeBytes(5, new byte[]{7, 8}, 0, 2));
+
+        Assert.assertEquals(7, file.getDataSize());
+        Assert.assertEquals(0, file.read(0));
+        Assert.assertEquals(0, file.read(4));
+        Assert.assertEquals(7, file.read(5));
+        Assert.assertEquals(8, file.read(6));
+    }
+
+    @Test
+    public void testSetLengthClearsTruncatedData() {
+        VFile file = new VFile("/foo", null);
+        file.writeBytes(new byte[]{1, 2, 3, 4}, 0, 4);
+
+        file.setLength(2);
+        Assert.assertEquals(2, file.getDataSize());
+        Assert.assertEquals(-1, file.read(2));
+
+        file.setLength(4);
+        Assert.assertEquals(4, file.getDataSize());
+        Assert.assertEquals(2, file.read(1));
+        Assert.assertEquals(0, file.read(2));
+        Assert.assertEquals(0, file.read(3));
+    }
+
+    @Test
+    public void testByteBuffers() {
+        VFile file = new VFile("/foo", null);
+        ByteBuffer src = ByteBuffer.wrap(sequence(10));
+        src.position(2);
+        Assert.assertEquals(8, file.writeBytes(0, src));
+        Assert.assertFalse(src.hasRemaining());
+
+        ByteBuffer dst = ByteBuffer.allocate(5);
+        Assert.assertEquals(5, file.read(3, dst));
+        dst.flip();
+        Assert.assertEquals(5, dst.get());
+
+        dst.clear();
+        Assert.assertEquals(-1, file.read(8, dst));
+    }
+
+    @Test
+    public void testNoWritePermission() {
+        VFile file = new VFile("/foo", null);
+        file.setWritePermission(false);
+        Assert.assertEquals(0, file.writeBytes(new byte[]{1}, 0, 1));
+        Assert.assertEquals(0, file.getDataSize());
+    }
+}